@@ -0,0 +1,90 @@
+package benchmark;
+
+import modelo.Simulacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Mide cuntos frames (ciclos) por segundo es capaz de simular la poblacin sin interfaz
+ * para distintos tamaos de poblacin. Slo cronometra el ciclo de vida, no la evolucin.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos, y con
+ * memoria suficiente para las poblaciones ms grandes (por ejemplo -Xmx3g).
+ * Argumentos: [circuito] [hilos] [tamaos...]
+ * @author Alberto
+ */
+public class BenchmarkCiclos {
+	
+	/**
+	 * Tamaos de poblacin que se miden si no se indican otros por argumentos
+	 */
+	private static final int[] TAMANOS = {1000, 10000, 100000};
+	/**
+	 * Frames que vive cada generacin medida
+	 */
+	private static final int TIEMPO_VIDA = 200;
+	/**
+	 * Generaciones que se ejecutan antes de medir para que el JIT compile el cdigo
+	 */
+	private static final int GENERACIONES_CALENTAMIENTO = 2;
+	/**
+	 * Generaciones cuyo ciclo de vida se cronometra
+	 */
+	private static final int GENERACIONES_MEDIDAS = 3;
+
+	/**
+	 * @param args: circuito a utilizar, nmero de hilos (por defecto todos los procesadores)
+	 * y opcionalmente los tamaos de poblacin
+	 */
+	public static void main(String[] args) {
+		String circuito = args.length > 0 ? args[0] : "circuito1";
+		int numHilos = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int[] tamanos = TAMANOS;
+		if(args.length > 2) {
+			tamanos = new int[args.length - 2];
+			for(int i=2; i < args.length; i++) {
+				tamanos[i - 2] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("entidades;hilos;ciclos/s;entidades-ciclo/s");
+		for(int numEntidades : tamanos) {
+			medir(circuito, numEntidades, numHilos);
+		}
+	}
+
+	/**
+	 * Ejecuta las generaciones de calentamiento y de medicin para un tamao de poblacin
+	 * @param circuito
+	 * @param numEntidades
+	 * @param numHilos
+	 */
+	private static void medir(String circuito, int numEntidades, int numHilos) {
+		Simulacion simulacion = new Simulacion(circuito, 
+				Simulacion.crearParametros(numEntidades, 1, TIEMPO_VIDA, 2));
+		simulacion.setNumHilos(numHilos);
+		for(int i=0; i < GENERACIONES_CALENTAMIENTO; i++) {
+			cronometrarCiclos(simulacion.getPoblacion());
+			simulacion.getPoblacion().evolucionar();
+		}
+		long nanos = 0;
+		for(int i=0; i < GENERACIONES_MEDIDAS; i++) {
+			nanos += cronometrarCiclos(simulacion.getPoblacion());
+			simulacion.getPoblacion().evolucionar();
+		}
+		double segundos = nanos / 1e9;
+		double ciclosPorSegundo = TIEMPO_VIDA * GENERACIONES_MEDIDAS / segundos;
+		System.out.printf("%d;%d;%.1f;%.3e%n", numEntidades, numHilos, ciclosPorSegundo, ciclosPorSegundo * numEntidades);
+	}
+
+	/**
+	 * Realiza el ciclo de vida completo de una generacin
+	 * @param poblacion
+	 * @return los nanosegundos que ha tardado
+	 */
+	private static long cronometrarCiclos(Poblacion poblacion) {
+		long inicio = System.nanoTime();
+		for(int i=0; i < TIEMPO_VIDA; i++) {
+			poblacion.realizarCiclo();
+		}
+		return System.nanoTime() - inicio;
+	}
+
+}
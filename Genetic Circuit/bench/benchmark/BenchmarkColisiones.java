@@ -0,0 +1,136 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import modelo.Simulacion;
+import modelo.circuito.Meta;
+import modelo.circuito.Obstaculo;
+import modelo.entidades.Entidad;
+import processing.core.PVector;
+
+/**
+ * Mide el tiempo y la memoria reservada por cada comprobacin de colisin: obstculos
+ * con y sin rotacin, la meta y la hitbox de las entidades con el ratn.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class BenchmarkColisiones {
+
+	/**
+	 * Comprobaciones que se realizan en cada medicin
+	 */
+	private static final int NUM_COMPROBACIONES = 5_000_000;
+	/**
+	 * Veces que se repite cada medicin antes de la definitiva para que el JIT compile el cdigo
+	 */
+	private static final int REPETICIONES_CALENTAMIENTO = 5;
+
+	/**
+	 * Acumula los resultados para que el JIT no pueda descartar las comprobaciones
+	 */
+	private static int sumidero;
+
+	/**
+	 * @param args: circuito a utilizar, que debe tener algn obstculo rotado (circuito2)
+	 */
+	public static void main(String[] args) {
+		String nombreCircuito = args.length > 0 ? args[0] : "circuito2";
+		Simulacion simulacion = new Simulacion(nombreCircuito, Simulacion.crearParametros(16, 1, 50, 2));
+		//Avanza unos frames para que las entidades tengan velocidad y su hitbox est rotada
+		for(int i=0; i < 10; i++) {
+			simulacion.getPoblacion().realizarCiclo();
+		}
+		Obstaculo rotado = null, sinRotar = null;
+		for(Obstaculo obstaculo : simulacion.getModelo().getObstaculos()) {
+			if(obstaculo.getAngulo() != 0 && rotado == null) {
+				rotado = obstaculo;
+			} else if(obstaculo.getAngulo() == 0 && sinRotar == null) {
+				sinRotar = obstaculo;
+			}
+		}
+		float[] puntos = generarPuntos();
+		System.out.println("comprobacion;ns/op;bytes/op");
+		if(rotado != null) {
+			medir("Obstaculo rotado", rotado, puntos);
+		}
+		medir("Obstaculo sin rotar", sinRotar, puntos);
+		medir("Meta", simulacion.getModelo().getMeta(), puntos);
+		medirRaton(simulacion.getPoblacion().getEntidades()[0], puntos);
+	}
+
+	/**
+	 * Genera puntos aleatorios repartidos por toda la ventana con las coordenadas intercaladas
+	 */
+	private static float[] generarPuntos() {
+		Random random = new Random(1);
+		float[] puntos = new float[2048];
+		for(int i=0; i < puntos.length; i++) {
+			puntos[i] = random.nextFloat() * (i % 2 == 0 ? 1280 : 720);
+		}
+		return puntos;
+	}
+
+	private static void medir(String nombre, Obstaculo obstaculo, float[] puntos) {
+		for(int r=0; r <= REPETICIONES_CALENTAMIENTO; r++) {
+			long bytes = bytesReservados();
+			long inicio = System.nanoTime();
+			for(int i=0; i < NUM_COMPROBACIONES; i++) {
+				int p = (i * 2) & (puntos.length - 1);
+				if(obstaculo.chocaConEntidad(puntos[p], puntos[p + 1])) {
+					sumidero++;
+				}
+			}
+			imprimirSiUltima(r, nombre, inicio, bytes);
+		}
+	}
+
+	private static void medir(String nombre, Meta meta, float[] puntos) {
+		for(int r=0; r <= REPETICIONES_CALENTAMIENTO; r++) {
+			long bytes = bytesReservados();
+			long inicio = System.nanoTime();
+			for(int i=0; i < NUM_COMPROBACIONES; i++) {
+				int p = (i * 2) & (puntos.length - 1);
+				if(meta.chocaConEntidad(puntos[p], puntos[p + 1])) {
+					sumidero++;
+				}
+			}
+			imprimirSiUltima(r, nombre, inicio, bytes);
+		}
+	}
+
+	private static void medirRaton(Entidad entidad, float[] puntos) {
+		//El vector del ratn se reutiliza, igual que lo crea la ventana una vez por click
+		PVector raton = new PVector();
+		for(int r=0; r <= REPETICIONES_CALENTAMIENTO; r++) {
+			long bytes = bytesReservados();
+			long inicio = System.nanoTime();
+			for(int i=0; i < NUM_COMPROBACIONES; i++) {
+				int p = (i * 2) & (puntos.length - 1);
+				raton.x = puntos[p];
+				raton.y = puntos[p + 1];
+				if(entidad.contieneRaton(raton)) {
+					sumidero++;
+				}
+			}
+			imprimirSiUltima(r, "Entidad.contieneRaton", inicio, bytes);
+		}
+	}
+
+	private static void imprimirSiUltima(int repeticion, String nombre, long inicio, long bytesIniciales) {
+		long nanos = System.nanoTime() - inicio;
+		long bytes = bytesReservados() - bytesIniciales;
+		if(repeticion == REPETICIONES_CALENTAMIENTO) {
+			System.out.printf("%s;%.2f;%.2f%n", nombre, (double) nanos / NUM_COMPROBACIONES,
+					(double) bytes / NUM_COMPROBACIONES);
+		}
+	}
+
+	/**
+	 * @return los bytes que ha reservado en memoria el hilo actual desde que se inici
+	 */
+	private static long bytesReservados() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+}
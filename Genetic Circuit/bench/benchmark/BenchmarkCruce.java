@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.util.Random;
+
+import modelo.entidades.OperadorCruce;
+
+/**
+ * Compara lo que cuesta construir el genotipo de un hijo con cada operador de cruce frente a
+ * la antigua tirada de moneda por gen con nextBoolean(): nanosegundos por hijo y cuntos
+ * nmeros de 32 bits se piden al generador aleatorio para cada uno
+ * @author Alberto
+ */
+public class BenchmarkCruce {
+
+	private static final String[] OPERADORES = {"uniforme", "unpunto", "dospuntos"};
+	private static final int HIJOS_POR_REPETICION = 100000;
+	private static final int REPETICIONES = 10;
+
+	/**
+	 * Acumula los genes de los hijos para que el JIT no pueda descartar los cruces
+	 */
+	private static double sumidero;
+
+	/**
+	 * @param args: tiempos de vida (nmero de genes) a medir
+	 */
+	public static void main(String[] args) {
+		int[] tiemposVida = {100, 400, 2000};
+		if(args.length > 0) {
+			tiemposVida = new int[args.length];
+			for(int i=0; i < args.length; i++) {
+				tiemposVida[i] = Integer.parseInt(args[i]);
+			}
+		}
+		//La primera ronda slo sirve para que el JIT compile todos los mtodos antes de medirlos
+		for(int ronda=0; ronda < 2; ronda++) {
+			boolean imprimir = ronda == 1;
+			if(imprimir) {
+				System.out.println("genes;operador;ns/hijo;numeros aleatorios/hijo");
+			}
+			for(int numGenes : tiemposVida) {
+				float[] genesPariente1 = generarGenes(numGenes, 1), genesPariente2 = generarGenes(numGenes, 2);
+				float[] genesHijo = new float[numGenes * 2];
+				medir(numGenes, "moneda por gen", null, genesPariente1, genesPariente2, genesHijo, imprimir);
+				for(String nombre : OPERADORES) {
+					medir(numGenes, nombre, OperadorCruce.crear(nombre), genesPariente1, genesPariente2, genesHijo, imprimir);
+				}
+			}
+		}
+	}
+
+	private static float[] generarGenes(int numGenes, long semilla) {
+		Random random = new Random(semilla);
+		float[] genes = new float[numGenes * 2];
+		for(int i=0; i < genes.length; i++) {
+			genes[i] = random.nextFloat() - 0.5f;
+		}
+		return genes;
+	}
+
+	/**
+	 * Mide un operador, o la tirada por gen si es null
+	 */
+	private static void medir(int numGenes, String nombre, OperadorCruce operador, float[] genesPariente1,
+			float[] genesPariente2, float[] genesHijo, boolean imprimir) {
+		RandomContador random = new RandomContador(3);
+		long nanos = Long.MAX_VALUE;
+		for(int r=0; r < REPETICIONES; r++) {
+			random.reiniciarLlamadas();
+			long inicio = System.nanoTime();
+			for(int i=0; i < HIJOS_POR_REPETICION; i++) {
+				if(operador == null) {
+					cruzarPorGen(genesPariente1, genesPariente2, genesHijo, numGenes, random);
+				} else {
+					operador.cruzar(genesPariente1, genesPariente2, genesHijo, numGenes, random);
+				}
+				sumidero += genesHijo[i % genesHijo.length];
+			}
+			//Se queda con la repeticin ms rpida para descartar las pausas del recolector de basura
+			nanos = Math.min(nanos, System.nanoTime() - inicio);
+		}
+		if(imprimir) {
+			System.out.printf("%d;%s;%.1f;%.1f%n", numGenes, nombre, (double) nanos / HIJOS_POR_REPETICION,
+					(double) random.getLlamadas() / HIJOS_POR_REPETICION);
+		}
+	}
+
+	/**
+	 * Cruce que haca antes la poblacin: una llamada a nextBoolean() por cada gen
+	 */
+	private static void cruzarPorGen(float[] genesPariente1, float[] genesPariente2, float[] genesHijo,
+			int numGenes, Random random) {
+		for(int i=0; i < numGenes; i++) {
+			float[] genesElegidos = random.nextBoolean() ? genesPariente1 : genesPariente2;
+			genesHijo[i * 2] = genesElegidos[i * 2];
+			genesHijo[i * 2 + 1] = genesElegidos[i * 2 + 1];
+		}
+	}
+
+}
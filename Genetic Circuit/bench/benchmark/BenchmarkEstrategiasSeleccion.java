@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.util.Arrays;
+
+import modelo.EstadisticasGeneracion;
+import modelo.Simulacion;
+import modelo.entidades.EstrategiaSeleccion;
+
+/**
+ * Compara las estrategias de seleccin en los circuitos: lo que cuesta seleccionar en cada
+ * generacin (preparar la estrategia y escoger todos los parientes) frente al resto de la
+ * evolucin, y cmo de rpido converge cada una. Como la evolucin es aleatoria, cada
+ * combinacin se repite varias veces y se muestra la mediana de las repeticiones.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class BenchmarkEstrategiasSeleccion {
+
+	private static final String[] CIRCUITOS = {"circuito1", "circuito2", "circuito3"};
+	private static final String[] ESTRATEGIAS = {"ruleta", "torneo", "sus", "rango"};
+
+	/**
+	 * @param args: nmero de entidades, tiempo de vida, generaciones de cada ejecucin y repeticiones
+	 */
+	public static void main(String[] args) {
+		int numEntidades = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int tiempoVida = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+		int numGeneraciones = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		int repeticiones = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+		System.out.println("circuito;estrategia;seleccion us/gen;evolucion us/gen;generacion primera llegada;"
+				+ "mejor tiempo final");
+		for(String circuito : CIRCUITOS) {
+			for(String estrategia : ESTRATEGIAS) {
+				long[] nanosSeleccion = new long[repeticiones], nanosEvolucion = new long[repeticiones];
+				long[] primeraLlegada = new long[repeticiones], mejorTiempo = new long[repeticiones];
+				for(int r=0; r < repeticiones; r++) {
+					//Un tiempo objetivo de 1 nunca se cumple, as que se ejecutan todas las generaciones
+					Simulacion simulacion = new Simulacion(circuito,
+							Simulacion.crearParametros(numEntidades, 1, tiempoVida, 1));
+					simulacion.setEstrategiaSeleccion(EstrategiaSeleccion.crear(estrategia));
+					primeraLlegada[r] = Long.MAX_VALUE;
+					for(EstadisticasGeneracion estadisticas : simulacion.ejecutar(numGeneraciones)) {
+						nanosSeleccion[r] += estadisticas.getNanosSeleccion() / numGeneraciones;
+						nanosEvolucion[r] += estadisticas.getNanosEvolucion() / numGeneraciones;
+						if(estadisticas.getNumLlegadas() > 0 && primeraLlegada[r] == Long.MAX_VALUE) {
+							primeraLlegada[r] = estadisticas.getGeneracion();
+						}
+						mejorTiempo[r] = estadisticas.getMejorTiempo();
+					}
+				}
+				long llegada = mediana(primeraLlegada);
+				System.out.printf("%s;%s;%.1f;%.1f;%s;%d%n", circuito, estrategia, mediana(nanosSeleccion) / 1000.0,
+						mediana(nanosEvolucion) / 1000.0, llegada == Long.MAX_VALUE ? "-" : String.valueOf(llegada),
+						mediana(mejorTiempo));
+			}
+		}
+	}
+
+	private static long mediana(long[] valores) {
+		long[] ordenados = valores.clone();
+		Arrays.sort(ordenados);
+		return ordenados[ordenados.length / 2];
+	}
+
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.Arrays;
+
+import modelo.EstadisticasGeneracion;
+import modelo.Simulacion;
+import modelo.islas.Archipielago;
+import modelo.islas.ResultadoArchipielago;
+import modelo.islas.TopologiaMigracion;
+
+/**
+ * Compara el tiempo hasta cumplir el objetivo de una sola poblacin con el de un archipilago
+ * del mismo tamao total repartido en islas, con cada topologa de migracin. Se repite cada
+ * configuracin con semillas distintas y se muestra la mediana del tiempo y de las generaciones
+ * de las repeticiones que cumplen el objetivo, junto con cuntas lo han cumplido.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class BenchmarkIslas {
+
+	/**
+	 * @param args: circuito, entidades en total, islas, generaciones entre migraciones, migrantes,
+	 * tiempo objetivo, mximo de generaciones y repeticiones
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		String circuito = args.length > 0 ? args[0] : "circuito2";
+		int numEntidades = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int numIslas = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+		int intervaloMigracion = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+		int numMigrantes = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+		int tiempoObjetivo = args.length > 5 ? Integer.parseInt(args[5]) : 150;
+		int maxGeneraciones = args.length > 6 ? Integer.parseInt(args[6]) : 150;
+		int repeticiones = args.length > 7 ? Integer.parseInt(args[7]) : 5;
+		System.out.println("configuracion;cumplidos;mediana s;mediana generaciones;mejor tiempo mediano");
+		//Poblacin nica con el mismo nmero total de entidades, repartiendo cada generacin en todos los ncleos
+		long[] nanos = new long[repeticiones], generaciones = new long[repeticiones], mejorTiempo = new long[repeticiones];
+		int cumplidos = 0;
+		for(int r=0; r < repeticiones; r++) {
+			Simulacion simulacion = new Simulacion(circuito,
+					Simulacion.crearParametros(numEntidades, 1, 400, tiempoObjetivo, r * 1000));
+			long inicio = System.nanoTime();
+			int numGeneraciones = 0;
+			for(EstadisticasGeneracion estadisticas : simulacion.ejecutar(maxGeneraciones)) {
+				numGeneraciones = estadisticas.getGeneracion();
+			}
+			nanos[r] = System.nanoTime() - inicio;
+			generaciones[r] = numGeneraciones;
+			mejorTiempo[r] = simulacion.getPoblacion().getMejorTiempo();
+			if(simulacion.isObjetivoCumplido()) {
+				cumplidos++;
+			} else {
+				nanos[r] = generaciones[r] = Long.MAX_VALUE;
+			}
+		}
+		imprimir("una poblacion de " + numEntidades, cumplidos, nanos, generaciones, mejorTiempo);
+		for(TopologiaMigracion topologia : TopologiaMigracion.values()) {
+			cumplidos = 0;
+			for(int r=0; r < repeticiones; r++) {
+				Archipielago archipielago = new Archipielago(circuito, numIslas,
+						Simulacion.crearParametros(numEntidades / numIslas, 1, 400, tiempoObjetivo, r * 1000),
+						topologia, intervaloMigracion, numMigrantes);
+				ResultadoArchipielago resultado = archipielago.ejecutar(maxGeneraciones);
+				nanos[r] = resultado.getNanos();
+				generaciones[r] = resultado.getNumGeneraciones();
+				mejorTiempo[r] = resultado.getMejorTiempo();
+				if(resultado.isObjetivoCumplido()) {
+					cumplidos++;
+				} else {
+					nanos[r] = generaciones[r] = Long.MAX_VALUE;
+				}
+			}
+			imprimir(numIslas + " islas " + topologia.name().toLowerCase(), cumplidos, nanos, generaciones, mejorTiempo);
+		}
+	}
+
+	/**
+	 * Las repeticiones que no cumplen el objetivo cuentan como infinitas, as que la mediana
+	 * slo existe si lo cumplen al menos la mitad
+	 */
+	private static void imprimir(String configuracion, int cumplidos, long[] nanos, long[] generaciones,
+			long[] mejorTiempo) {
+		long medianaNanos = mediana(nanos), medianaGeneraciones = mediana(generaciones);
+		System.out.printf("%s;%d/%d;%s;%s;%d%n", configuracion, cumplidos, nanos.length,
+				medianaNanos == Long.MAX_VALUE ? "-" : String.format("%.2f", medianaNanos / 1e9),
+				medianaGeneraciones == Long.MAX_VALUE ? "-" : String.valueOf(medianaGeneraciones),
+				mediana(mejorTiempo));
+	}
+
+	private static long mediana(long[] valores) {
+		long[] ordenados = valores.clone();
+		Arrays.sort(ordenados);
+		return ordenados[ordenados.length / 2];
+	}
+
+}
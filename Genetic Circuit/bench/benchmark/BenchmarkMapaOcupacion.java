@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.util.Random;
+
+import modelo.Modelo;
+import modelo.Simulacion;
+import modelo.circuito.DetectorColisiones;
+import modelo.circuito.DetectorGeometrico;
+import modelo.circuito.MapaOcupacion;
+import modelo.entidades.EstadoEntidades;
+
+/**
+ * Compara el mapa de ocupacin con las comprobaciones geomtricas exactas a distintas
+ * resoluciones: memoria que ocupa, proporcin de celdas de borde, en cuntas posiciones da
+ * un resultado distinto y lo que tarda cada consulta. Las posiciones se toman tanto repartidas
+ * uniformemente por el circuito como de las trayectorias reales de las entidades.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class BenchmarkMapaOcupacion {
+
+	private static final float[] RESOLUCIONES = {4f, 2f, 1f, 0.5f, 0.25f};
+	private static final int NUM_PUNTOS_UNIFORMES = 1_000_000;
+	/**
+	 * Generaciones de las que se toman las posiciones de las entidades
+	 */
+	private static final int NUM_GENERACIONES_TRAYECTORIAS = 5;
+
+	/**
+	 * Acumula los resultados para que el JIT no pueda descartar las consultas
+	 */
+	private static int sumidero;
+
+	/**
+	 * @param args: circuitos a comparar, por defecto los tres que incluye el programa
+	 */
+	public static void main(String[] args) {
+		String[] circuitos = args.length > 0 ? args : new String[]{"circuito1", "circuito2", "circuito3"};
+		System.out.println("circuito;resolucion;refinado;KB;bordes %;discrepancias uniformes;"
+				+ "discrepancias trayectorias;ns/consulta");
+		for(String nombreCircuito : circuitos) {
+			Simulacion simulacion = new Simulacion(nombreCircuito, Simulacion.crearParametros(1000, 1, 400, 100));
+			Modelo modelo = simulacion.getModelo();
+			float[] uniformes = generarPuntosUniformes();
+			float[] trayectorias = recogerTrayectorias(simulacion);
+			DetectorGeometrico exacto = new DetectorGeometrico(modelo.getMeta(), modelo.getRejillaObstaculos());
+			System.out.printf("%s;exacto;-;-;-;0;0;%.2f%n", nombreCircuito, medirConsulta(exacto, uniformes));
+			for(float resolucion : RESOLUCIONES) {
+				for(boolean refinado : new boolean[]{false, true}) {
+					MapaOcupacion mapa = new MapaOcupacion(modelo.getMeta(), modelo.getRejillaObstaculos(),
+							resolucion, refinado);
+					System.out.printf("%s;%.2f;%b;%d;%.3f;%d;%d;%.2f%n", nombreCircuito, resolucion, refinado,
+							mapa.getBytes() / 1024, mapa.getFraccionBordes() * 100,
+							mapa.contarDiscrepancias(uniformes), mapa.contarDiscrepancias(trayectorias),
+							medirConsulta(mapa, uniformes));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Genera posiciones aleatorias repartidas por toda la ventana con las coordenadas intercaladas
+	 */
+	private static float[] generarPuntosUniformes() {
+		Random random = new Random(1);
+		float[] puntos = new float[NUM_PUNTOS_UNIFORMES * 2];
+		for(int i=0; i < puntos.length; i += 2) {
+			puntos[i] = random.nextFloat() * 1280;
+			puntos[i + 1] = random.nextFloat() * 720;
+		}
+		return puntos;
+	}
+
+	/**
+	 * Ejecuta unas cuantas generaciones frame a frame y guarda la posicin de cada entidad
+	 * activa en cada uno de ellos, que es donde el ciclo de vida consulta las colisiones
+	 */
+	private static float[] recogerTrayectorias(Simulacion simulacion) {
+		int tiempoVida = simulacion.getPoblacion().getTiempoVida();
+		int numEntidades = simulacion.getPoblacion().getNumEntidades();
+		float[] puntos = new float[NUM_GENERACIONES_TRAYECTORIAS * tiempoVida * numEntidades * 2];
+		int numCoordenadas = 0;
+		for(int g=0; g < NUM_GENERACIONES_TRAYECTORIAS; g++) {
+			EstadoEntidades estado = simulacion.getPoblacion().getEstadoEntidades();
+			for(int t=0; t < tiempoVida; t++) {
+				simulacion.getPoblacion().realizarCiclo();
+				for(int i=0; i < numEntidades; i++) {
+					puntos[numCoordenadas++] = estado.getPosX(i);
+					puntos[numCoordenadas++] = estado.getPosY(i);
+				}
+			}
+			simulacion.getPoblacion().evolucionar();
+		}
+		return puntos;
+	}
+
+	/**
+	 * @return los nanosegundos que tarda de media cada consulta de meta y obstculos
+	 */
+	private static double medirConsulta(DetectorColisiones detector, float[] puntos) {
+		double nanos = 0;
+		for(int r=0; r < 5; r++) {
+			long inicio = System.nanoTime();
+			for(int i=0; i < puntos.length; i += 2) {
+				if(detector.chocaConMeta(puntos[i], puntos[i + 1]) || detector.chocaConObstaculo(puntos[i], puntos[i + 1])) {
+					sumidero++;
+				}
+			}
+			nanos = (double) (System.nanoTime() - inicio) / (puntos.length / 2);
+		}
+		return nanos;
+	}
+
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.Random;
+
+import modelo.entidades.ADN;
+import modelo.entidades.OperadorMutacion;
+
+/**
+ * Compara la mutacin con saltos geomtricos de cada operador frente a la antigua tirada
+ * por gen con nextDouble(): nanosegundos por hijo y cuntos nmeros de 32 bits se piden al
+ * generador aleatorio para cada uno, con distintas tasas de mutacin y tiempos de vida
+ * @author Alberto
+ */
+public class BenchmarkMutacion {
+
+	private static final String[] OPERADORES = {"aleatoria", "gaussiana"};
+	private static final double[] TASAS = {0.01, 0.05};
+	private static final int HIJOS_POR_REPETICION = 20000;
+	private static final int REPETICIONES = 10;
+
+	/**
+	 * Acumula los genes de los hijos para que el JIT no pueda descartar las mutaciones
+	 */
+	private static double sumidero;
+
+	/**
+	 * @param args: tiempos de vida (nmero de genes) a medir
+	 */
+	public static void main(String[] args) {
+		int[] tiemposVida = {400, 2000};
+		if(args.length > 0) {
+			tiemposVida = new int[args.length];
+			for(int i=0; i < args.length; i++) {
+				tiemposVida[i] = Integer.parseInt(args[i]);
+			}
+		}
+		//La primera ronda slo sirve para que el JIT compile todos los mtodos antes de medirlos
+		for(int ronda=0; ronda < 2; ronda++) {
+			boolean imprimir = ronda == 1;
+			if(imprimir) {
+				System.out.println("genes;tasa;metodo;ns/hijo;numeros aleatorios/hijo");
+			}
+			for(int numGenes : tiemposVida) {
+				ADN adn = new ADN(numGenes, new Random(1));
+				for(double tasa : TASAS) {
+					medir(adn, tasa, "tirada por gen", null, imprimir);
+					for(String nombre : OPERADORES) {
+						medir(adn, tasa, nombre, OperadorMutacion.crear(nombre), imprimir);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Mide un operador con saltos geomtricos, o la tirada por gen si es null
+	 */
+	private static void medir(ADN adn, double tasa, String nombre, OperadorMutacion operador, boolean imprimir) {
+		RandomContador random = new RandomContador(3);
+		long nanos = Long.MAX_VALUE;
+		for(int r=0; r < REPETICIONES; r++) {
+			random.reiniciarLlamadas();
+			long inicio = System.nanoTime();
+			for(int i=0; i < HIJOS_POR_REPETICION; i++) {
+				if(operador == null) {
+					mutarPorGen(adn, tasa, random);
+				} else {
+					operador.mutar(adn, tasa, random);
+				}
+				sumidero += adn.getFuerzaX(i % adn.getNumGenes());
+			}
+			//Se queda con la repeticin ms rpida para descartar las pausas del recolector de basura
+			nanos = Math.min(nanos, System.nanoTime() - inicio);
+		}
+		if(imprimir) {
+			System.out.printf("%d;%.2f;%s;%.1f;%.1f%n", adn.getNumGenes(), tasa, nombre,
+					(double) nanos / HIJOS_POR_REPETICION, (double) random.getLlamadas() / HIJOS_POR_REPETICION);
+		}
+	}
+
+	/**
+	 * Mutacin que haca antes la poblacin: una tirada con nextDouble() por cada gen
+	 */
+	private static void mutarPorGen(ADN adn, double tasa, Random random) {
+		for(int i=0; i < adn.getNumGenes(); i++) {
+			if(random.nextDouble() < tasa) {
+				adn.generarGenAleatorio(i, random);
+			}
+		}
+	}
+
+}
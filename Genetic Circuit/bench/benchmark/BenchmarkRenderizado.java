@@ -0,0 +1,241 @@
+package benchmark;
+
+import java.util.Random;
+
+import processing.awt.PGraphicsJava2D;
+import processing.core.PApplet;
+import processing.core.PShape;
+import vista.DibujoEntidades;
+
+/**
+ * Compara los frames por segundo a los que se pueden dibujar distintos tamaos de poblacin
+ * con el antiguo dibujo de cada entidad por separado (desplazar y rotar el sistema de
+ * coordenadas, cambiar el color del borde de la forma pre-procesada, que obliga a volver a
+ * procesarla, y dibujarla) y con el dibujo de todas en una sola tanda de DibujoEntidades.
+ * Abre una ventana con el mismo tamao y motor grfico que la del programa, sin lmite de
+ * frames por segundo, y las entidades se mueven en cada frame como durante la simulacin.
+ * Adems de los frames por segundo muestra lo que tarda el dibujo en cada frame, que sigue
+ * sirviendo para comparar si el controlador grfico fuerza la sincronizacin vertical.
+ * En mquinas sin pantalla ni OpenGL, con "java2d" como primer argumento dibuja fuera de
+ * pantalla con el motor por software de Java2D, sin abrir ninguna ventana
+ * @author Alberto
+ */
+public class BenchmarkRenderizado extends PApplet {
+
+	private static final int ANCHO_VENTANA = 1280, ALTO_VENTANA = 720;
+	/**
+	 * Milisegundos que se dibuja cada combinacin antes de empezar a medir, para que el JIT
+	 * compile el dibujo y se descarten los primeros frames
+	 */
+	private static final int MS_CALENTAMIENTO = 1000;
+	private static final String[] METODOS = {"individual", "agrupado"};
+
+	private final int[] tamanos;
+	private final int msMedicion;
+	private float[] posX, posY, velX, velY;
+	private PShape humanoide;
+	private DibujoEntidades dibujoEntidades;
+	/**
+	 * Combinacin que se est midiendo: tamao de poblacin por nmero de mtodos ms el mtodo
+	 */
+	private int medicion;
+	private int numEntidades;
+	private boolean agrupado;
+	private long inicioMedicion, nanosDibujo;
+	private int framesMedidos;
+	private boolean calentando;
+	/**
+	 * Si dibuja en una imagen con Java2D en vez de en una ventana OpenGL
+	 */
+	private boolean fueraDePantalla;
+	private boolean terminado;
+
+	/**
+	 * @param args: opcionalmente "java2d" para dibujar fuera de pantalla, segundos que se mide
+	 * cada combinacin y tamaos de poblacin a medir
+	 */
+	public static void main(String[] args) {
+		boolean fueraDePantalla = args.length > 0 && args[0].equals("java2d");
+		int primero = fueraDePantalla ? 1 : 0;
+		int segundos = args.length > primero ? Integer.parseInt(args[primero]) : 5;
+		int[] tamanos = {1000, 5000, 15000, 30000};
+		if(args.length > primero + 1) {
+			tamanos = new int[args.length - primero - 1];
+			for(int i=primero + 1; i < args.length; i++) {
+				tamanos[i - primero - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		BenchmarkRenderizado benchmark = new BenchmarkRenderizado(tamanos, segundos * 1000);
+		if(fueraDePantalla) {
+			benchmark.ejecutarFueraDePantalla();
+		} else {
+			PApplet.runSketch(new String[]{BenchmarkRenderizado.class.getName()}, benchmark);
+		}
+	}
+
+	public BenchmarkRenderizado(int[] tamanos, int msMedicion) {
+		this.tamanos = tamanos;
+		this.msMedicion = msMedicion;
+	}
+
+	public void settings() {
+		size(ANCHO_VENTANA, ALTO_VENTANA, P2D);
+		smooth(16);
+	}
+
+	public void setup() {
+		//Sin lmite prctico, para que los frames por segundo dependan slo de lo que cuesta dibujar
+		frameRate(1000);
+		prepararDibujo();
+	}
+
+	/**
+	 * Dibuja los frames uno tras otro en una imagen del mismo tamao que la ventana, sin
+	 * esperar entre ellos, hasta terminar todas las combinaciones
+	 */
+	private void ejecutarFueraDePantalla() {
+		fueraDePantalla = true;
+		PGraphicsJava2D imagen = new PGraphicsJava2D();
+		imagen.setParent(this);
+		imagen.setPrimary(false);
+		imagen.setSize(ANCHO_VENTANA, ALTO_VENTANA);
+		g = imagen;
+		g.beginDraw();
+		prepararDibujo();
+		g.endDraw();
+		while(!terminado) {
+			g.beginDraw();
+			draw();
+			g.endDraw();
+		}
+	}
+
+	private void prepararDibujo() {
+		humanoide = crearFormaEntidad();
+		dibujoEntidades = new DibujoEntidades(this);
+		int maxEntidades = 0;
+		for(int tamano : tamanos) {
+			maxEntidades = Math.max(maxEntidades, tamano);
+		}
+		generarEntidades(maxEntidades);
+		System.out.println("entidades;metodo;fps;ms dibujo/frame");
+		empezarMedicion(0);
+	}
+
+	public void draw() {
+		background(255);
+		moverEntidades();
+		long inicio = System.nanoTime();
+		if(agrupado) {
+			dibujoEntidades.dibujar(posX, posY, velX, velY, numEntidades, 0, false);
+		} else {
+			for(int i=0; i < numEntidades; i++) {
+				dibujarIndividual(posX[i], posY[i], velX[i], velY[i], i == 0);
+			}
+		}
+		nanosDibujo += System.nanoTime() - inicio;
+		framesMedidos++;
+		long transcurrido = millis() - inicioMedicion;
+		if(calentando && transcurrido >= MS_CALENTAMIENTO) {
+			calentando = false;
+			inicioMedicion = millis();
+			nanosDibujo = 0;
+			framesMedidos = 0;
+		} else if(!calentando && transcurrido >= msMedicion) {
+			System.out.printf("%d;%s;%.1f;%.3f%n", numEntidades, METODOS[agrupado ? 1 : 0],
+					framesMedidos * 1000.0 / transcurrido, nanosDibujo / 1e6 / framesMedidos);
+			if(medicion + 1 < tamanos.length * METODOS.length) {
+				empezarMedicion(medicion + 1);
+			} else if(fueraDePantalla) {
+				terminado = true;
+			} else {
+				exit();
+			}
+		}
+	}
+
+	private void empezarMedicion(int medicion) {
+		this.medicion = medicion;
+		numEntidades = tamanos[medicion / METODOS.length];
+		agrupado = medicion % METODOS.length == 1;
+		calentando = true;
+		inicioMedicion = millis();
+		if(!fueraDePantalla) {
+			windowTitle(numEntidades + " entidades, " + METODOS[agrupado ? 1 : 0]);
+		}
+	}
+
+	/**
+	 * Reparte las entidades por la ventana con velocidades de la magnitud que suelen tener
+	 * en la simulacin y en direcciones aleatorias
+	 */
+	private void generarEntidades(int maxEntidades) {
+		Random random = new Random(1);
+		posX = new float[maxEntidades];
+		posY = new float[maxEntidades];
+		velX = new float[maxEntidades];
+		velY = new float[maxEntidades];
+		for(int i=0; i < maxEntidades; i++) {
+			posX[i] = random.nextFloat() * ANCHO_VENTANA;
+			posY[i] = random.nextFloat() * ALTO_VENTANA;
+			float angulo = random.nextFloat() * TWO_PI, magnitud = random.nextFloat() * 5;
+			velX[i] = cos(angulo) * magnitud;
+			velY[i] = sin(angulo) * magnitud;
+		}
+	}
+
+	/**
+	 * Desplaza las entidades segn su velocidad, volviendo a entrar por el lado contrario
+	 * al salir de la ventana
+	 */
+	private void moverEntidades() {
+		for(int i=0; i < numEntidades; i++) {
+			posX[i] = (posX[i] + velX[i] + ANCHO_VENTANA) % ANCHO_VENTANA;
+			posY[i] = (posY[i] + velY[i] + ALTO_VENTANA) % ALTO_VENTANA;
+		}
+	}
+
+	/**
+	 * Dibuja una entidad como lo haca antes la ventana: una forma pre-procesada por entidad
+	 */
+	private void dibujarIndividual(float x, float y, float velX, float velY, boolean monitorizada) {
+		pushMatrix();
+		translate(x, y);
+		rotate(atan2(velY, velX));
+		humanoide.setStroke(monitorizada ? color(204, 0, 255) : color(0, 0, 0));
+		shape(humanoide);
+		popMatrix();
+	}
+
+	/**
+	 * La misma forma humanoide que creaba antes la ventana para las entidades
+	 */
+	private PShape crearFormaEntidad() {
+		PShape humanoide = createShape(GROUP);
+		PShape cuerpo = createShape(TRIANGLE, -25, -10, 0, 0, -25, 10);
+		cuerpo.setFill(color(0, 0, 255));
+		cuerpo.setStroke(color(0));
+		cuerpo.setStrokeWeight(2);
+		humanoide.addChild(cuerpo);
+		PShape cabeza = createShape(ELLIPSE, 0, 0, 10, 10);
+		cabeza.setFill(color(0, 0, 255));
+		cabeza.setStroke(color(0));
+		cabeza.setStrokeWeight(2);
+		humanoide.addChild(cabeza);
+		PShape extremidades = createShape();
+		extremidades.beginShape(LINES);
+		extremidades.stroke(0, 0, 255);
+		extremidades.vertex(-10, -5);
+		extremidades.vertex(5, -10);
+		extremidades.vertex(-10, 5);
+		extremidades.vertex(5, 10);
+		extremidades.vertex(-25, -5);
+		extremidades.vertex(-40, -5);
+		extremidades.vertex(-25, 5);
+		extremidades.vertex(-40, 5);
+		extremidades.endShape();
+		humanoide.addChild(extremidades);
+		return humanoide;
+	}
+
+}
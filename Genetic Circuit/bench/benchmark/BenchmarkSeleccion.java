@@ -0,0 +1,124 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import modelo.entidades.TablaAlias;
+
+/**
+ * Compara la seleccin de parientes con el antiguo pool gentico (cada entidad se aade a una
+ * lista tantas veces como el porcentaje de su aptitud normalizada) con la tabla de alias:
+ * tiempo de construccin por generacin, tiempo por seleccin, memoria y cuntas entidades se
+ * quedan sin ninguna posibilidad de reproducirse por redondear su aptitud
+ * @author Alberto
+ */
+public class BenchmarkSeleccion {
+
+	private static final int REPETICIONES = 20;
+
+	/**
+	 * Acumula los resultados para que el JIT no pueda descartar las selecciones
+	 */
+	private static long sumidero;
+
+	/**
+	 * @param args: tamaos de poblacin a medir
+	 */
+	public static void main(String[] args) {
+		int[] tamanos = {1000, 15000, 100000};
+		if(args.length > 0) {
+			tamanos = new int[args.length];
+			for(int i=0; i < args.length; i++) {
+				tamanos[i] = Integer.parseInt(args[i]);
+			}
+		}
+		//La primera ronda slo sirve para que el JIT compile ambos mtodos antes de medirlos
+		for(int ronda=0; ronda < 2; ronda++) {
+			boolean imprimir = ronda == 1;
+			if(imprimir) {
+				System.out.println("entidades;metodo;construccion us;ns/seleccion;elementos;sin probabilidad");
+			}
+			for(int numEntidades : tamanos) {
+				double[] aptitudes = generarAptitudes(numEntidades);
+				medirPoolGenetico(aptitudes, imprimir);
+				medirTablaAlias(aptitudes, imprimir);
+			}
+		}
+	}
+
+	/**
+	 * Genera aptitudes normalizadas con una forma parecida a las de la poblacin: inversamente
+	 * proporcionales a la distancia mnima a la meta, y multiplicadas por 4 en el 1% que llega
+	 * a ella, por lo que unas pocas destacan mucho sobre el resto
+	 */
+	private static double[] generarAptitudes(int numEntidades) {
+		Random random = new Random(1);
+		double[] aptitudes = new double[numEntidades];
+		double mejor = 0;
+		for(int i=0; i < numEntidades; i++) {
+			aptitudes[i] = 1 / (25 + random.nextDouble() * 1300);
+			if(random.nextDouble() < 0.01) {
+				aptitudes[i] = 4.0 / 25;
+			}
+			mejor = Math.max(mejor, aptitudes[i]);
+		}
+		for(int i=0; i < numEntidades; i++) {
+			aptitudes[i] /= mejor;
+		}
+		return aptitudes;
+	}
+
+	private static void medirPoolGenetico(double[] aptitudes, boolean imprimir) {
+		Random random = new Random(2);
+		ArrayList<Integer> poolGenetico = new ArrayList<Integer>();
+		long nanosConstruccion = Long.MAX_VALUE, nanosSeleccion = Long.MAX_VALUE;
+		int sinProbabilidad = 0;
+		for(int r=0; r < REPETICIONES; r++) {
+			long inicio = System.nanoTime();
+			poolGenetico.clear();
+			sinProbabilidad = 0;
+			for(int i=0; i < aptitudes.length; i++) {
+				int probabilidad = (int) (aptitudes[i] * 100);
+				for(int j=0; j < probabilidad; j++) {
+					poolGenetico.add(i);
+				}
+				if(probabilidad == 0) {
+					sinProbabilidad++;
+				}
+			}
+			long finConstruccion = System.nanoTime();
+			for(int i=0; i < aptitudes.length * 2; i++) {
+				sumidero += poolGenetico.get(random.nextInt(poolGenetico.size()));
+			}
+			//Se queda con la repeticin ms rpida para descartar las pausas del recolector de basura
+			nanosConstruccion = Math.min(nanosConstruccion, finConstruccion - inicio);
+			nanosSeleccion = Math.min(nanosSeleccion, System.nanoTime() - finConstruccion);
+		}
+		if(imprimir) {
+			System.out.printf("%d;pool genetico;%.1f;%.2f;%d;%d%n", aptitudes.length, nanosConstruccion / 1000.0,
+					(double) nanosSeleccion / (aptitudes.length * 2), poolGenetico.size(), sinProbabilidad);
+		}
+	}
+
+	private static void medirTablaAlias(double[] aptitudes, boolean imprimir) {
+		Random random = new Random(2);
+		TablaAlias tabla = new TablaAlias();
+		long nanosConstruccion = Long.MAX_VALUE, nanosSeleccion = Long.MAX_VALUE;
+		for(int r=0; r < REPETICIONES; r++) {
+			long inicio = System.nanoTime();
+			tabla.construir(aptitudes, aptitudes.length);
+			long finConstruccion = System.nanoTime();
+			for(int i=0; i < aptitudes.length * 2; i++) {
+				sumidero += tabla.seleccionar(random);
+			}
+			//Se queda con la repeticin ms rpida para descartar las pausas del recolector de basura
+			nanosConstruccion = Math.min(nanosConstruccion, finConstruccion - inicio);
+			nanosSeleccion = Math.min(nanosSeleccion, System.nanoTime() - finConstruccion);
+		}
+		if(imprimir) {
+			System.out.printf("%d;tabla alias;%.1f;%.2f;%d;0%n", aptitudes.length, nanosConstruccion / 1000.0,
+					(double) nanosSeleccion / (aptitudes.length * 2), tabla.getNumElementos());
+		}
+	}
+
+}
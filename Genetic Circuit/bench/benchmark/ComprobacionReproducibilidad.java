@@ -0,0 +1,50 @@
+package benchmark;
+
+import modelo.Simulacion;
+
+/**
+ * Ejecuta la misma simulacin con una semilla fija repartida en distinto nmero de hilos, y
+ * comprueba que en todos los casos se obtiene exactamente la misma poblacin al final. Si
+ * se le pasa la huella de una ejecucin de referencia, tambin comprueba que coincide con
+ * ella, de forma que sirve para verificar que una optimizacin no cambia los resultados.
+ * Termina con cdigo 1 si alguna huella no coincide.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class ComprobacionReproducibilidad {
+
+	private static final int[] HILOS = {1, 2, 4};
+
+	/**
+	 * @param args: circuito, nmero de entidades, generaciones, semilla y opcionalmente la
+	 * huella de referencia en hexadecimal
+	 */
+	public static void main(String[] args) {
+		String circuito = args.length > 0 ? args[0] : "circuito2";
+		int numEntidades = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int numGeneraciones = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		int semilla = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+		Long huellaReferencia = args.length > 4 ? Long.parseUnsignedLong(args[4], 16) : null;
+		System.out.println("hilos;huella;ms");
+		boolean coinciden = true;
+		for(int numHilos : HILOS) {
+			//Un tiempo objetivo de 1 nunca se cumple, as que se ejecutan todas las generaciones
+			Simulacion simulacion = new Simulacion(circuito,
+					Simulacion.crearParametros(numEntidades, 1, 400, 1, semilla));
+			simulacion.setNumHilos(numHilos);
+			long inicio = System.nanoTime();
+			simulacion.ejecutar(numGeneraciones);
+			long huella = simulacion.getPoblacion().calcularHuella();
+			System.out.printf("%d;%016x;%d%n", numHilos, huella, (System.nanoTime() - inicio) / 1000000);
+			if(huellaReferencia == null) {
+				huellaReferencia = huella;
+			}
+			coinciden &= huella == huellaReferencia;
+		}
+		System.out.println(coinciden ? "Todas las huellas coinciden" : "Las huellas no coinciden");
+		if(!coinciden) {
+			System.exit(1);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import modelo.islas.CoordinadorIslas;
+import modelo.islas.ResultadoArchipielago;
+import modelo.islas.TopologiaMigracion;
+
+/**
+ * Prueba el modelo de islas repartido en procesos en una sola mquina: arranca el coordinador
+ * en este proceso con un puerto libre de loopback y lanza cada isla en una JVM aparte con el
+ * modo ISLA de Main. Opcionalmente mata una de las islas a mitad de ejecucin para comprobar
+ * que las dems continan sin ella. La salida de las islas se mezcla con la de este proceso.
+ * Debe ejecutarse desde la carpeta del proyecto para que encuentre los circuitos
+ * @author Alberto
+ */
+public class PruebaIslasProcesos {
+
+	/**
+	 * @param args: islas, circuito, entidades por isla, tiempo objetivo, mximo de generaciones,
+	 * topologa, isla que se mata (-1 para ninguna) y milisegundos antes de matarla
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int numIslas = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		String circuito = args.length > 1 ? args[1] : "circuito2";
+		int numEntidades = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+		int tiempoObjetivo = args.length > 3 ? Integer.parseInt(args[3]) : 150;
+		int maxGeneraciones = args.length > 4 ? Integer.parseInt(args[4]) : 150;
+		TopologiaMigracion topologia = args.length > 5 ? TopologiaMigracion.valueOf(args[5].toUpperCase())
+				: TopologiaMigracion.ANILLO;
+		int islaCaida = args.length > 6 ? Integer.parseInt(args[6]) : -1;
+		long msAntesDeMatar = args.length > 7 ? Long.parseLong(args[7]) : 2000;
+		CoordinadorIslas coordinador = new CoordinadorIslas(0, numIslas, circuito, numEntidades, 1, 400,
+				tiempoObjetivo, 1, maxGeneraciones, topologia, 5, 5);
+		Process[] procesos = new Process[numIslas];
+		for(int i=0; i < numIslas; i++) {
+			procesos[i] = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+					"-cp", System.getProperty("java.class.path"), "controlador.Main", "ISLA", "127.0.0.1",
+					String.valueOf(coordinador.getPuerto())).inheritIO().start();
+		}
+		if(islaCaida >= 0) {
+			//El orden en que se conectan no tiene por qu coincidir con el identificador de isla
+			Process proceso = procesos[islaCaida];
+			Thread verdugo = new Thread(() -> {
+				try {
+					Thread.sleep(msAntesDeMatar);
+					proceso.destroyForcibly();
+					System.out.println("proceso de isla " + proceso.pid() + " terminado a la fuerza");
+				} catch (InterruptedException e) {
+					//Si la ejecucin ha terminado antes no hace falta matarla
+				}
+			});
+			verdugo.setDaemon(true);
+			verdugo.start();
+		}
+		ResultadoArchipielago resultado = coordinador.ejecutar(30000);
+		for(Process proceso : procesos) {
+			proceso.waitFor();
+		}
+		System.out.printf("resultado;%s;isla=%d;generaciones=%d;mejor tiempo=%d;islas=%d;caidas=%d;migrantes=%d;"
+				+ "segundos=%.3f%n", resultado.isObjetivoCumplido() ? "objetivo cumplido" : "objetivo no cumplido",
+				resultado.getIslaGanadora(), resultado.getNumGeneraciones(), resultado.getMejorTiempo(),
+				coordinador.getNumIslasConectadas(), coordinador.getNumIslasCaidas(), resultado.getNumMigrantes(),
+				resultado.getNanos() / 1e9);
+	}
+
+}
@@ -0,0 +1,33 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * Generador que cuenta cuntas veces se le pide un nmero, ya que todos los mtodos de
+ * Random acaban llamando a next() por cada 32 bits que necesitan
+ * @author Alberto
+ */
+class RandomContador extends Random {
+
+	private static final long serialVersionUID = 1L;
+	private long llamadas;
+
+	RandomContador(long semilla) {
+		super(semilla);
+	}
+
+	@Override
+	protected int next(int bits) {
+		llamadas++;
+		return super.next(bits);
+	}
+
+	long getLlamadas() {
+		return llamadas;
+	}
+
+	void reiniciarLlamadas() {
+		llamadas = 0;
+	}
+
+}
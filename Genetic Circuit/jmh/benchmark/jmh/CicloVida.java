@@ -0,0 +1,75 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Simulacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Tiempo del ciclo de vida completo de una generacin, es decir, todos los frames en los que
+ * las entidades aplican sus genes, se desplazan y comprueban sus colisiones. Es lo que antes
+ * haca cada entidad por separado en Entidad.actuar. La poblacin evoluciona entre invocaciones
+ * sin contar en el tiempo, as que cada una parte de entidades recin reiniciadas y con genomas
+ * cada vez mejores, como en una ejecucin real
+ * @author Alberto
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CicloVida {
+
+	@Param({"1000", "10000", "100000"})
+	private int numEntidades;
+	/**
+	 * Hilos entre los que se reparte cada frame
+	 */
+	@Param({"1"})
+	private int numHilos;
+	@Param({"circuito1"})
+	private String circuito;
+
+	private Poblacion poblacion;
+
+	@Setup
+	public void preparar() {
+		Simulacion simulacion = new Simulacion(circuito,
+				Simulacion.crearParametros(numEntidades, 1, Generacion.TIEMPO_VIDA, 1, 1));
+		simulacion.setNumHilos(numHilos);
+		poblacion = simulacion.getPoblacion();
+	}
+
+	/**
+	 * Reinicia las entidades para el siguiente ciclo de vida. En la primera invocacin no
+	 * han llegado a moverse, pero evolucionarlas igualmente no cambia nada del benchmark
+	 */
+	@Setup(Level.Invocation)
+	public void evolucionar() {
+		poblacion.evolucionar();
+	}
+
+	@Benchmark
+	public int cicloVida() {
+		int numCiclos = poblacion.getTiempoVida();
+		for(int i=0; i < numCiclos; i++) {
+			poblacion.realizarCiclo();
+		}
+		return poblacion.getNumLlegadasActual();
+	}
+
+}
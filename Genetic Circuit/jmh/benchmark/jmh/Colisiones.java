@@ -0,0 +1,99 @@
+package benchmark.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.circuito.Colisionable;
+import modelo.circuito.Meta;
+import modelo.circuito.Obstaculo;
+import processing.core.PVector;
+
+/**
+ * Tiempo de cada comprobacin de colisin de una entidad con un obstculo sin rotar, con uno
+ * rotado y con la meta. Las posiciones se reparten alrededor de cada elemento para que unas
+ * choquen y otras no, como les pasa a las entidades que se acercan a ellos
+ * @author Alberto
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Colisiones {
+
+	/**
+	 * Posiciones que se comprueban en cada invocacin, para que el coste de la llamada del
+	 * benchmark no se confunda con el de la comprobacin
+	 */
+	private static final int NUM_POSICIONES = 1024;
+
+	private Obstaculo obstaculoSinRotacion, obstaculoRotado;
+	private Meta meta;
+	private float[] posicionesObstaculo, posicionesMeta;
+
+	@Setup
+	public void preparar() {
+		obstaculoSinRotacion = new Obstaculo(new PVector(640, 360), 300, 60, 0);
+		obstaculoRotado = new Obstaculo(new PVector(640, 360), 300, 60, 30);
+		meta = new Meta(new PVector(640, 360), 60, 60);
+		Random random = new Random(1);
+		posicionesObstaculo = generarPosiciones(random, 200);
+		posicionesMeta = generarPosiciones(random, 45);
+	}
+
+	/**
+	 * @return posiciones con las coordenadas intercaladas a una distancia del centro de como mucho el radio
+	 */
+	private static float[] generarPosiciones(Random random, float radio) {
+		float[] posiciones = new float[NUM_POSICIONES * 2];
+		for(int i=0; i < posiciones.length; i++) {
+			posiciones[i] = (i % 2 == 0 ? 640 : 360) + (random.nextFloat() * 2 - 1) * radio;
+		}
+		return posiciones;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_POSICIONES)
+	public int obstaculoSinRotacion() {
+		return contarChoques(obstaculoSinRotacion, posicionesObstaculo);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_POSICIONES)
+	public int obstaculoRotado() {
+		return contarChoques(obstaculoRotado, posicionesObstaculo);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_POSICIONES)
+	public int meta() {
+		return contarChoques(meta, posicionesMeta);
+	}
+
+	/**
+	 * Devuelve cuntas chocan para que el JIT no pueda descartar las comprobaciones
+	 */
+	private static int contarChoques(Colisionable elemento, float[] posiciones) {
+		int numChoques = 0;
+		for(int i=0; i < posiciones.length; i += 2) {
+			if(elemento.chocaConEntidad(posiciones[i], posiciones[i + 1])) {
+				numChoques++;
+			}
+		}
+		return numChoques;
+	}
+
+}
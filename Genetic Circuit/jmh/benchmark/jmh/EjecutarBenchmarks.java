@@ -0,0 +1,34 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks JMH de las partes de la simulacin por las que pasa ms tiempo,
+ * aadiendo siempre el perfilador del recolector de basura para que cada resultado muestre
+ * tambin cunta memoria reserva por operacin (gc.alloc.rate.norm).
+ * Estos benchmarks estn en una carpeta aparte y no forman parte del proyecto de Eclipse
+ * porque necesitan JMH, que no se distribuye en lib. Para ejecutarlos hay que descargar
+ * jmh-core, jmh-generator-annprocess, jopt-simple y commons-math3 en lib/jmh y, desde la
+ * carpeta del proyecto para que encuentren los circuitos:
+ * <pre>
+ * javac -encoding ISO-8859-1 -cp "lib/*:lib/jmh/*" -d bin-jmh $(find src bench jmh -name "*.java")
+ * java -cp "bin-jmh:lib/*:lib/jmh/*" benchmark.jmh.EjecutarBenchmarks [opciones de JMH]
+ * </pre>
+ * Las opciones son las de la lnea de comandos de JMH, por ejemplo "Colisiones" para ejecutar
+ * slo esa clase, "-p numEntidades=10000" para un solo tamao o "-rf csv -rff base.csv" para
+ * guardar los resultados y compararlos con los de un cambio posterior
+ * @author Alberto
+ */
+public class EjecutarBenchmarks {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+
+}
@@ -0,0 +1,70 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Simulacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Tiempo de Poblacion.evolucionar a distintos tamaos de poblacin: evaluar la aptitud,
+ * seleccionar los parientes, cruzarlos, mutar a los hijos y reiniciar las entidades. Antes de
+ * cada invocacin se realiza sin contar en el tiempo el ciclo de vida, para que las aptitudes
+ * salgan de trayectorias reales y no de entidades que no se han movido
+ * @author Alberto
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class Evolucion {
+
+	@Param({"1000", "10000", "50000"})
+	private int numEntidades;
+	/**
+	 * Hilos entre los que se reparte la creacin de los hijos
+	 */
+	@Param({"1"})
+	private int numHilos;
+	@Param({"circuito1"})
+	private String circuito;
+
+	private Poblacion poblacion;
+
+	@Setup
+	public void preparar() {
+		Simulacion simulacion = new Simulacion(circuito,
+				Simulacion.crearParametros(numEntidades, 1, Generacion.TIEMPO_VIDA, 1, 1));
+		simulacion.setNumHilos(numHilos);
+		poblacion = simulacion.getPoblacion();
+	}
+
+	@Setup(Level.Invocation)
+	public void realizarCicloVida() {
+		int numCiclos = poblacion.getTiempoVida();
+		for(int i=0; i < numCiclos; i++) {
+			poblacion.realizarCiclo();
+		}
+	}
+
+	@Benchmark
+	public double evolucionar() {
+		poblacion.evolucionar();
+		return poblacion.getMejorAptitudActual();
+	}
+
+}
@@ -0,0 +1,73 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import modelo.Simulacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Tiempo de una generacin completa tal como la ejecuta el controlador sin dibujar: todos los
+ * frames del ciclo de vida seguidos de la evolucin. Con un tiempo objetivo de 1 nunca se
+ * cumple el objetivo, as que la poblacin sigue evolucionando durante todo el benchmark
+ * @author Alberto
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class Generacion {
+
+	/**
+	 * Frames que vive cada generacin en todos los benchmarks de la poblacin
+	 */
+	static final int TIEMPO_VIDA = 400;
+
+	@Param({"1000", "10000"})
+	private int numEntidades;
+	/**
+	 * Hilos entre los que se reparte cada generacin
+	 */
+	@Param({"1"})
+	private int numHilos;
+	@Param({"circuito1"})
+	private String circuito;
+
+	private Poblacion poblacion;
+
+	@Setup
+	public void preparar() {
+		Simulacion simulacion = new Simulacion(circuito,
+				Simulacion.crearParametros(numEntidades, 1, TIEMPO_VIDA, 1, 1));
+		simulacion.setNumHilos(numHilos);
+		poblacion = simulacion.getPoblacion();
+	}
+
+	/**
+	 * Repite los pasos de Simulacion.ejecutarGeneracion sin guardar sus estadsticas, que
+	 * en un benchmark largo iran acumulndose en el historial
+	 */
+	@Benchmark
+	public int generacion() {
+		int numCiclos = poblacion.getTiempoVida();
+		for(int i=0; i < numCiclos; i++) {
+			poblacion.realizarCiclo();
+		}
+		poblacion.evolucionar();
+		return poblacion.getMejorTiempo();
+	}
+
+}
@@ -0,0 +1,97 @@
+package controlador;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bucle del hilo dedicado a la simulacin, que hace avanzar el proceso evolutivo a un ritmo
+ * fijo de ciclos por segundo independientemente de lo que tarde la ventana grfica en dibujar.
+ * As una evolucin lenta al final de la generacin no congela la ventana, y dibujar muchas
+ * entidades no frena la evolucin. Tambin mide cuntos ciclos consigue realizar por segundo.
+ * En el modo turbo realiza en cada paso una tanda de ciclos, cuyo tamao se ajusta para que
+ * ocupe como mucho la mitad del tiempo entre dos frames y deje el resto libre para la ventana
+ * y los eventos de la interfaz, de forma que sta se siga dibujando a 60 frames por segundo
+ * @author Alberto
+ */
+class BucleSimulacion implements Runnable {
+
+	/**
+	 * Pasos por segundo a los que avanza la simulacin, los mismos frames por segundo a los
+	 * que dibuja la ventana. Fuera del modo turbo cada paso es un nico ciclo, para que el
+	 * ciclo de vida se vea a la misma velocidad que antes
+	 */
+	static final int PASOS_POR_SEGUNDO = 60;
+	private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+	/**
+	 * Parte del tiempo entre dos pasos que puede ocupar cada tanda de ciclos del modo turbo
+	 */
+	private static final double FRACCION_TURBO = 0.5;
+	private static final int MAX_CICLOS_POR_PASO = 1 << 16;
+
+	private final Controlador controlador;
+	/**
+	 * Ciclos que se han realizado por segundo en la ltima medicin
+	 */
+	private volatile float ciclosPorSegundo;
+	/**
+	 * Ciclos de cada tanda en el modo turbo. Se conserva al desactivarlo para continuar
+	 * igual de rpido cuando se vuelva a activar
+	 */
+	private volatile int ciclosPorPaso = 1;
+
+	BucleSimulacion(Controlador controlador) {
+		this.controlador = controlador;
+	}
+
+	@Override
+	public void run() {
+		long periodo = NANOS_POR_SEGUNDO / PASOS_POR_SEGUNDO;
+		long siguiente = System.nanoTime();
+		long inicioMedicion = siguiente;
+		int ciclosMedidos = 0;
+		while(!Thread.currentThread().isInterrupted()) {
+			boolean turbo = controlador.isModoTurbo();
+			int numCiclos = turbo ? ciclosPorPaso : 1;
+			long inicioPaso = System.nanoTime();
+			int realizados = controlador.avanzarSimulacion(numCiclos);
+			long ahora = System.nanoTime();
+			ciclosMedidos += realizados;
+			//Una tanda cortada por parar el proceso no dice nada de lo que tardan los ciclos
+			if(turbo && realizados == numCiclos) {
+				ajustarCiclosPorPaso(ahora - inicioPaso, periodo);
+			}
+			if(ahora - inicioMedicion >= NANOS_POR_SEGUNDO) {
+				ciclosPorSegundo = (float) ciclosMedidos * NANOS_POR_SEGUNDO / (ahora - inicioMedicion);
+				ciclosMedidos = 0;
+				inicioMedicion = ahora;
+			}
+			/* Si se ha retrasado ms de un ciclo, por ejemplo al evolucionar, sigue a su ritmo
+			 * desde ahora en vez de intentar recuperar los ciclos perdidos de golpe */
+			siguiente += periodo;
+			if(ahora - siguiente > periodo) {
+				siguiente = ahora;
+			}
+			LockSupport.parkNanos(siguiente - ahora);
+		}
+	}
+
+	/**
+	 * Ajusta los ciclos de la siguiente tanda en proporcin a lo que ha sobrado o faltado de
+	 * tiempo en la ltima. Como mucho los duplica en cada paso, para que una tanda que haya
+	 * salido muy rpida por casualidad no dispare la siguiente
+	 * @param duracion: nanosegundos que ha tardado la ltima tanda
+	 * @param periodo: nanosegundos entre dos pasos
+	 */
+	private void ajustarCiclosPorPaso(long duracion, long periodo) {
+		double factor = Math.min(2, periodo * FRACCION_TURBO / Math.max(duracion, 1));
+		ciclosPorPaso = (int) Math.max(1, Math.min(MAX_CICLOS_POR_PASO, Math.round(ciclosPorPaso * factor)));
+	}
+
+	float getCiclosPorSegundo() {
+		return ciclosPorSegundo;
+	}
+
+	int getCiclosPorPaso() {
+		return ciclosPorPaso;
+	}
+
+}
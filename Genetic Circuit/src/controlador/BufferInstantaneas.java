@@ -0,0 +1,57 @@
+package controlador;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffer con el que el hilo de la simulacin le pasa las instantneas de las entidades
+ * a la ventana grfica sin que ninguno de los dos tenga que esperar al otro. Cada hilo tiene
+ * siempre una instantnea propia (la que escribe la simulacin y la que dibuja la ventana) y
+ * la tercera es la ltima publicada, que se intercambian atmicamente. Slo puede haber un
+ * hilo que escriba y uno que lea
+ * @author Alberto
+ */
+class BufferInstantaneas {
+
+	/**
+	 * Bit que indica que la instantnea intermedia es nueva y la ventana todava no la ha cogido
+	 */
+	private static final int NUEVA = 4, INDICE = 3;
+
+	private final InstantaneaEntidades[] instantaneas = {
+			new InstantaneaEntidades(), new InstantaneaEntidades(), new InstantaneaEntidades()};
+	/**
+	 * ndice de la instantnea intermedia junto con el bit NUEVA
+	 */
+	private final AtomicInteger intermedia = new AtomicInteger(2);
+	/**
+	 * ndices de las instantneas que pertenecen a cada hilo
+	 */
+	private int escritura = 0, lectura = 1;
+
+	/**
+	 * @return la instantnea que puede rellenar el hilo de la simulacin antes de publicarla
+	 */
+	InstantaneaEntidades getEscritura() {
+		return instantaneas[escritura];
+	}
+
+	/**
+	 * Publica la instantnea que se acaba de rellenar y se queda con la intermedia para la
+	 * siguiente. Si la ventana no haba cogido la anterior, simplemente se descarta
+	 */
+	void publicar() {
+		escritura = intermedia.getAndSet(escritura | NUEVA) & INDICE;
+	}
+
+	/**
+	 * @return la ltima instantnea publicada, que el hilo de la ventana puede leer hasta que
+	 * vuelva a llamar a este mtodo
+	 */
+	InstantaneaEntidades getUltima() {
+		if((intermedia.get() & NUEVA) != 0) {
+			lectura = intermedia.getAndSet(lectura) & INDICE;
+		}
+		return instantaneas[lectura];
+	}
+
+}
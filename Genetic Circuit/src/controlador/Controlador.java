@@ -1,10 +1,15 @@
 package controlador;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
 import modelo.Modelo;
 import modelo.circuito.Circuito;
+import modelo.entidades.Entidad;
 import modelo.entidades.Poblacion;
+import modelo.medicion.FaseGeneracion;
+import modelo.medicion.MedidorFases;
 import vista.PanelControl;
 import vista.Ventana;
 import vista.Vista;
@@ -25,7 +30,7 @@ public class Controlador {
 	/**
 	 * Estado que tiene actualmente el programa
 	 */
-	private Estado estado;
+	private volatile Estado estado;
 	
 	/**
 	 * Indica si el programa debe ejecutarse con normalidad o limitarse a guardar un circuito nuevo
@@ -44,15 +49,53 @@ public class Controlador {
 	/**
 	 * Flag que indica si el modo automtico est activado y las generaciones suceden solas
 	 */
-	private boolean modoAutomatico = false;
+	private volatile boolean modoAutomatico = false;
+	/**
+	 * Flag que indica si el modo turbo est activado y la simulacin realiza varios ciclos
+	 * por cada frame que se dibuja, mostrando slo el estado final de cada tanda
+	 */
+	private volatile boolean modoTurbo = false;
 	/**
 	 * Flag que indica si el proceso evolutivo est parado hasta que se reactive
 	 */
-	private boolean parado = true;
+	private volatile boolean parado = true;
 	/**
 	 * Almacena temporalmente el tiempo de vida actualizado
 	 */
 	private int tiempoVidaCache;
+	/**
+	 * Nmero de ciclos que han pasado desde que ha empezado a actuar una nueva generacin hasta
+	 * que termina su ciclo de vida. Se reinicia cada vez que se reproducen las entidades
+	 */
+	private int numCiclosGen;
+	/**
+	 * Cerrojo que tiene el hilo de la simulacin mientras realiza un ciclo, y que deben tomar
+	 * los eventos de la interfaz antes de modificar la poblacin o el circuito
+	 */
+	private final Object cerrojoSimulacion = new Object();
+	/**
+	 * Bucle del hilo que hace avanzar la simulacin, separado del de la ventana grfica
+	 */
+	private BucleSimulacion bucleSimulacion;
+	/**
+	 * Entidad sobre la que se ha hecho click en la ventana y que la simulacin debe empezar a
+	 * monitorizar antes de su siguiente ciclo, o null si no hay ninguna pendiente
+	 */
+	private final AtomicReference<SeleccionEntidad> seleccionPendiente = new AtomicReference<SeleccionEntidad>();
+	
+	/**
+	 * Entidad seleccionada junto con la poblacin a la que pertenece, para descartarla si
+	 * el proceso se ha reiniciado antes de que se aplique
+	 */
+	private static class SeleccionEntidad {
+		private final Poblacion poblacion;
+		private final int indice;
+		
+		private SeleccionEntidad(Poblacion poblacion, int indice) {
+			this.poblacion = poblacion;
+			this.indice = indice;
+		}
+	}
 	/**
 	 * Subcontrolador que se encarga de gestionar todos los eventos desencadenados en la vista
 	 */
@@ -106,6 +149,7 @@ public class Controlador {
 		}
 		//Inicia los controladores encargados de manejar reas ms concretas
 		iniciarSubcontroladores();
+		iniciarHiloSimulacion();
 	}
 
 	/**
@@ -120,6 +164,71 @@ public class Controlador {
 		visualizador = new Visualizador(vista, modelo);
 	}
 	
+	/**
+	 * Inicia el hilo que realiza el proceso evolutivo, que espera sin hacer nada mientras
+	 * est parado. La ventana grfica slo dibuja lo ltimo que haya publicado
+	 */
+	private void iniciarHiloSimulacion() {
+		bucleSimulacion = new BucleSimulacion(this);
+		Thread hilo = new Thread(bucleSimulacion, "Simulacion");
+		//No debe impedir que el programa termine al cerrar la ventana
+		hilo.setDaemon(true);
+		hilo.start();
+	}
+	
+	/**
+	 * Realiza una tanda de ciclos del proceso evolutivo mientras no se pare ni termine, y al
+	 * final publica el estado en el que ha quedado para que se dibuje. Lo llama continuamente
+	 * el hilo de la simulacin, con un nico ciclo salvo en el modo turbo
+	 * @param numCiclos: ciclos que debe realizar como mximo, que pueden abarcar varias generaciones
+	 * @return los ciclos que ha realizado
+	 */
+	int avanzarSimulacion(int numCiclos) {
+		synchronized(cerrojoSimulacion) {
+			boolean seleccionada = aplicarSeleccionPendiente();
+			int realizados = 0;
+			while(realizados < numCiclos && !parado && estado != Estado.FINALIZADO && modelo.getPoblacion() != null) {
+				manipularPoblacion();
+				realizados++;
+			}
+			if(realizados > 0) {
+				publicarCiclo(modelo.getPoblacion());
+			} else if(seleccionada) {
+				//Aunque est parado, debe mostrar en seguida la entidad resaltada y sus datos
+				visualizador.publicarInstantanea();
+				visualizador.publicarDatos();
+			}
+			return realizados;
+		}
+	}
+	
+	/**
+	 * Deja pendiente que la simulacin monitorice una entidad en cuanto termine el ciclo
+	 * actual. Se llama desde la ventana al hacer click, sin tener que esperar a la simulacin
+	 * @param poblacion: poblacin a la que pertenece la entidad
+	 * @param indice: ndice de la entidad en la poblacin
+	 */
+	void seleccionarEntidad(Poblacion poblacion, int indice) {
+		seleccionPendiente.set(new SeleccionEntidad(poblacion, indice));
+	}
+	
+	/**
+	 * Empieza a monitorizar la entidad seleccionada en la ventana, si hay alguna pendiente
+	 * y sigue perteneciendo a la poblacin actual
+	 * @return si ha cambiado la entidad monitorizada
+	 */
+	private boolean aplicarSeleccionPendiente() {
+		SeleccionEntidad seleccion = seleccionPendiente.getAndSet(null);
+		Poblacion poblacion = modelo.getPoblacion();
+		if(seleccion == null || seleccion.poblacion != poblacion || seleccion.indice >= poblacion.getEntidades().length) {
+			return false;
+		}
+		Entidad entidad = poblacion.getEntidades()[seleccion.indice];
+		entidad.setMonitorizada(true);
+		poblacion.setEntidadMonitorizada(entidad);
+		return true;
+	}
+	
 	/** 
 	 * Inicia los objetos del modelo de datos presentes en el circuito: la meta y obstaculos .
 	 * Obtiene los datos almacenados en el fichero correspondiente al circuito pasado como
@@ -128,12 +237,14 @@ public class Controlador {
 	 * @param ventana grfica necesaria para poder dar contexto a los elementos
 	 */
 	void iniciarCircuito(String nombreCircuito, Ventana ventana) {
-		//Obtiene el circuito desde su fichero de la carpeta del proyecto
-		modelo.setCircuito(Circuito.cargarCircuito(nombreCircuito));
-		//Inicia la meta y obstculos a partir de los parmetros del circuito cargado
-		Circuito circuito = modelo.getCircuito();
-		modelo.setMeta(circuito.setupMeta(ventana));
-		modelo.setObstaculos(circuito.setupObstaculos(ventana));
+		synchronized(cerrojoSimulacion) {
+			//Obtiene el circuito desde su fichero de la carpeta del proyecto
+			modelo.setCircuito(Circuito.cargarCircuito(nombreCircuito));
+			//Inicia la meta y obstculos a partir de los parmetros del circuito cargado
+			Circuito circuito = modelo.getCircuito();
+			modelo.setMeta(circuito.setupMeta(ventana));
+			modelo.setObstaculos(circuito.setupObstaculos(ventana));
+		}
 	}
 
 	/**
@@ -142,9 +253,8 @@ public class Controlador {
 	 * a la poblacin realizar su ciclo de vida hasta que acabe y tenga que evolucionar.
 	 * En ese momento llamara a la funcin con los pasos del algoritmo gentico necesarios
 	 */
-	public void manipularPoblacion() {
+	private void manipularPoblacion() {
 		Poblacion entidades = modelo.getPoblacion();
-		Ventana ventana = vista.getVentana();
 		PanelControl panelControl = vista.getPanelControl();
 		/* Comprueba si las poblacin ha cumplido el objetivo y sale de la funcin 
 		 * si es el caso despus de mostrar la ruta ptima, para no continuar el proceso
@@ -153,35 +263,45 @@ public class Controlador {
 			finalizarProcesoEvolutivo(entidades, panelControl);
 			return;
 		}
-		//Nmero de frames que han pasado desde el inicio de su ciclo de vida
-		int numFramesGen = ventana.getNumFramesGen();
 		//Si todava le queda tiempo de vida a la poblacin, realiza un ciclo de ejecucin
-		if(numFramesGen < tiempoVidaCache) {
-			continuarCicloVida(entidades, ventana, numFramesGen);
+		if(numCiclosGen < tiempoVidaCache) {
+			continuarCicloVida(entidades);
 		} 
 		//De lo contrario, la poblacin debe evolucionar y reiniciar su ciclo de vida
 		else {
-			terminarCicloVida(entidades, ventana);
+			terminarCicloVida(entidades);
 		}
-		//Muestra en el panel de control la generacin en la que se encuentra al acabar el ciclo
-		panelControl.setValor("Generacion", entidades.getNumGeneraciones());
 	}
 	
 	/**
 	 * Ordena a las entidades que prosigan su ejecucin y muestra y actualiza la informacin
 	 * que considere necesaria 
 	 * @param entidades que deben proceder con su ciclo de vida
-	 * @param ventana cuyo contador de frames debe incrementarse
-	 * @param numFramesGen numero de frames que llevan vivos las entidades
 	 */
-	private void continuarCicloVida(Poblacion entidades, Ventana ventana, int numFramesGen) {
+	private void continuarCicloVida(Poblacion entidades) {
 		entidades.realizarCiclo();
-		//En cada ciclo debe monitorizar los datos de la entidad monitorizada, si es que hay
-		if(entidades.getEntidadMonitorizada() != null) {
-			visualizador.monitorizarEntidad(entidades.getEntidadMonitorizada());
+		//Incrementa el contador de ciclos para que las entidades actun segn les toca
+		numCiclosGen++;
+	}
+	
+	/**
+	 * Publica las entidades que no han chocado para que las dibuje la ventana, y los datos de la
+	 * poblacin y de la entidad monitorizada, si es que hay, que el panel de control mostrar en
+	 * su prxima actualizacin. Despus de evolucionar, la nueva generacin se dibuja en su
+	 * posicin inicial mientras espera, en vez de las ltimas posiciones de la anterior
+	 * @param entidades: poblacin cuyo estado se publica
+	 */
+	private void publicarCiclo(Poblacion entidades) {
+		MedidorFases medidorFases = entidades.getMedidorFases();
+		FaseGeneracion faseAnterior = medidorFases.cambiarFase(FaseGeneracion.INSTANTANEA);
+		visualizador.publicarInstantanea();
+		/* Justo despus de evolucionar ya se han publicado los datos de la generacin, y los de
+		 * movimiento de la entidad monitorizada se han reiniciado, as que no se vuelven a publicar */
+		if(numCiclosGen > 0) {
+			medidorFases.cambiarFase(FaseGeneracion.INTERFAZ);
+			visualizador.publicarDatos();
 		}
-		//Incrementa el contador de frames para que las entidades actun segn les toca
-		ventana.setNumFramesGen(++numFramesGen);
+		medidorFases.cambiarFase(faseAnterior);
 	}
 	
 	/**
@@ -189,16 +309,24 @@ public class Controlador {
 	 * evolutivo contine generando una nueva generacin. Despus dicta a los componentes
 	 * de la vista lo que deben hacer como preparacin para la siguiente generacin
 	 * @param entidades cuyo ciclo de vida termina y deben evolucionar en una generacin nueva
-	 * @param ventana cuyo contador de frames debe reiniciarse para la siguiente generacin
 	 */
-	private void terminarCicloVida(Poblacion entidades, Ventana ventana) {
-		ventana.setNumFramesGen(0);
+	private void terminarCicloVida(Poblacion entidades) {
+		numCiclosGen = 0;
 		entidades.evolucionar();
 		/* Almacena temporalmente el valor del tiempo de vida modificado en medio del proceso,
 		 * para que no intenten aplicar genes que estn fuera de su rango y espere a que se
 		 * reproduzcan para aplicarle el cambio
 		 */
 		tiempoVidaCache = entidades.getTiempoVida();
+		//Muestra en el panel de control la generacin en la que se encuentra al acabar el ciclo
+		MedidorFases medidorFases = entidades.getMedidorFases();
+		FaseGeneracion faseAnterior = medidorFases.cambiarFase(FaseGeneracion.INTERFAZ);
+		visualizador.publicarDatosGeneracion();
+		medidorFases.cambiarFase(faseAnterior);
+		//Al cumplir el objetivo muestra por consola en qu se ha ido el tiempo de todo el proceso
+		if(entidades.isObjetivoCumplido()) {
+			System.out.print(entidades.getMedidorFases().getResumen());
+		}
 		/* Si el modo automtico no est activado y todava no se ha cumplido el objetivo, 
 		 * para el proceso hasta que se pulse el botn de "siguiente". Si est activado,
 		 * deja que contine por su cuenta.
@@ -222,31 +350,29 @@ public class Controlador {
 		 * hasta que pulsemos el botn de "siguiente" */
 		estado = Estado.EN_ESPERA;
 		parado = true; 
-		//Desabilita el botn de pausa para que no pueda iniciar otra generacin por error
-		vista.getPanelControl().getBtnPausar().setEnabled(false);
-		/* Habilita el botn de "siguiente" para que pueda pasar a la siguiente generacin
-		 * Lo hace con un delay para que se actualice correctamente el contador de generaciones */
-		new Timer().schedule(new TimerTask() {
-			@Override
-			public void run() {
-				vista.getPanelControl().getBtnProceder().setEnabled(true);
-			}
-		}, 5);
+		//Se llama desde el hilo de la simulacin, as que los botones se cambian en el de eventos
+		SwingUtilities.invokeLater(() -> {
+			PanelControl panelControl = vista.getPanelControl();
+			//Desabilita el botn de pausa para que no pueda iniciar otra generacin por error
+			panelControl.getBtnPausar().setEnabled(false);
+			//Habilita el botn de "siguiente" para que pueda pasar a la siguiente generacin
+			panelControl.getBtnProceder().setEnabled(true);
+		});
 	}
 	
 	/**
 	 * Muestra la informacin que debe aparecer cuando el proceso evolutivo ha cumplido
-	 * su objetivo, como la ruta ptima alcanzada en la ventana
-	 * @param entidades: poblacin de donde obtiene la entidad y datos a mostrar
+	 * su objetivo. Al pasar al estado "finalizado", la ventana dibuja la ruta ptima alcanzada
+	 * en vez de las entidades, y la simulacin deja de realizar ciclos
+	 * @param entidades: poblacin de donde obtiene los datos a mostrar
 	 * @param panelControl 
 	 */
 	private void finalizarProcesoEvolutivo(Poblacion entidades, PanelControl panelControl) {
 		//Actualiza el estado a "finalizado" ya que el proceso evolutivo ha terminado
 		estado = Estado.FINALIZADO;
-		//Deshabilita el botn de pausa ya que no est en el proceso ya
-		panelControl.getBtnPausar().setEnabled(false);
-		panelControl.setValor("Generacion", entidades.getNumGeneraciones());
-		visualizador.mostrarRutaOptima(entidades.getMejorEntidad());
+		//Deshabilita el botn de pausa ya que no est en el proceso ya, desde el hilo de eventos
+		SwingUtilities.invokeLater(() -> panelControl.getBtnPausar().setEnabled(false));
+		visualizador.publicarDatosGeneracion();
 	}
 	
 	/** 
@@ -301,6 +427,22 @@ public class Controlador {
 		this.tiempoVidaCache = tiempoVidaCache;
 	}
 
+	public void setNumCiclosGen(int numCiclosGen) {
+		this.numCiclosGen = numCiclosGen;
+	}
+
+	Object getCerrojoSimulacion() {
+		return cerrojoSimulacion;
+	}
+
+	/**
+	 * @return los ciclos por segundo que est realizando la simulacin, independientes de los
+	 * frames por segundo a los que dibuja la ventana
+	 */
+	public float getCiclosPorSegundo() {
+		return bucleSimulacion != null ? bucleSimulacion.getCiclosPorSegundo() : 0;
+	}
+
 	public ControladorEventos getControladorEventos() {
 		return controladorEventos;
 	}
@@ -309,6 +451,21 @@ public class Controlador {
 		return modoAutomatico;
 	}
 
+	public boolean isModoTurbo() {
+		return modoTurbo;
+	}
+
+	public void setModoTurbo(boolean modoTurbo) {
+		this.modoTurbo = modoTurbo;
+	}
+
+	/**
+	 * @return los ciclos que realiza la simulacin por cada frame en el modo turbo
+	 */
+	public int getCiclosPorFrame() {
+		return bucleSimulacion != null ? bucleSimulacion.getCiclosPorPaso() : 1;
+	}
+
 	public Visualizador getVisualizador() {
 		return visualizador;
 	}
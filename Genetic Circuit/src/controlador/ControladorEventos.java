@@ -1,6 +1,5 @@
 package controlador;
 
-import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
 import java.util.HashMap;
@@ -12,11 +11,9 @@ import javax.swing.JSpinner;
 import javax.swing.event.ChangeEvent;
 
 import modelo.Modelo;
-import modelo.entidades.Entidad;
 import modelo.entidades.Poblacion;
 import processing.core.PVector;
 import vista.PanelControl;
-import vista.Ventana;
 import vista.Vista;
 
 /**
@@ -48,19 +45,21 @@ public class ControladorEventos {
 	 * cambia el botn de "Empezar" a un botn de "Siguiente" y cambiar su comportamiento. 
 	 */
 	public void empezar() {
-		//Actualiza el estado a "realizando ciclo" ya que se empieza a ejecutar el proceso evolutivo
-		controlador.setEstado(Estado.REALIZANDO_CICLO);
-		//Iniciamos la poblacin con los parmetros iniciales, incluido el punto de spawn del circuito
-		modelo.setPoblacionEntidades(setupPoblacion(), modelo.getCircuito().setSpawn());
-		/* Actualizamos la flag de parado para que la ventana pueda empezar a llamar a la funcin de
-		 * manipularProceso() cada frame
-		 */
-		controlador.setParado(false); 
+		synchronized(controlador.getCerrojoSimulacion()) {
+			//Actualiza el estado a "realizando ciclo" ya que se empieza a ejecutar el proceso evolutivo
+			controlador.setEstado(Estado.REALIZANDO_CICLO);
+			//Iniciamos la poblacin con los parmetros iniciales, incluido el punto de spawn del circuito
+			modelo.setPoblacionEntidades(setupPoblacion(), modelo.getCircuito().setSpawn());
+			//Guardamos el tiempo de vida en la cache para que pueda iniciar el proceso
+			controlador.setTiempoVidaCache(modelo.getPoblacion().getTiempoVida());
+			/* Actualizamos la flag de parado para que el hilo de la simulacin pueda empezar a
+			 * realizar ciclos del proceso evolutivo
+			 */
+			controlador.setParado(false); 
+		}
 		/* Cambiamos el texto del botn a "Siguiente", y le cambiamos el action listener por otro para
 		 * que se dispare un evento distinto cuando se interacte con l
 		 */
-		//Guardamos el tiempo de vida en la cache para que pueda iniciar el proceso
-		controlador.setTiempoVidaCache(modelo.getPoblacion().getTiempoVida());
 		PanelControl panelControl = vista.getPanelControl();
 		JButton btnProceder = panelControl.getBtnProceder();
 		btnProceder.setText("Siguiente");
@@ -81,13 +80,15 @@ public class ControladorEventos {
 	 * Actualiza la flag de parado a false para que pueda realizar el ciclo de vida de las entidades 
 	 */
 	public void continuar() {
-		//Actualiza el estado a "realizando ciclo" ya que se reanuda el proceso evolutivo
-		controlador.setEstado(Estado.REALIZANDO_CICLO);
-		controlador.setParado(false);
+		synchronized(controlador.getCerrojoSimulacion()) {
+			controlador.getVisualizador().limpiarEntidadMonitorizada();
+			controlador.getVisualizador().limpiarUltimaGeneracion();
+			//Actualiza el estado a "realizando ciclo" ya que se reanuda el proceso evolutivo
+			controlador.setEstado(Estado.REALIZANDO_CICLO);
+			controlador.setParado(false);
+		}
 		//Habilita el botn de pausa ya que ya no provocara que iniciase otro ciclo
 		vista.getPanelControl().getBtnPausar().setEnabled(true);
-		controlador.getVisualizador().limpiarEntidadMonitorizada();
-		controlador.getVisualizador().limpiarUltimaGeneracion();
 		//Desactiva el propio botn hasta que se pueda pasar a la siguiente generacin
 		vista.getPanelControl().getBtnProceder().setEnabled(false);
 	}
@@ -135,16 +136,19 @@ public class ControladorEventos {
 	 * del programa para poder iniciar de nuevo otra ejecucin de cero
 	 */
 	public void reiniciar() {
-		//Actualiza el estado a "en espera" ya que se ha dejado de ejecutar el proceso evolutivo
-		controlador.setEstado(Estado.EN_ESPERA);
-		//Impide que la ventana siga actualizando hasta que volvamos a empezar
-		controlador.setParado(true); 
-		Ventana ventana = vista.getVentana();
-		/* Hay que reiniciar el nmero de frames porque si no se produce un bug
-		 * en el que tras empezar de nuevo, empieza a contar desde el frame en el
-		 * que estaba al pausar el proceso antes de reiniciar, rompiendo el programa
-		 */
-		ventana.setNumFramesGen(0); 
+		synchronized(controlador.getCerrojoSimulacion()) {
+			//Actualiza el estado a "en espera" ya que se ha dejado de ejecutar el proceso evolutivo
+			controlador.setEstado(Estado.EN_ESPERA);
+			//Impide que la simulacin siga avanzando hasta que volvamos a empezar
+			controlador.setParado(true); 
+			/* Hay que reiniciar el nmero de ciclos porque si no se produce un bug
+			 * en el que tras empezar de nuevo, empieza a contar desde el ciclo en el
+			 * que estaba al pausar el proceso antes de reiniciar, rompiendo el programa
+			 */
+			controlador.setNumCiclosGen(0); 
+			//Reseteamos la informacin mostrada en el panel de control
+			reiniciarInfoPanel();
+		}
 		/* Dejamos activado slo el botn de empezar y el selector de circuitos, que
 		 * ahora no tendra problema para poder cargar otro distinto al haber empezado
 		 * otro proceso
@@ -161,8 +165,6 @@ public class ControladorEventos {
 		btnProceder.setText("Empezar");
 		btnProceder.removeActionListener(btnProceder.getActionListeners()[0]);
 		btnProceder.addActionListener((e) -> empezar());
-		//Reseteamos la informacin mostrada en el panel de control
-		reiniciarInfoPanel(panelControl);
 		panelControl.getBtnReiniciar().setEnabled(false);
 	}
 	
@@ -210,6 +212,25 @@ public class ControladorEventos {
 		vista.getPanelControl().getCbModoAutomatico().doClick();
 	}
 	
+	/**
+	 * Activa o desactiva segn se marque la checkbox el modo turbo. Si se activa, la
+	 * simulacin realiza en cada frame tantos ciclos como le d tiempo sin que la ventana
+	 * deje de ir fluida, y slo se dibuja cmo quedan las entidades al final de cada tanda.
+	 * Puede cambiarse en cualquier momento sin afectar al resultado del proceso evolutivo
+	 * @param e: evento que se desencadena cuando se marca o desmarca un JCheckBox
+	 */
+	public void cambiarModoTurbo(ActionEvent e) {
+		JCheckBox cbModoTurbo = (JCheckBox) e.getSource();
+		controlador.setModoTurbo(cbModoTurbo.isSelected());
+	}
+	
+	/**
+	 * Simula un click en el check box del modo turbo para activarlo o desactivarlo
+	 */
+	public void cambiarModoTurbo() {
+		vista.getPanelControl().getCbModoTurbo().doClick();
+	}
+	
 	/**
 	 * Cambia el circuito cargando el fichero correspondiente a la opcin que se ha 
 	 * seleccionado en el combo box y reestableciendo los parmetros necesarios en los
@@ -258,15 +279,19 @@ public class ControladorEventos {
 		 * ningn parmetro en ese caso, ya se encarga el botn "Empezar" de capturar los valores
 		 */
 		if(modelo.getPoblacion() != null) {
-			//Si poblacin ya est inicializada puede actualizarla sin problema
-			actualizarParam(param, valor);
+			//Si poblacin ya est inicializada puede actualizarla entre dos ciclos sin problema
+			synchronized(controlador.getCerrojoSimulacion()) {
+				actualizarParam(param, valor);
+			}
 		}
 	}
 	
 	/**
 	 * Determina si la posicion del ratn en el momento de haber activado un evento de
 	 * 'click' se encuentra en la 'hitbox' de alguna entidad y de ser as comienza a 
-	 * monitorizar esa entidad
+	 * monitorizar esa entidad. La bsqueda se hace sobre lo ltimo que se ha dibujado, as
+	 * que la ventana no tiene que esperar a que la simulacin termine un ciclo o evolucione,
+	 * y el cambio de entidad monitorizada lo aplica la simulacin entre dos ciclos
 	 * @param posRaton: punto en el que se ha hecho click con el ratn
 	 */
 	public void seleccionarEntidad(PVector posRaton) {
@@ -275,18 +300,9 @@ public class ControladorEventos {
 		if(poblacion == null) {
 			return;
 		}
-		/* Recorre todas las entidades desde la ltima posicin (la ms superpuesta al haber
-		 * sido la ltima en dibujarse en pantalla). Si alguna contiene en su hitbox la
-		 * posicin del ratn, sustituye la entidad monitorizada por ella y termina de buscar
-		 */
-		Entidad[] entidades = poblacion.getEntidades();
-		for(int i = entidades.length - 1; i >= 0; i--) {
-			if (entidades[i].contieneRaton(posRaton)) {
-				entidades[i].setMonitorizada(true);
-				vista.getPanelControl().getPanelDatosEntidad().setBackground(new Color(120, 33, 195));
-				poblacion.setEntidadMonitorizada(entidades[i]);
-				break;
-			}
+		int indice = controlador.getVisualizador().buscarEntidadVisible(posRaton);
+		if(indice >= 0) {
+			controlador.seleccionarEntidad(poblacion, indice);
 		}
 	}
 	
@@ -340,13 +356,8 @@ public class ControladorEventos {
 	 * anterior proceso a cero pero deja los parmetros editables sin alterar
 	 * por si quiere repetir un proceso igual que antes
 	 */
-	private void reiniciarInfoPanel(PanelControl panelControl) {
-		panelControl.setValor("TiempoRecord", 0);
-		panelControl.setValor("MejorAptitud", 0);
-		panelControl.setValor("Metas", 0);
-		panelControl.setValor("Colisiones", 0);
-		panelControl.setValor("Generacion", 0);
+	private void reiniciarInfoPanel() {
 		controlador.getVisualizador().limpiarEntidadMonitorizada();
-		controlador.getVisualizador().limpiarUltimaGeneracion();
+		controlador.getVisualizador().vaciarPanel();
 	}
 }
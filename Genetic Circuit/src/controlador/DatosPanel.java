@@ -0,0 +1,34 @@
+package controlador;
+
+/**
+ * Copia de los datos que muestra el panel de control en un momento de la simulacin. La crea
+ * el hilo de la simulacin con valores primitivos y la lee el hilo de eventos de Swing, que es
+ * el nico que toca los componentes, as que ninguno de los dos depende del otro.
+ * Un objeto nuevo sin rellenar representa el panel vaco, como al reiniciar el proceso
+ * @author Alberto Prez
+ */
+class DatosPanel {
+
+	int generacion;
+	/**
+	 * Datos de todas las generaciones
+	 */
+	int tiempoRecord, metas, colisiones;
+	double mejorAptitud;
+	/**
+	 * Datos de la generacin actual
+	 */
+	int tiempoRecordActual, metasActual, colisionesActual;
+	double mejorAptitudActual;
+	/**
+	 * Si hay una entidad monitorizada, y si se han copiado sus datos del frame actual. Cuando
+	 * no se copian, el panel conserva los del ltimo frame y slo actualiza su aptitud
+	 */
+	boolean hayEntidad, datosEntidad;
+	int indiceEntidad, tiempoEntidad;
+	float distanciaEntidad, distanciaMinEntidad;
+	float posX, posY, velX, velY, acelX, acelY;
+	double aptitudEntidad;
+	String estadoEntidad;
+
+}
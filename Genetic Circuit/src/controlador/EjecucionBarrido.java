@@ -0,0 +1,174 @@
+package controlador;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+
+import modelo.BarridoParametros;
+import modelo.circuito.ModoColision;
+import modelo.entidades.EstrategiaSeleccion;
+import modelo.entidades.OperadorCruce;
+import modelo.entidades.OperadorMutacion;
+
+/**
+ * Ejecuta desde la lnea de comandos un barrido de los parmetros de la poblacin que hasta
+ * ahora haba que probar uno a uno desde el panel de control. Cada parmetro recibe una lista
+ * de valores separados por comas, y se ejecutan todas sus combinaciones repartidas entre los
+ * ncleos. Los operadores genticos y la deteccin de colisiones tambin pueden barrerse con
+ * opciones nombre=valor al final de los argumentos. Los resultados se aaden al fichero indicado segn van terminando
+ * @author Alberto Prez
+ */
+public class EjecucionBarrido {
+
+	/**
+	 * Argumentos que espera el modo BARRIDO, tras el propio nombre del modo
+	 */
+	public static final String USO = "BARRIDO <fichero de resultados> <circuitos> <entidades> <tasas de mutacin %>"
+			+ " <tiempos de vida> <tiempos objetivo> <repeticiones> <mximo de generaciones> [semilla] [hilos]"
+			+ " [cruce=<cruces>] [mutacion=<mutaciones>] [seleccion=<estrategias>] [colision=<modos>]"
+			+ " [resolucion=<lados de las celdas del mapa en pxeles>]"
+			+ " (las listas de valores separados por comas, como 500,1000,2000 o unpunto,dospuntos)";
+
+	private final File fichero;
+	private final BarridoParametros barrido;
+	/**
+	 * Ejecuciones simultneas. Por defecto una por ncleo
+	 */
+	private final int numHilos;
+
+	/**
+	 * Lee los parmetros del barrido de los argumentos del programa
+	 * @param args: los argumentos que siguen al nombre del modo, en el orden que indica USO
+	 * @throws IllegalArgumentException si falta algn argumento, no es vlido o no se puede cargar algn circuito
+	 */
+	public EjecucionBarrido(String[] args) {
+		HashMap<String, String> opciones = new HashMap<String, String>();
+		args = EjecucionBatch.separarOpciones(args, opciones);
+		if(args.length < 8 || args.length > 10) {
+			throw new IllegalArgumentException("Nmero de argumentos incorrecto. Uso: " + USO);
+		}
+		fichero = new File(args[0]);
+		numHilos = args.length > 9 ? EjecucionBatch.leerNumero(args[9], "hilos", 1)
+				: Runtime.getRuntime().availableProcessors();
+		barrido = new BarridoParametros(args[1].split(","), leerLista(args[2], "entidades", 1),
+				leerLista(args[3], "tasa de mutacin", 0), leerLista(args[4], "tiempo de vida", 1),
+				leerLista(args[5], "tiempo objetivo", 1), EjecucionBatch.leerNumero(args[6], "repeticiones", 1),
+				args.length > 8 ? EjecucionBatch.leerNumero(args[8], "semilla", Integer.MIN_VALUE) : 0,
+				EjecucionBatch.leerNumero(args[7], "mximo de generaciones", 1), leerOperadores(opciones, "cruce"),
+				leerOperadores(opciones, "mutacion"), leerOperadores(opciones, "seleccion"),
+				leerModosColision(opciones), leerResoluciones(opciones));
+	}
+
+	/**
+	 * @return los modos de colisin de la opcin, o null si no se ha indicado
+	 */
+	private static ModoColision[] leerModosColision(HashMap<String, String> opciones) {
+		if(!opciones.containsKey("colision")) {
+			return null;
+		}
+		String[] nombres = opciones.get("colision").split(",");
+		ModoColision[] modos = new ModoColision[nombres.length];
+		for(int i=0; i < nombres.length; i++) {
+			modos[i] = ModoColision.crear(nombres[i].trim());
+		}
+		return modos;
+	}
+
+	/**
+	 * @return las resoluciones del mapa de ocupacin de la opcin, o null si no se ha indicado
+	 */
+	private static float[] leerResoluciones(HashMap<String, String> opciones) {
+		if(!opciones.containsKey("resolucion")) {
+			return null;
+		}
+		String[] valores = opciones.get("resolucion").split(",");
+		float[] resoluciones = new float[valores.length];
+		for(int i=0; i < valores.length; i++) {
+			resoluciones[i] = EjecucionBatch.leerDecimal(valores[i].trim(), "resolucion");
+		}
+		return resoluciones;
+	}
+
+	/**
+	 * Separa la lista de nombres de una de las opciones de operadores genticos, comprobando
+	 * que existan todos antes de empezar el barrido
+	 * @return los nombres, o null si no se ha indicado la opcin
+	 */
+	private static String[] leerOperadores(HashMap<String, String> opciones, String opcion) {
+		if(!opciones.containsKey(opcion)) {
+			return null;
+		}
+		String[] nombres = opciones.get(opcion).split(",");
+		for(int i=0; i < nombres.length; i++) {
+			nombres[i] = nombres[i].trim();
+			if(opcion.equals("cruce")) {
+				OperadorCruce.crear(nombres[i]);
+			} else if(opcion.equals("mutacion")) {
+				OperadorMutacion.crear(nombres[i]);
+			} else {
+				EstrategiaSeleccion.crear(nombres[i]);
+			}
+		}
+		return nombres;
+	}
+
+	/**
+	 * Convierte una lista de nmeros separados por comas comprobando cada uno de ellos
+	 */
+	private static int[] leerLista(String valor, String nombre, int minimo) {
+		String[] valores = valor.split(",");
+		int[] numeros = new int[valores.length];
+		for(int i=0; i < valores.length; i++) {
+			numeros[i] = EjecucionBatch.leerNumero(valores[i].trim(), nombre, minimo);
+		}
+		return numeros;
+	}
+
+	/**
+	 * Realiza el barrido completo. Si el fichero ya existe se aaden los resultados al final,
+	 * para no perder los de un barrido anterior, siempre que tenga las mismas columnas
+	 * @throws IOException si no se puede escribir en el fichero o ya existe con otras columnas
+	 * @throws InterruptedException si se interrumpe mientras espera a las ejecuciones
+	 */
+	public void ejecutar() throws IOException, InterruptedException {
+		boolean ficheroNuevo = fichero.length() == 0;
+		if(!ficheroNuevo) {
+			comprobarCabecera();
+		}
+		try (PrintWriter salida = new PrintWriter(new FileWriter(fichero, true))) {
+			if(ficheroNuevo) {
+				salida.println(BarridoParametros.CABECERA);
+			}
+			System.out.println("barrido;" + barrido.getNumEjecuciones() + " ejecuciones;" + numHilos + " hilos;"
+					+ fichero.getAbsolutePath());
+			long inicio = System.nanoTime();
+			barrido.ejecutar(numHilos, salida, System.out);
+			//PrintWriter no lanza excepciones al escribir, as que se comprueba al terminar
+			if(salida.checkError()) {
+				throw new IOException("No se han podido escribir los resultados en " + fichero);
+			}
+			System.out.printf("barrido terminado;segundos=%.1f%n", (System.nanoTime() - inicio) / 1e9);
+		}
+	}
+
+	/**
+	 * Comprueba que un fichero de resultados existente empiece por la cabecera actual, para no
+	 * aadir lneas con otras columnas a las de un barrido de una versin anterior
+	 * @throws IOException si no se puede leer o su cabecera es distinta
+	 */
+	private void comprobarCabecera() throws IOException {
+		try (BufferedReader entrada = new BufferedReader(new FileReader(fichero))) {
+			String cabecera = entrada.readLine();
+			if(!BarridoParametros.CABECERA.equals(cabecera)) {
+				throw new IOException("El fichero " + fichero + " tiene otras columnas que las de este barrido."
+						+ " Indique otro fichero para no mezclar los resultados. Columnas esperadas: "
+						+ BarridoParametros.CABECERA);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import modelo.EstadisticasGeneracion;
+import modelo.Modelo;
+import modelo.Simulacion;
+import modelo.circuito.ModoColision;
+import modelo.entidades.EstrategiaSeleccion;
+import modelo.entidades.OperadorCruce;
+import modelo.entidades.OperadorMutacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Ejecuta el proceso evolutivo desde la lnea de comandos sin iniciar la ventana grfica ni
+ * el panel de control, de forma que se puede lanzar en servidores sin pantalla. Realiza
+ * generaciones hasta cumplir el objetivo o llegar al lmite indicado, y muestra por la salida
+ * estndar una lnea separada por ";" con los tiempos y la aptitud de cada generacin,
+ * seguida de una lnea con el resultado final y otra por cada fase con el tiempo y la
+ * memoria que se le ha dedicado. Los operadores genticos y la deteccin de colisiones se
+ * pueden escoger con opciones con el formato nombre=valor al final de los argumentos
+ * @author Alberto Prez
+ */
+public class EjecucionBatch {
+
+	/**
+	 * Argumentos que espera el modo BATCH, tras el propio nombre del modo
+	 */
+	public static final String USO = "BATCH <circuito> <entidades> <tasa de mutacin %> <tiempo de vida>"
+			+ " <tiempo objetivo> <semilla> <mximo de generaciones> [hilos]"
+			+ " [cruce=uniforme|unpunto|dospuntos] [mutacion=aleatoria|gaussiana] [seleccion=ruleta|torneo|sus|rango]"
+			+ " [colision=geometrico|mapa|refinado] [resolucion=<lado de las celdas del mapa en pxeles>]";
+
+	/**
+	 * Opciones que pueden seguir a los argumentos de los modos BATCH y BARRIDO, con el formato
+	 * nombre=valor y en cualquier orden
+	 */
+	static final String[] OPCIONES = {"cruce", "mutacion", "seleccion", "colision", "resolucion"};
+
+	private final String nombreCircuito;
+	private final int numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, semilla, maxGeneraciones;
+	/**
+	 * Hilos en los que se reparte cada generacin. Por defecto se utiliza el pool comn
+	 */
+	private final int numHilos;
+	/**
+	 * Operadores genticos indicados en las opciones, o null para utilizar los de por defecto
+	 */
+	private final OperadorCruce operadorCruce;
+	private final OperadorMutacion operadorMutacion;
+	private final EstrategiaSeleccion estrategiaSeleccion;
+	/**
+	 * Forma de detectar las colisiones y resolucin del mapa de ocupacin, si la utiliza
+	 */
+	private final ModoColision modoColision;
+	private final float resolucionMapa;
+
+	/**
+	 * Lee los parmetros de la ejecucin de los argumentos del programa
+	 * @param args: los argumentos que siguen al nombre del modo, en el orden que indica USO
+	 * @throws IllegalArgumentException si falta algn argumento, no es un nmero vlido o
+	 * alguna opcin no existe
+	 */
+	public EjecucionBatch(String[] args) {
+		HashMap<String, String> opciones = new HashMap<String, String>();
+		args = separarOpciones(args, opciones);
+		if(args.length < 7 || args.length > 8) {
+			throw new IllegalArgumentException("Nmero de argumentos incorrecto. Uso: " + USO);
+		}
+		nombreCircuito = args[0];
+		numEntidades = leerNumero(args[1], "entidades", 1);
+		tasaMutacion = leerNumero(args[2], "tasa de mutacin", 0);
+		tiempoVida = leerNumero(args[3], "tiempo de vida", 1);
+		tiempoObjetivo = leerNumero(args[4], "tiempo objetivo", 1);
+		semilla = leerNumero(args[5], "semilla", Integer.MIN_VALUE);
+		maxGeneraciones = leerNumero(args[6], "mximo de generaciones", 1);
+		numHilos = args.length > 7 ? leerNumero(args[7], "hilos", 1) : 0;
+		operadorCruce = opciones.containsKey("cruce") ? OperadorCruce.crear(opciones.get("cruce")) : null;
+		operadorMutacion = opciones.containsKey("mutacion") ? OperadorMutacion.crear(opciones.get("mutacion")) : null;
+		estrategiaSeleccion = opciones.containsKey("seleccion") ? EstrategiaSeleccion.crear(opciones.get("seleccion")) : null;
+		modoColision = opciones.containsKey("colision") ? ModoColision.crear(opciones.get("colision"))
+				: ModoColision.GEOMETRICO;
+		resolucionMapa = opciones.containsKey("resolucion") ? leerDecimal(opciones.get("resolucion"), "resolucion")
+				: Modelo.RESOLUCION_MAPA_DEFECTO;
+	}
+
+	/**
+	 * Separa de los argumentos las opciones con el formato nombre=valor que van al final
+	 * @param args: los argumentos que siguen al nombre del modo
+	 * @param opciones: donde se guarda el valor de cada opcin que se encuentra
+	 * @return los argumentos que no son opciones, en el mismo orden
+	 * @throws IllegalArgumentException si alguna opcin no existe o est repetida
+	 */
+	static String[] separarOpciones(String[] args, HashMap<String, String> opciones) {
+		int numArgumentos = args.length;
+		while(numArgumentos > 0 && args[numArgumentos - 1].contains("=")) {
+			numArgumentos--;
+		}
+		for(int i=numArgumentos; i < args.length; i++) {
+			int separador = args[i].indexOf('=');
+			String nombre = args[i].substring(0, separador);
+			if(!Arrays.asList(OPCIONES).contains(nombre)) {
+				throw new IllegalArgumentException("Opcin desconocida: " + nombre + ". Las opciones son "
+						+ String.join(", ", OPCIONES));
+			}
+			if(opciones.put(nombre, args[i].substring(separador + 1)) != null) {
+				throw new IllegalArgumentException("La opcin " + nombre + " est repetida");
+			}
+		}
+		return Arrays.copyOf(args, numArgumentos);
+	}
+
+	/**
+	 * Convierte un argumento en nmero comprobando que no sea menor que el mnimo permitido
+	 * @param valor: texto del argumento
+	 * @param nombre: nombre del parmetro para el mensaje de error
+	 * @param minimo: valor mnimo que puede tener
+	 * @return el nmero ledo
+	 */
+	static int leerNumero(String valor, String nombre, int minimo) {
+		int numero;
+		try {
+			numero = Integer.parseInt(valor);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " debe ser un nmero entero: " + valor);
+		}
+		if(numero < minimo) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " no puede ser menor que " + minimo + ": " + valor);
+		}
+		return numero;
+	}
+
+	/**
+	 * Convierte un argumento en nmero decimal comprobando que sea mayor que 0
+	 * @param valor: texto del argumento
+	 * @param nombre: nombre del parmetro para el mensaje de error
+	 * @return el nmero ledo
+	 */
+	static float leerDecimal(String valor, String nombre) {
+		float numero;
+		try {
+			numero = Float.parseFloat(valor);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " debe ser un nmero: " + valor);
+		}
+		//Tambin descarta NaN, que no es mayor que nada
+		if(!(numero > 0) || Float.isInfinite(numero)) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " debe ser mayor que 0: " + valor);
+		}
+		return numero;
+	}
+
+	/**
+	 * Ejecuta la simulacin mostrando los datos de cada generacin en cuanto termina
+	 * @return si se ha cumplido el objetivo antes de alcanzar el lmite de generaciones
+	 */
+	public boolean ejecutar() {
+		Simulacion simulacion = new Simulacion(nombreCircuito,
+				Simulacion.crearParametros(numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, semilla));
+		if(numHilos > 0) {
+			simulacion.setNumHilos(numHilos);
+		}
+		if(operadorCruce != null) {
+			simulacion.setOperadorCruce(operadorCruce);
+		}
+		if(operadorMutacion != null) {
+			simulacion.setOperadorMutacion(operadorMutacion);
+		}
+		if(estrategiaSeleccion != null) {
+			simulacion.setEstrategiaSeleccion(estrategiaSeleccion);
+		}
+		simulacion.setModoColision(modoColision, resolucionMapa);
+		System.out.println("generacion;ms ciclos;ms evolucion;entidades/s;llegadas;colisiones;"
+				+ "mejor aptitud;tiempo record;mejor tiempo");
+		long inicio = System.nanoTime();
+		int numGeneraciones = 0;
+		while(numGeneraciones < maxGeneraciones && !simulacion.isObjetivoCumplido()) {
+			EstadisticasGeneracion estadisticas = simulacion.ejecutarGeneracion();
+			numGeneraciones++;
+			System.out.printf("%d;%.3f;%.3f;%.0f;%d;%d;%.6e;%d;%d%n", estadisticas.getGeneracion(),
+					estadisticas.getNanosCiclos() / 1e6, estadisticas.getNanosEvolucion() / 1e6,
+					estadisticas.getEvaluacionesPorSegundo(), estadisticas.getNumLlegadas(),
+					estadisticas.getNumColisiones(), estadisticas.getMejorAptitudActual(),
+					estadisticas.getTiempoRecordActual(), estadisticas.getMejorTiempo());
+		}
+		boolean objetivoCumplido = simulacion.isObjetivoCumplido();
+		Poblacion poblacion = simulacion.getPoblacion();
+		System.out.printf("resultado;%s;generaciones=%d;mejor tiempo=%d;semilla=%d;cruce=%s;mutacion=%s;"
+				+ "seleccion=%s;colision=%s;resolucion=%s;segundos=%.3f%n",
+				objetivoCumplido ? "objetivo cumplido" : "objetivo no cumplido", numGeneraciones,
+				poblacion.getMejorTiempo(), semilla, poblacion.getOperadorCruce().getNombre(),
+				poblacion.getOperadorMutacion().getNombre(), poblacion.getEstrategiaSeleccion().getNombre(),
+				modoColision.getNombre(), resolucionMapa, (System.nanoTime() - inicio) / 1e9);
+		System.out.print(poblacion.getMedidorFases().getResumen());
+		return objetivoCumplido;
+	}
+
+}
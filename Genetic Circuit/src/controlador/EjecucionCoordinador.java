@@ -0,0 +1,79 @@
+package controlador;
+
+import java.io.IOException;
+
+import modelo.islas.CoordinadorIslas;
+import modelo.islas.ResultadoArchipielago;
+import modelo.islas.TopologiaMigracion;
+
+/**
+ * Ejecuta desde la lnea de comandos el coordinador de un modelo de islas repartido en varios
+ * procesos. Cada isla se lanza aparte con el modo ISLA indicando el puerto del coordinador,
+ * y al terminar se muestra una lnea separada por ";" con el resultado
+ * @author Alberto Prez
+ */
+public class EjecucionCoordinador {
+
+	/**
+	 * Argumentos que espera el modo COORDINADOR, tras el propio nombre del modo
+	 */
+	public static final String USO = "COORDINADOR <puerto> <islas> <circuito> <entidades por isla>"
+			+ " <tasa de mutacin %> <tiempo de vida> <tiempo objetivo> <semilla> <mximo de generaciones>"
+			+ " [anillo|todas|aleatoria] [generaciones entre migraciones] [migrantes]";
+
+	/**
+	 * Milisegundos que espera a que se conecte cada isla antes de empezar con las que haya
+	 */
+	private static final int ESPERA_CONEXIONES = 30000;
+
+	private final CoordinadorIslas coordinador;
+	private final int semilla;
+
+	/**
+	 * Lee los parmetros de los argumentos del programa y abre el puerto del coordinador
+	 * @param args: los argumentos que siguen al nombre del modo, en el orden que indica USO
+	 * @throws IllegalArgumentException si falta algn argumento o no es vlido
+	 * @throws IOException si no se puede abrir el puerto
+	 */
+	public EjecucionCoordinador(String[] args) throws IOException {
+		if(args.length < 9 || args.length > 12) {
+			throw new IllegalArgumentException("Nmero de argumentos incorrecto. Uso: " + USO);
+		}
+		TopologiaMigracion topologia = TopologiaMigracion.ANILLO;
+		if(args.length > 9) {
+			try {
+				topologia = TopologiaMigracion.valueOf(args[9].toUpperCase());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Topologa de migracin desconocida: " + args[9]);
+			}
+		}
+		semilla = EjecucionBatch.leerNumero(args[7], "semilla", Integer.MIN_VALUE);
+		coordinador = new CoordinadorIslas(EjecucionBatch.leerNumero(args[0], "puerto", 0),
+				EjecucionBatch.leerNumero(args[1], "islas", 1), args[2],
+				EjecucionBatch.leerNumero(args[3], "entidades", 1),
+				EjecucionBatch.leerNumero(args[4], "tasa de mutacin", 0),
+				EjecucionBatch.leerNumero(args[5], "tiempo de vida", 1),
+				EjecucionBatch.leerNumero(args[6], "tiempo objetivo", 1), semilla,
+				EjecucionBatch.leerNumero(args[8], "mximo de generaciones", 1), topologia,
+				args.length > 10 ? EjecucionBatch.leerNumero(args[10], "generaciones entre migraciones", 1) : 5,
+				args.length > 11 ? EjecucionBatch.leerNumero(args[11], "migrantes", 0) : 5);
+	}
+
+	/**
+	 * Espera a las islas, coordina la ejecucin y muestra el resultado
+	 * @return si alguna isla ha cumplido el objetivo
+	 * @throws IOException si no se conecta ninguna isla
+	 * @throws InterruptedException si se interrumpe mientras espera a las islas
+	 */
+	public boolean ejecutar() throws IOException, InterruptedException {
+		System.out.println("coordinador;puerto=" + coordinador.getPuerto());
+		ResultadoArchipielago resultado = coordinador.ejecutar(ESPERA_CONEXIONES);
+		System.out.printf("resultado;%s;isla=%d;generaciones=%d;mejor tiempo=%d;semilla=%d;islas=%d;caidas=%d;"
+				+ "migrantes=%d;segundos=%.3f%n", resultado.isObjetivoCumplido() ? "objetivo cumplido"
+						: "objetivo no cumplido", resultado.getIslaGanadora(), resultado.getNumGeneraciones(),
+				resultado.getMejorTiempo(), semilla, coordinador.getNumIslasConectadas(),
+				coordinador.getNumIslasCaidas(), resultado.getNumMigrantes(), resultado.getNanos() / 1e9);
+		return resultado.isObjetivoCumplido();
+	}
+
+}
@@ -0,0 +1,73 @@
+package controlador;
+
+import modelo.Simulacion;
+import modelo.islas.Archipielago;
+import modelo.islas.ResultadoArchipielago;
+import modelo.islas.TopologiaMigracion;
+
+/**
+ * Ejecuta desde la lnea de comandos el modelo de islas en un solo proceso, con cada isla en
+ * su propio hilo, y al terminar muestra una lnea separada por ";" con el resultado, igual que
+ * el coordinador del modelo repartido en varios procesos
+ * @author Alberto Prez
+ */
+public class EjecucionIslas {
+
+	/**
+	 * Argumentos que espera el modo ISLAS, tras el propio nombre del modo
+	 */
+	public static final String USO = "ISLAS <islas> <circuito> <entidades por isla> <tasa de mutacin %>"
+			+ " <tiempo de vida> <tiempo objetivo> <semilla> <mximo de generaciones>"
+			+ " [anillo|todas|aleatoria] [generaciones entre migraciones] [migrantes]";
+
+	private final Archipielago archipielago;
+	private final int numIslas, semilla, maxGeneraciones;
+	private final TopologiaMigracion topologia;
+
+	/**
+	 * Lee los parmetros de los argumentos del programa y crea las islas
+	 * @param args: los argumentos que siguen al nombre del modo, en el orden que indica USO
+	 * @throws IllegalArgumentException si falta algn argumento, no es vlido o no se puede cargar el circuito
+	 */
+	public EjecucionIslas(String[] args) {
+		if(args.length < 8 || args.length > 11) {
+			throw new IllegalArgumentException("Nmero de argumentos incorrecto. Uso: " + USO);
+		}
+		TopologiaMigracion topologia = TopologiaMigracion.ANILLO;
+		if(args.length > 8) {
+			try {
+				topologia = TopologiaMigracion.valueOf(args[8].toUpperCase());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Topologa de migracin desconocida: " + args[8]);
+			}
+		}
+		this.topologia = topologia;
+		numIslas = EjecucionBatch.leerNumero(args[0], "islas", 1);
+		semilla = EjecucionBatch.leerNumero(args[6], "semilla", Integer.MIN_VALUE);
+		maxGeneraciones = EjecucionBatch.leerNumero(args[7], "mximo de generaciones", 1);
+		archipielago = new Archipielago(args[1], numIslas, Simulacion.crearParametros(
+				EjecucionBatch.leerNumero(args[2], "entidades", 1),
+				EjecucionBatch.leerNumero(args[3], "tasa de mutacin", 0),
+				EjecucionBatch.leerNumero(args[4], "tiempo de vida", 1),
+				EjecucionBatch.leerNumero(args[5], "tiempo objetivo", 1), semilla), topologia,
+				args.length > 9 ? EjecucionBatch.leerNumero(args[9], "generaciones entre migraciones", 1) : 5,
+				args.length > 10 ? EjecucionBatch.leerNumero(args[10], "migrantes", 0) : 5);
+	}
+
+	/**
+	 * Ejecuta las islas hasta que alguna cumpla el objetivo o agoten sus generaciones, y
+	 * muestra el resultado
+	 * @return si alguna isla ha cumplido el objetivo
+	 * @throws InterruptedException si se interrumpe mientras espera a las islas
+	 */
+	public boolean ejecutar() throws InterruptedException {
+		ResultadoArchipielago resultado = archipielago.ejecutar(maxGeneraciones);
+		System.out.printf("resultado;%s;isla=%d;generaciones=%d;mejor tiempo=%d;semilla=%d;islas=%d;topologia=%s;"
+				+ "migrantes=%d;segundos=%.3f%n", resultado.isObjetivoCumplido() ? "objetivo cumplido"
+						: "objetivo no cumplido", resultado.getIslaGanadora(), resultado.getNumGeneraciones(),
+				resultado.getMejorTiempo(), semilla, numIslas, topologia.name().toLowerCase(),
+				resultado.getNumMigrantes(), resultado.getNanos() / 1e9);
+		return resultado.isObjetivoCumplido();
+	}
+
+}
@@ -0,0 +1,83 @@
+package controlador;
+
+import modelo.entidades.Entidad;
+import modelo.entidades.EstadoEntidades;
+import modelo.entidades.Poblacion;
+import processing.core.PVector;
+
+/**
+ * Copia de la posicin y velocidad de las entidades visibles (las que no han chocado) en un
+ * ciclo de la simulacin, que es lo que necesita la ventana grfica para dibujarlas. Las
+ * entidades se guardan compactadas al principio de los arrays, que slo crecen cuando la
+ * poblacin tiene ms entidades que las que caben, para poder reutilizarlas en cada ciclo
+ * @author Alberto
+ */
+class InstantaneaEntidades {
+
+	/**
+	 * Poblacin de la que se ha copiado, para no dibujar los restos de una poblacin anterior
+	 * despus de reiniciar el proceso. Es null mientras no se haya copiado ninguna
+	 */
+	Poblacion poblacion;
+	int numVisibles;
+	float[] posX = new float[0], posY = new float[0], velX = new float[0], velY = new float[0];
+	/**
+	 * ndice en la poblacin de cada entidad visible
+	 */
+	int[] indices = new int[0];
+	/**
+	 * Posicin en los arrays de la entidad monitorizada, o -1 si no hay o ya ha chocado
+	 */
+	int visibleMonitorizada;
+
+	/**
+	 * Sobrescribe la instantnea con el estado actual de la poblacin
+	 * @param poblacion: poblacin de la que se copian las entidades
+	 */
+	void copiar(Poblacion poblacion) {
+		this.poblacion = poblacion;
+		EstadoEntidades estado = poblacion.getEstadoEntidades();
+		int numEntidades = poblacion.getEntidades().length;
+		if(posX.length < numEntidades) {
+			posX = new float[numEntidades];
+			posY = new float[numEntidades];
+			velX = new float[numEntidades];
+			velY = new float[numEntidades];
+			indices = new int[numEntidades];
+		}
+		Entidad monitorizada = poblacion.getEntidadMonitorizada();
+		int indiceMonitorizada = monitorizada != null ? monitorizada.getIndice() : -1;
+		visibleMonitorizada = -1;
+		int n = 0;
+		for(int i=0; i < numEntidades; i++) {
+			if(!estado.isChocada(i)) {
+				if(i == indiceMonitorizada) {
+					visibleMonitorizada = n;
+				}
+				posX[n] = estado.getPosX(i);
+				posY[n] = estado.getPosY(i);
+				velX[n] = estado.getVelX(i);
+				velY[n] = estado.getVelY(i);
+				indices[n] = i;
+				n++;
+			}
+		}
+		numVisibles = n;
+	}
+
+	/**
+	 * Busca la entidad visible sobre la que se ha hecho click. Recorre las entidades desde la
+	 * ltima (la ms superpuesta al haber sido la ltima en dibujarse en pantalla)
+	 * @param posRaton: punto en el que se ha hecho click con el ratn
+	 * @return el ndice en la poblacin de la entidad cuya hitbox contiene el punto, o -1 si ninguna
+	 */
+	int buscarEntidad(PVector posRaton) {
+		for(int i = numVisibles - 1; i >= 0; i--) {
+			if(Entidad.hitboxContiene(posX[i], posY[i], velX[i], velY[i], posRaton)) {
+				return indices[i];
+			}
+		}
+		return -1;
+	}
+
+}
@@ -1,5 +1,9 @@
 package controlador;
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.util.Arrays;
+
+import modelo.islas.IslaRemota;
 
 /**
  * Clase principal que inicia el programa
@@ -13,11 +17,16 @@ public class Main {
 	 * @param args
 	 */
 	public static void main(String[] args) {
+		//Obtiene el modo de ejecucin del controlador a partir de los argumentos de main
+		String modoEjecucion = determinarModoEjecucion(args);
+		//Los modos sin interfaz no pasan por la cola de eventos de Swing
+		if(!modoEjecucion.equals("NORMAL") && !modoEjecucion.equals("EDITOR")) {
+			ejecutarSinInterfaz(modoEjecucion, Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
 		//Introduce todo el flujo de ejecucin en la cola de eventos para la interfaz de Swing
 		EventQueue.invokeLater(new Runnable() {
 			public void run() {
-				//Obtiene el modo de ejecucin del controlador a partir de los argumentos de main
-				String modoEjecucion = determinarModoEjecucion(args);
 				//Inicia el controlador del programa en el modo indicado
 				Controlador controlador = new Controlador(modoEjecucion);
 				try {
@@ -27,24 +36,80 @@ public class Main {
 					e.printStackTrace();
 				}
 			}
-			/**
-			 * Si recibe como primer argumento "EDITOR", iniciar el programa en modo editor 
-			 * de circuitos. En caso contrario, lo har en modo normal y seguir su flujo
-			 * de ejecucin estndar.
-			 * @param args los argumentos que recibe el programa
-			 */
-			private String determinarModoEjecucion(String[] args) {
-				String modoEjecucion = "";
-				//Si tienea al menos un argumento y es "EDITOR", ese ser el modo
-				if (args.length > 0 && args[0].equals("EDITOR")) {
-					modoEjecucion = "EDITOR";
-				} else {
-					//Para cualquier otro caso el modo el "NORMAL"
-					modoEjecucion = "NORMAL";
-				}
-				return modoEjecucion;
-			}
 		});
 	}
+	
+	/**
+	 * Si recibe como primer argumento "EDITOR", iniciar el programa en modo editor 
+	 * de circuitos, y si recibe "BATCH", ejecutar la simulacin por lnea de comandos.
+	 * Con "BARRIDO" ejecutar por lnea de comandos todas las combinaciones de parmetros indicadas.
+	 * Con "ISLAS" ejecutar el modelo de islas en un solo proceso, con una isla por hilo, y con
+	 * "COORDINADOR" o "ISLA" lo ejecutar repartido en varios procesos.
+	 * En caso contrario, lo har en modo normal y seguir su flujo de ejecucin estndar.
+	 * @param args los argumentos que recibe el programa
+	 */
+	private static String determinarModoEjecucion(String[] args) {
+		String modoEjecucion = "";
+		//Si tienea al menos un argumento y es uno de los modos conocidos, ese ser el modo
+		if (args.length > 0 && args[0].equals("EDITOR")) {
+			modoEjecucion = "EDITOR";
+		} else if (args.length > 0 && args[0].equals("BATCH")) {
+			modoEjecucion = "BATCH";
+		} else if (args.length > 0 && args[0].equals("BARRIDO")) {
+			modoEjecucion = "BARRIDO";
+		} else if (args.length > 0 && args[0].equals("ISLAS")) {
+			modoEjecucion = "ISLAS";
+		} else if (args.length > 0 && args[0].equals("COORDINADOR")) {
+			modoEjecucion = "COORDINADOR";
+		} else if (args.length > 0 && args[0].equals("ISLA")) {
+			modoEjecucion = "ISLA";
+		} else {
+			//Para cualquier otro caso el modo el "NORMAL"
+			modoEjecucion = "NORMAL";
+		}
+		return modoEjecucion;
+	}
+	
+	/**
+	 * Ejecuta un modo sin interfaz con los parmetros que siguen al modo. Si no son vlidos,
+	 * no se puede cargar el circuito o falla la conexin, muestra el error y termina con cdigo 1
+	 * @param modoEjecucion BATCH, BARRIDO, ISLAS, COORDINADOR o ISLA
+	 * @param args los argumentos del programa sin el nombre del modo
+	 */
+	private static void ejecutarSinInterfaz(String modoEjecucion, String[] args) {
+		//Cualquier intento de utilizar la pantalla fallara en vez de esperar a un servidor grfico
+		System.setProperty("java.awt.headless", "true");
+		try {
+			if(modoEjecucion.equals("BATCH")) {
+				new EjecucionBatch(args).ejecutar();
+			} else if(modoEjecucion.equals("BARRIDO")) {
+				new EjecucionBarrido(args).ejecutar();
+			} else if(modoEjecucion.equals("ISLAS")) {
+				new EjecucionIslas(args).ejecutar();
+			} else if(modoEjecucion.equals("COORDINADOR")) {
+				new EjecucionCoordinador(args).ejecutar();
+			} else {
+				ejecutarIsla(args);
+			}
+		} catch (IllegalArgumentException | IOException | InterruptedException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Conecta una isla con el coordinador, que le enviar su configuracin, y muestra su resultado
+	 * @param args la direccin y el puerto del coordinador
+	 */
+	private static void ejecutarIsla(String[] args) throws IOException {
+		if(args.length != 2) {
+			throw new IllegalArgumentException("Nmero de argumentos incorrecto. Uso: ISLA <host> <puerto>");
+		}
+		IslaRemota isla = new IslaRemota(args[0], EjecucionBatch.leerNumero(args[1], "puerto", 1));
+		boolean objetivoCumplido = isla.ejecutar();
+		System.out.printf("isla;%d;%s;generaciones=%d;mejor tiempo=%d%n", isla.getIdIsla(),
+				objetivoCumplido ? "objetivo cumplido" : "objetivo no cumplido", isla.getNumGeneraciones(),
+				isla.getMejorTiempo());
+	}
 
 }
@@ -1,9 +1,17 @@
 package controlador;
 
 import java.awt.Color;
+import java.text.DecimalFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.Timer;
 
 import modelo.Modelo;
 import modelo.entidades.Entidad;
+import modelo.entidades.EstadoEntidades;
+import modelo.entidades.Poblacion;
+import processing.core.PVector;
+import vista.PanelControl;
 import vista.Vista;
 
 /**
@@ -13,17 +21,47 @@ import vista.Vista;
  */
 public class Visualizador {
 	
+	/**
+	 * Milisegundos entre cada actualizacin del panel de control, que se limita a 10 por
+	 * segundo: ms a menudo no se llega a leer y slo cuesta repintar las etiquetas
+	 */
+	private static final int INTERVALO_PANEL = 100;
+	/**
+	 * Colores de fondo de los datos de la entidad segn haya una monitorizada o no
+	 */
+	private static final Color COLOR_MONITORIZADA = new Color(120, 33, 195), COLOR_SIN_MONITORIZAR = new Color(99, 9, 177);
+	
 	private Vista vista;
 	private Modelo modelo;
+	/**
+	 * ltimos datos publicados por la simulacin que an no se han mostrado en el panel.
+	 * Si se publican varios entre dos actualizaciones, slo se muestra el ltimo
+	 */
+	private final AtomicReference<DatosPanel> datosPendientes = new AtomicReference<DatosPanel>();
+	/**
+	 * Formato de las aptitudes en notacin cientfica. Slo se usa en el hilo de eventos de
+	 * Swing, as que puede reutilizarse aunque DecimalFormat no sea seguro entre hilos
+	 */
+	private final DecimalFormat formatoAptitud = new DecimalFormat("0.0##E0");
+	/**
+	 * Generacin cuyos datos actuales se muestran vacos hasta que se evale, o -1 si ninguna
+	 */
+	private volatile int generacionSinDatos = -1;
+	/**
+	 * Instantneas de las entidades que publica la simulacin y dibuja la ventana grfica
+	 */
+	private final BufferInstantaneas instantaneas = new BufferInstantaneas();
 
 	/**
-	 * Crea el visualizador dndole acceso al modelo y a la vista
+	 * Crea el visualizador dndole acceso al modelo y a la vista, y empieza a actualizar
+	 * peridicamente el panel de control con los datos que vaya publicando la simulacin
 	 * @param modelo de donde obtiene los datos
 	 * @param vista donde muestra los datos
 	 */
 	public Visualizador(Vista vista, Modelo modelo) {
 		this.vista = vista;
 		this.modelo = modelo;
+		new Timer(INTERVALO_PANEL, (e) -> mostrarDatosPendientes()).start();
 	}
 	
 	/**
@@ -31,64 +69,187 @@ public class Visualizador {
 	 * @param entidad que se debe mostrar
 	 */
 	public void mostrarEntidad(Entidad entidad) {
-		vista.getVentana().drawEntidad(entidad.getPosicion(), entidad.getVelocidad(), entidad.isMonitorizada());
+		PVector posicion = entidad.getPosicion();
+		PVector velocidad = entidad.getVelocidad();
+		vista.getVentana().drawEntidad(posicion.x, posicion.y, velocidad.x, velocidad.y, entidad.isMonitorizada());
 	}
 	
 	/**
-	 * Muestra en pantalla slo aquellas entidades que no hayan chocado. Se llama cuando
-	 * se pausa la ejecucin para que las entidades permanezcan dibujadas y no desaparezcan
-	 * hasta reanudar.
+	 * Copia las entidades que no han chocado y las publica para que las dibuje la ventana
+	 * grfica. Se llama desde el hilo de la simulacin despus de cada ciclo, y es el nico
+	 * que puede hacerlo
+	 */
+	void publicarInstantanea() {
+		InstantaneaEntidades instantanea = instantaneas.getEscritura();
+		instantanea.copiar(modelo.getPoblacion());
+		instantaneas.publicar();
+	}
+	
+	/**
+	 * Muestra en pantalla slo aquellas entidades que no hayan chocado segn la ltima
+	 * instantnea publicada por la simulacin. Se llama en cada frame desde la ventana, tambin
+	 * mientras se pausa la ejecucin para que las entidades permanezcan dibujadas y no
+	 * desaparezcan hasta reanudar. Nunca espera a la simulacin, aunque est evolucionando
 	 */
 	public void mostrarEntidadesActivas() {
-		for(Entidad entidad : modelo.getPoblacion().getEntidades()) {
-			if(!entidad.isHaChocado()) {
-				mostrarEntidad(entidad);
-			}
+		InstantaneaEntidades instantanea = instantaneas.getUltima();
+		//Si se ha reiniciado el proceso, la instantnea es de la poblacin anterior
+		if(instantanea.poblacion == null || instantanea.poblacion != modelo.getPoblacion()) {
+			return;
 		}
+		vista.getVentana().drawEntidades(instantanea.posX, instantanea.posY, instantanea.velX, instantanea.velY,
+				instantanea.numVisibles, instantanea.visibleMonitorizada);
 	}
 	
 	/**
-	 * Actualiza un campo (label) del panel de control con un nuevo valor
-	 * @param <T> Tipo de valor
-	 * @param label: nombre del campo que debe actualizar
-	 * @param valor
+	 * Busca la entidad sobre la que se ha hecho click en la ltima instantnea que se ha
+	 * dibujado, que es lo que ve el usuario, sin esperar a la simulacin. Se debe llamar desde
+	 * el hilo de la ventana grfica, que es el nico que lee las instantneas
+	 * @param posRaton: punto en el que se ha hecho click con el ratn
+	 * @return el ndice en la poblacin de la entidad, o -1 si no hay ninguna en ese punto
 	 */
-	public <T> void actualizarPanel(String label, T valor) {
-		vista.getPanelControl().setValor(label, valor);
+	int buscarEntidadVisible(PVector posRaton) {
+		InstantaneaEntidades instantanea = instantaneas.getUltima();
+		if(instantanea.poblacion == null || instantanea.poblacion != modelo.getPoblacion()) {
+			return -1;
+		}
+		return instantanea.buscarEntidad(posRaton);
 	}
 	
 	/**
 	 * Muestra en la ventana grfica la ruta ptima (en el tiempo establecido) 
-	 * desde el punto inicial de la poblacin hasta la meta
-	 * @param mejorEntidad: la entidad que ha logrado el objetivo establecido 
+	 * desde el punto inicial de la poblacin hasta la meta. Slo debe llamarse cuando
+	 * la simulacin haya terminado, ya que lee directamente la copia del record que guarda
+	 * la poblacin
+	 * @param poblacion: la poblacin que ha logrado el objetivo establecido 
+	 */
+	public void mostrarRutaOptima(Poblacion poblacion) {
+		if(!poblacion.hayMejorEntidad()) {
+			return;
+		}
+		vista.getVentana().drawRutaOptima(poblacion.getGenesMejorEntidad(), poblacion.getMejorTiempo());
+		PVector posicion = poblacion.getPosMejorEntidad(), velocidad = poblacion.getVelMejorEntidad();
+		vista.getVentana().drawEntidad(posicion.x, posicion.y, velocidad.x, velocidad.y, false);
+	}
+	
+	/**
+	 * Publica los datos de la poblacin y los de la entidad monitorizada en el frame actual
+	 * para que se muestren en la prxima actualizacin del panel de control. Se llama en cada
+	 * frame desde el hilo de la simulacin y slo copia valores, sin tocar ningn componente
+	 */
+	void publicarDatos() {
+		publicar(true);
+	}
+	
+	/**
+	 * Publica los datos de la poblacin sin los de movimiento de la entidad monitorizada,
+	 * que conservan los del ltimo frame, por ejemplo tras evolucionar la poblacin, cuando
+	 * las entidades ya se han reiniciado para la siguiente generacin
+	 */
+	void publicarDatosGeneracion() {
+		publicar(false);
+	}
+	
+	private void publicar(boolean datosEntidad) {
+		Poblacion poblacion = modelo.getPoblacion();
+		if(poblacion == null) {
+			return;
+		}
+		DatosPanel datos = new DatosPanel();
+		datos.generacion = poblacion.getNumGeneraciones();
+		//Hasta evaluar la primera generacin no hay ningn record que mostrar
+		datos.tiempoRecord = poblacion.hayMejorEntidad() ? poblacion.getMejorTiempo() : 0;
+		datos.mejorAptitud = poblacion.getMejorAptitud();
+		datos.metas = poblacion.getNumLlegadas();
+		datos.colisiones = poblacion.getNumColisiones();
+		//Tras limpiar la ltima generacin, sus datos no se muestran hasta que se evale la nueva
+		if(datos.generacion != generacionSinDatos) {
+			datos.tiempoRecordActual = poblacion.getTiempoRecordActual();
+			datos.mejorAptitudActual = poblacion.getMejorAptitudActual();
+		}
+		datos.metasActual = poblacion.getNumLlegadasActual();
+		datos.colisionesActual = poblacion.getNumColisionesActual();
+		Entidad entidad = poblacion.getEntidadMonitorizada();
+		datos.hayEntidad = entidad != null;
+		datos.datosEntidad = datos.hayEntidad && datosEntidad;
+		if(datos.datosEntidad) {
+			EstadoEntidades estado = poblacion.getEstadoEntidades();
+			int i = entidad.getIndice();
+			datos.indiceEntidad = i;
+			datos.distanciaEntidad = entidad.getDistancia();
+			datos.distanciaMinEntidad = entidad.getDistanciaMinima();
+			datos.posX = estado.getPosX(i);
+			datos.posY = estado.getPosY(i);
+			datos.velX = estado.getVelX(i);
+			datos.velY = estado.getVelY(i);
+			datos.acelX = entidad.getAceleracion().x;
+			datos.acelY = entidad.getAceleracion().y;
+			datos.tiempoEntidad = entidad.getTiempoObtenido();
+			datos.aptitudEntidad = entidad.getAptitud();
+			//Segn la entidad tenga determinadas flags o no, mostrar en el estado en el que est
+			datos.estadoEntidad = entidad.isHaChocado() ? "Chocado" : entidad.isHaLlegado() ? "Llegado" : "Activa";
+		} else if(datos.hayEntidad) {
+			datos.aptitudEntidad = poblacion.getAptitudEntidadMonitorizada();
+		}
+		datosPendientes.set(datos);
+	}
+	
+	/**
+	 * Deja el panel de control con todos sus datos a cero, como al iniciar el programa
 	 */
-	void mostrarRutaOptima(Entidad mejorEntidad) {
-		vista.getVentana().drawRutaOptima(mejorEntidad.getAdn().getGenes(), mejorEntidad.getTiempoObtenido());
-		vista.getVentana().drawEntidad(mejorEntidad.getPosicion(), mejorEntidad.getVelocidad(), mejorEntidad.isMonitorizada());
+	void vaciarPanel() {
+		datosPendientes.set(new DatosPanel());
 	}
 	
 	/**
-	 * Actualiza en el panel de control todos los datos sobre una entidad
-	 * que est siendo monitorizada actualmente
-	 * @param entidad 
-	 */
-	void monitorizarEntidad(Entidad entidad) {
-		actualizarPanel("Entidad", entidad.getIndice());
-		//Redondeamos el valor de la distancia a dos decimales para no mostrar demasiados nmeros
-		actualizarPanel("DistanciaEntidad", redondearValor(entidad.getDistancia(), 2));
-		actualizarPanel("DistanciaMinEntidad", redondearValor(entidad.getDistanciaMinima(), 2));
-		//Para los vectores redondeamos hasta 4 decimales ya que debe mostrar ms precisin
-		actualizarPanel("Posicion", "("+ redondearValor(entidad.getPosicion().x, 4) +
-				", " + redondearValor(entidad.getPosicion().y, 4) + ")");
-		actualizarPanel("Velocidad", "("+ redondearValor(entidad.getVelocidad().x, 4) + 
-				", " + redondearValor(entidad.getVelocidad().y, 4) + ")");
-		actualizarPanel("Aceleracion", "("+ redondearValor(entidad.getAceleracion().x, 4) +
-				", " + redondearValor(entidad.getAceleracion().y, 4) + ")");
-		actualizarPanel("TiempoEntidad", entidad.getTiempoObtenido()); 
-		actualizarPanel("AptitudEntidad", entidad.getAptitud());
-		//Segn la entidad tenga determinadas flags o no, mostrar en el estado en el que est
-		String estado = entidad.isHaChocado() ? "Chocado" : entidad.isHaLlegado() ? "Llegado" : "Activa";
-		actualizarPanel("EstadoEntidad", estado);
+	 * Muestra en el panel de control los ltimos datos publicados, si hay alguno nuevo.
+	 * Se ejecuta en el hilo de eventos de Swing
+	 */
+	private void mostrarDatosPendientes() {
+		DatosPanel datos = datosPendientes.getAndSet(null);
+		if(datos == null) {
+			return;
+		}
+		PanelControl panelControl = vista.getPanelControl();
+		panelControl.setValor("Generacion", datos.generacion);
+		panelControl.setValor("TiempoRecord", datos.tiempoRecord);
+		panelControl.setValor("MejorAptitud", formatoAptitud.format(datos.mejorAptitud));
+		panelControl.setValor("Metas", datos.metas);
+		panelControl.setValor("Colisiones", datos.colisiones);
+		panelControl.setValor("TiempoRecordActual", datos.tiempoRecordActual);
+		panelControl.setValor("MejorAptitudActual", formatoAptitud.format(datos.mejorAptitudActual));
+		panelControl.setValor("MetasActual", datos.metasActual);
+		panelControl.setValor("ColisionesActual", datos.colisionesActual);
+		panelControl.getPanelDatosEntidad().setBackground(datos.hayEntidad ? COLOR_MONITORIZADA : COLOR_SIN_MONITORIZAR);
+		if(!datos.hayEntidad) {
+			mostrarEntidadVacia(panelControl);
+			return;
+		}
+		if(datos.datosEntidad) {
+			panelControl.setValor("Entidad", datos.indiceEntidad);
+			//Redondeamos el valor de la distancia a dos decimales para no mostrar demasiados nmeros
+			panelControl.setValor("DistanciaEntidad", redondearValor(datos.distanciaEntidad, 2));
+			panelControl.setValor("DistanciaMinEntidad", redondearValor(datos.distanciaMinEntidad, 2));
+			//Para los vectores redondeamos hasta 4 decimales ya que debe mostrar ms precisin
+			panelControl.setValor("Posicion", "(" + redondearValor(datos.posX, 4) + ", " + redondearValor(datos.posY, 4) + ")");
+			panelControl.setValor("Velocidad", "(" + redondearValor(datos.velX, 4) + ", " + redondearValor(datos.velY, 4) + ")");
+			panelControl.setValor("Aceleracion", "(" + redondearValor(datos.acelX, 4) + ", " + redondearValor(datos.acelY, 4) + ")");
+			panelControl.setValor("TiempoEntidad", datos.tiempoEntidad);
+			panelControl.setValor("EstadoEntidad", datos.estadoEntidad);
+		}
+		panelControl.setValor("AptitudEntidad", formatoAptitud.format(datos.aptitudEntidad));
+	}
+	
+	private void mostrarEntidadVacia(PanelControl panelControl) {
+		panelControl.setValor("Entidad", "-");
+		panelControl.setValor("Posicion", "(0, 0)");
+		panelControl.setValor("Velocidad", "(0, 0)");
+		panelControl.setValor("Aceleracion", "(0, 0)");
+		panelControl.setValor("DistanciaEntidad", 0);
+		panelControl.setValor("DistanciaMinEntidad", 0);
+		panelControl.setValor("TiempoEntidad", 0);
+		panelControl.setValor("AptitudEntidad", 0);
+		panelControl.setValor("EstadoEntidad", "-");
 	}
 	
 	/**
@@ -96,27 +257,16 @@ public class Visualizador {
 	 */
 	void limpiarUltimaGeneracion() {
 		modelo.getPoblacion().setEntidadMonitorizada(null); 
-		actualizarPanel("TiempoRecordActual", 0);
-		actualizarPanel("MejorAptitudActual", 0);
-		actualizarPanel("MetasActual", 0);
-		actualizarPanel("ColisionesActual", 0);
+		generacionSinDatos = modelo.getPoblacion().getNumGeneraciones();
+		publicarDatosGeneracion();
 	}
 	
 	/**
 	 * Vaca la entidad monitorizada y sus datos del panel de control cuando su generacin ya no exista
 	 */
 	void limpiarEntidadMonitorizada() {
-		vista.getPanelControl().getPanelDatosEntidad().setBackground(new Color(99, 9, 177));
 		modelo.getPoblacion().setEntidadMonitorizada(null); 
-		actualizarPanel("Entidad", "-");
-		actualizarPanel("Posicion", "(0, 0)");
-		actualizarPanel("Velocidad", "(0, 0)");
-		actualizarPanel("Aceleracion", "(0, 0)");
-		actualizarPanel("DistanciaEntidad", 0);
-		actualizarPanel("DistanciaMinEntidad", 0);
-		actualizarPanel("TiempoEntidad", 0); 
-		actualizarPanel("AptitudEntidad", 0);
-		actualizarPanel("EstadoEntidad", "-");
+		publicarDatosGeneracion();
 	}
 	
 	/**
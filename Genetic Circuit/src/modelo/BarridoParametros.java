@@ -0,0 +1,283 @@
+package modelo;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import modelo.circuito.Circuito;
+import modelo.circuito.ModoColision;
+import modelo.entidades.EstrategiaSeleccion;
+import modelo.entidades.OperadorCruce;
+import modelo.entidades.OperadorMutacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Barrido de los parmetros de la poblacin: ejecuta una simulacin por cada combinacin de
+ * circuito, nmero de entidades, tasa de mutacin, tiempo de vida, tiempo objetivo, operadores
+ * genticos y deteccin de colisiones, repitiendo cada combinacin con varias semillas. Cada ejecucin evoluciona en un solo hilo hasta cumplir
+ * el objetivo o llegar al mximo de generaciones, y las ejecuciones se reparten entre varios
+ * hilos, que es ms eficiente que repartir cada generacin cuando hay muchas.
+ * El resultado de cada ejecucin se escribe como una lnea separada por ";" en cuanto termina,
+ * de forma que un barrido interrumpido conserva todo lo que ya se ha ejecutado
+ * @author Alberto
+ */
+public class BarridoParametros {
+
+	/**
+	 * Columnas de cada lnea de resultados
+	 */
+	public static final String CABECERA = "circuito;entidades;tasa mutacion;tiempo vida;tiempo objetivo;cruce;"
+			+ "mutacion;seleccion;colision;resolucion;repeticion;semilla;objetivo cumplido;generaciones;segundos;"
+			+ "mejor tiempo;evaluaciones/s";
+	private static final int NUM_COLUMNAS = CABECERA.split(";").length;
+
+	/**
+	 * Lista con la que se barren los operadores que no se indican, que deja el de por defecto
+	 */
+	private static final String[] POR_DEFECTO = {null};
+	private static final ModoColision[] MODO_POR_DEFECTO = {ModoColision.GEOMETRICO};
+	private static final float[] RESOLUCION_POR_DEFECTO = {Modelo.RESOLUCION_MAPA_DEFECTO};
+
+	/**
+	 * Una de las ejecuciones del barrido
+	 */
+	private static class Ejecucion {
+		private final String circuito;
+		private final int numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, repeticion, semilla;
+		/**
+		 * Nombres de los operadores genticos, o null para utilizar los de por defecto
+		 */
+		private final String cruce, mutacion, seleccion;
+		private final ModoColision modoColision;
+		private final float resolucionMapa;
+
+		Ejecucion(String circuito, int numEntidades, int tasaMutacion, int tiempoVida, int tiempoObjetivo,
+				String cruce, String mutacion, String seleccion, ModoColision modoColision, float resolucionMapa,
+				int repeticion, int semilla) {
+			this.circuito = circuito;
+			this.numEntidades = numEntidades;
+			this.tasaMutacion = tasaMutacion;
+			this.tiempoVida = tiempoVida;
+			this.tiempoObjetivo = tiempoObjetivo;
+			this.cruce = cruce;
+			this.mutacion = mutacion;
+			this.seleccion = seleccion;
+			this.modoColision = modoColision;
+			this.resolucionMapa = resolucionMapa;
+			this.repeticion = repeticion;
+			this.semilla = semilla;
+		}
+
+		/**
+		 * @return una estimacin de lo que tarda cada generacin, proporcional a los frames simulados
+		 */
+		long getCoste() {
+			return (long) numEntidades * tiempoVida;
+		}
+	}
+
+	private final ArrayList<Ejecucion> ejecuciones = new ArrayList<Ejecucion>();
+	private final int maxGeneraciones;
+	private PrintWriter salida;
+	private PrintStream progreso;
+	private int numTerminadas;
+
+	/**
+	 * Prepara todas las combinaciones de parmetros. Las repeticiones de cada combinacin
+	 * utilizan las mismas semillas, as que las diferencias entre combinaciones no se deben a
+	 * haber tenido ms o menos suerte con ellas
+	 * @param circuitos: nombres de los circuitos que se cargan
+	 * @param entidades: valores del nmero de entidades
+	 * @param tasasMutacion: valores del porcentaje de probabilidad de que mute un gen
+	 * @param tiemposVida: valores del nmero de frames que viven las entidades
+	 * @param tiemposObjetivo: valores del tiempo en frames que deben lograr las entidades
+	 * @param repeticiones: ejecuciones de cada combinacin
+	 * @param semilla: semilla de la primera repeticin, cada una utiliza la siguiente
+	 * @param maxGeneraciones: generaciones tras las que se abandona una ejecucin sin cumplir el objetivo
+	 * @param cruces: nombres de los operadores de cruce, o null para utilizar slo el de por defecto
+	 * @param mutaciones: nombres de los operadores de mutacin, o null para el de por defecto
+	 * @param selecciones: nombres de las estrategias de seleccin, o null para la de por defecto
+	 * @param modosColision: formas de detectar las colisiones, o null para la geomtrica
+	 * @param resoluciones: lados de las celdas del mapa de ocupacin en los modos que lo utilizan,
+	 * o null para la resolucin por defecto
+	 * @throws IllegalArgumentException si no se puede cargar alguno de los circuitos
+	 */
+	public BarridoParametros(String[] circuitos, int[] entidades, int[] tasasMutacion, int[] tiemposVida,
+			int[] tiemposObjetivo, int repeticiones, int semilla, int maxGeneraciones, String[] cruces,
+			String[] mutaciones, String[] selecciones, ModoColision[] modosColision, float[] resoluciones) {
+		//Se comprueba cada circuito antes de empezar para no descubrir un error horas despus
+		for(String circuito : circuitos) {
+			if(Circuito.cargarCircuito(circuito) == null) {
+				throw new IllegalArgumentException("No se ha podido cargar el circuito: " + circuito);
+			}
+		}
+		this.maxGeneraciones = maxGeneraciones;
+		for(String circuito : circuitos) {
+			for(int numEntidades : entidades) {
+				for(int tasaMutacion : tasasMutacion) {
+					for(int tiempoVida : tiemposVida) {
+						for(int tiempoObjetivo : tiemposObjetivo) {
+							anadirVariantes(circuito, numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo,
+									cruces != null ? cruces : POR_DEFECTO, mutaciones != null ? mutaciones : POR_DEFECTO,
+									selecciones != null ? selecciones : POR_DEFECTO,
+									modosColision != null ? modosColision : MODO_POR_DEFECTO,
+									resoluciones != null ? resoluciones : RESOLUCION_POR_DEFECTO, repeticiones, semilla);
+						}
+					}
+				}
+			}
+		}
+		/* Se lanzan primero las ejecuciones ms costosas para que al final del barrido no quede
+		 * una sola ejecucin larga ocupando un hilo mientras los dems ya han terminado */
+		ejecuciones.sort(Comparator.comparingLong(Ejecucion::getCoste).reversed());
+	}
+
+	/**
+	 * Aade las repeticiones de cada combinacin de operadores genticos y deteccin de
+	 * colisiones para unos mismos parmetros de la poblacin. El modo geomtrico no utiliza el
+	 * mapa de ocupacin, as que slo se ejecuta con la primera resolucin en vez de repetirlo
+	 * con todas
+	 */
+	private void anadirVariantes(String circuito, int numEntidades, int tasaMutacion, int tiempoVida,
+			int tiempoObjetivo, String[] cruces, String[] mutaciones, String[] selecciones,
+			ModoColision[] modosColision, float[] resoluciones, int repeticiones, int semilla) {
+		for(String cruce : cruces) {
+			for(String mutacion : mutaciones) {
+				for(String seleccion : selecciones) {
+					for(ModoColision modoColision : modosColision) {
+						int numResoluciones = modoColision == ModoColision.GEOMETRICO ? 1 : resoluciones.length;
+						for(int k=0; k < numResoluciones; k++) {
+							for(int r=0; r < repeticiones; r++) {
+								ejecuciones.add(new Ejecucion(circuito, numEntidades, tasaMutacion, tiempoVida,
+										tiempoObjetivo, cruce, mutacion, seleccion, modoColision, resoluciones[k],
+										r, semilla + r));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return el nmero total de ejecuciones del barrido
+	 */
+	public int getNumEjecuciones() {
+		return ejecuciones.size();
+	}
+
+	/**
+	 * Realiza todas las ejecuciones repartidas entre los hilos indicados, escribiendo cada
+	 * resultado en cuanto termina, y espera a que terminen todas
+	 * @param numHilos: ejecuciones simultneas
+	 * @param salida: destino de las lneas de resultados, sin la cabecera
+	 * @param progreso: donde se muestra cada lnea segn termina, con cuntas van, y los
+	 * errores de las ejecuciones que fallan
+	 * @throws InterruptedException si se interrumpe el hilo mientras espera, que cancela las que falten
+	 */
+	public void ejecutar(int numHilos, PrintWriter salida, PrintStream progreso) throws InterruptedException {
+		this.salida = salida;
+		this.progreso = progreso;
+		numTerminadas = 0;
+		ExecutorService hilos = Executors.newFixedThreadPool(numHilos);
+		for(Ejecucion ejecucion : ejecuciones) {
+			hilos.execute(() -> realizarEjecucion(ejecucion));
+		}
+		hilos.shutdown();
+		try {
+			while(!hilos.awaitTermination(1, TimeUnit.MINUTES)) {
+				//Las ejecuciones pueden tardar horas, as que slo se espera a que terminen
+			}
+		} catch (InterruptedException e) {
+			hilos.shutdownNow();
+			throw e;
+		}
+	}
+
+	private void realizarEjecucion(Ejecucion ejecucion) {
+		String linea;
+		try {
+			Simulacion simulacion = new Simulacion(ejecucion.circuito, Simulacion.crearParametros(
+					ejecucion.numEntidades, ejecucion.tasaMutacion, ejecucion.tiempoVida, ejecucion.tiempoObjetivo,
+					ejecucion.semilla));
+			//Los hilos ya estn ocupados con otras ejecuciones, as que cada una va en un solo hilo
+			simulacion.setNumHilos(1);
+			//Cada ejecucin crea sus propios operadores, ya que la estrategia de seleccin guarda estado
+			if(ejecucion.cruce != null) {
+				simulacion.setOperadorCruce(OperadorCruce.crear(ejecucion.cruce));
+			}
+			if(ejecucion.mutacion != null) {
+				simulacion.setOperadorMutacion(OperadorMutacion.crear(ejecucion.mutacion));
+			}
+			if(ejecucion.seleccion != null) {
+				simulacion.setEstrategiaSeleccion(EstrategiaSeleccion.crear(ejecucion.seleccion));
+			}
+			simulacion.setModoColision(ejecucion.modoColision, ejecucion.resolucionMapa);
+			long inicio = System.nanoTime();
+			long nanosCiclos = 0, numEvaluaciones = 0;
+			int numGeneraciones = 0;
+			while(numGeneraciones < maxGeneraciones && !simulacion.isObjetivoCumplido()) {
+				EstadisticasGeneracion estadisticas = simulacion.ejecutarGeneracion();
+				numGeneraciones++;
+				nanosCiclos += estadisticas.getNanosCiclos();
+				numEvaluaciones += (long) estadisticas.getNumEntidades() * estadisticas.getNumCiclos();
+			}
+			double segundos = (System.nanoTime() - inicio) / 1e9;
+			Poblacion poblacion = simulacion.getPoblacion();
+			linea = String.format("%s;%d;%d;%d;%d;%s;%s;%s;%s;%s;%d;%d;%b;%d;%.3f;%d;%.0f", ejecucion.circuito,
+					ejecucion.numEntidades, ejecucion.tasaMutacion, ejecucion.tiempoVida, ejecucion.tiempoObjetivo,
+					poblacion.getOperadorCruce().getNombre(), poblacion.getOperadorMutacion().getNombre(),
+					poblacion.getEstrategiaSeleccion().getNombre(), ejecucion.modoColision.getNombre(),
+					ejecucion.resolucionMapa, ejecucion.repeticion, ejecucion.semilla,
+					simulacion.isObjetivoCumplido(), numGeneraciones, segundos, poblacion.getMejorTiempo(),
+					nanosCiclos == 0 ? 0 : numEvaluaciones / (nanosCiclos / 1e9));
+		} catch (RuntimeException e) {
+			//Un fallo en una ejecucin no debe detener el resto del barrido
+			synchronized(this) {
+				e.printStackTrace(progreso);
+			}
+			/* El error ocupa la columna de si se ha cumplido el objetivo, sin caracteres que
+			 * rompan la lnea, y el resto de columnas de resultados quedan vacas */
+			linea = String.format("%s;%d;%d;%d;%d;%s;%s;%s;%s;%s;%d;%d;error: %s", ejecucion.circuito,
+					ejecucion.numEntidades, ejecucion.tasaMutacion, ejecucion.tiempoVida, ejecucion.tiempoObjetivo,
+					nombreOperador(ejecucion.cruce), nombreOperador(ejecucion.mutacion),
+					nombreOperador(ejecucion.seleccion), ejecucion.modoColision.getNombre(), ejecucion.resolucionMapa,
+					ejecucion.repeticion, ejecucion.semilla, e.toString().replaceAll("[;\\r\\n]", " "));
+			linea = completarColumnas(linea);
+		}
+		escribir(linea);
+	}
+
+	/**
+	 * @return la lnea con tantas columnas vacas al final como le falten para tener las de la cabecera
+	 */
+	private static String completarColumnas(String linea) {
+		StringBuilder completa = new StringBuilder(linea);
+		for(int i=linea.split(";", -1).length; i < NUM_COLUMNAS; i++) {
+			completa.append(';');
+		}
+		return completa.toString();
+	}
+
+	/**
+	 * @return el nombre indicado para un operador, o "por defecto" si no se indic ninguno
+	 */
+	private static String nombreOperador(String nombre) {
+		return nombre != null ? nombre : "por defecto";
+	}
+
+	/**
+	 * Escribe la lnea de una ejecucin terminada y la vuelca enseguida al fichero
+	 */
+	private synchronized void escribir(String linea) {
+		salida.println(linea);
+		salida.flush();
+		numTerminadas++;
+		progreso.println("[" + numTerminadas + "/" + ejecuciones.size() + "] " + linea);
+	}
+
+}
@@ -0,0 +1,144 @@
+package modelo;
+
+/**
+ * Resumen de los datos obtenidos al terminar el ciclo de vida de una generacin
+ * cuando se ejecuta la simulacin sin interfaz
+ * @author Alberto
+ */
+public class EstadisticasGeneracion {
+	
+	/**
+	 * Nmero de la generacin a la que corresponden los datos
+	 */
+	private final int generacion;
+	/**
+	 * Nmero de entidades que formaban la generacin
+	 */
+	private final int numEntidades;
+	/**
+	 * Frames que han actuado las entidades durante su ciclo de vida
+	 */
+	private final int numCiclos;
+	/**
+	 * Llegadas a la meta y colisiones con obstculos durante esta generacin
+	 */
+	private final int numLlegadas, numColisiones;
+	/**
+	 * Mejor aptitud de la generacin y tiempo obtenido por la entidad que la consigui
+	 */
+	private final double mejorAptitudActual;
+	private final int tiempoRecordActual;
+	/**
+	 * Mejor tiempo obtenido entre todas las generaciones hasta sta incluida
+	 */
+	private final int mejorTiempo;
+	/**
+	 * Si tras evaluar esta generacin se ha cumplido el objetivo de tiempo
+	 */
+	private final boolean objetivoCumplido;
+	/**
+	 * Nanosegundos que han tardado en actuar las entidades y en evolucionar la poblacin
+	 */
+	private final long nanosCiclos, nanosEvolucion;
+	/**
+	 * Parte de la evolucin que se ha dedicado a preparar la seleccin y escoger los parientes
+	 */
+	private final long nanosSeleccion;
+	/**
+	 * Veces que se ha vuelto a sacar el segundo pariente por tener la misma aptitud que el
+	 * primero, e hijos para los que se ha tenido que recurrir a un pariente de respaldo
+	 */
+	private final int numRedibujosPariente, numParientesRespaldo;
+	
+	/**
+	 * Constructor que recibe todos los datos medidos en la generacin
+	 */
+	public EstadisticasGeneracion(int generacion, int numEntidades, int numCiclos, int numLlegadas,
+			int numColisiones, double mejorAptitudActual, int tiempoRecordActual, int mejorTiempo,
+			boolean objetivoCumplido, long nanosCiclos, long nanosEvolucion, long nanosSeleccion,
+			int numRedibujosPariente, int numParientesRespaldo) {
+		this.generacion = generacion;
+		this.numEntidades = numEntidades;
+		this.numCiclos = numCiclos;
+		this.numLlegadas = numLlegadas;
+		this.numColisiones = numColisiones;
+		this.mejorAptitudActual = mejorAptitudActual;
+		this.tiempoRecordActual = tiempoRecordActual;
+		this.mejorTiempo = mejorTiempo;
+		this.objetivoCumplido = objetivoCumplido;
+		this.nanosCiclos = nanosCiclos;
+		this.nanosEvolucion = nanosEvolucion;
+		this.nanosSeleccion = nanosSeleccion;
+		this.numRedibujosPariente = numRedibujosPariente;
+		this.numParientesRespaldo = numParientesRespaldo;
+	}
+	
+	/**
+	 * Calcula cuntas entidades se han simulado por segundo durante el ciclo de vida,
+	 * contando cada entidad una vez por cada frame
+	 * @return las evaluaciones de entidades por segundo
+	 */
+	public double getEvaluacionesPorSegundo() {
+		if(nanosCiclos == 0) {
+			return 0;
+		}
+		return (double) numEntidades * numCiclos / (nanosCiclos / 1e9);
+	}
+
+	public int getGeneracion() {
+		return generacion;
+	}
+
+	public int getNumEntidades() {
+		return numEntidades;
+	}
+
+	public int getNumCiclos() {
+		return numCiclos;
+	}
+
+	public int getNumLlegadas() {
+		return numLlegadas;
+	}
+
+	public int getNumColisiones() {
+		return numColisiones;
+	}
+
+	public double getMejorAptitudActual() {
+		return mejorAptitudActual;
+	}
+
+	public int getTiempoRecordActual() {
+		return tiempoRecordActual;
+	}
+
+	public int getMejorTiempo() {
+		return mejorTiempo;
+	}
+
+	public boolean isObjetivoCumplido() {
+		return objetivoCumplido;
+	}
+
+	public long getNanosCiclos() {
+		return nanosCiclos;
+	}
+
+	public long getNanosEvolucion() {
+		return nanosEvolucion;
+	}
+
+	public long getNanosSeleccion() {
+		return nanosSeleccion;
+	}
+
+	public int getNumRedibujosPariente() {
+		return numRedibujosPariente;
+	}
+
+	public int getNumParientesRespaldo() {
+		return numParientesRespaldo;
+	}
+
+}
@@ -5,13 +5,27 @@ import java.util.HashMap;
 
 import controlador.Controlador;
 import modelo.circuito.Circuito;
+import modelo.circuito.DetectorColisiones;
+import modelo.circuito.DetectorGeometrico;
+import modelo.circuito.MapaOcupacion;
 import modelo.circuito.Meta;
+import modelo.circuito.ModoColision;
 import modelo.circuito.Obstaculo;
+import modelo.circuito.RejillaObstaculos;
 import modelo.entidades.Poblacion;
 import processing.core.PVector;
 
 public class Modelo {
 	
+	/**
+	 * Lado de las celdas de la rejilla con la que se indexan los obstculos
+	 */
+	private static final float TAMANO_CELDA_REJILLA = 64f;
+	/**
+	 * Lado en pxeles de las celdas del mapa de ocupacin si no se indica otro
+	 */
+	public static final float RESOLUCION_MAPA_DEFECTO = 1f;
+	
 	/**
 	 * Interfaz con la que el modelo puede comunicarse con la vista
 	 */
@@ -32,6 +46,23 @@ public class Modelo {
 	 * Coleccin de obstculos que contendr el circuito
 	 */
 	private Obstaculo[] obstaculos;
+	/**
+	 * ndice espacial de los obstculos para que cada entidad slo compruebe los ms cercanos
+	 */
+	private RejillaObstaculos rejillaObstaculos;
+	/**
+	 * Forma en la que se detectan las colisiones de las entidades con el circuito
+	 */
+	private ModoColision modoColision = ModoColision.GEOMETRICO;
+	/**
+	 * Lado de las celdas del mapa de ocupacin en los modos que lo utilizan
+	 */
+	private float resolucionMapa = RESOLUCION_MAPA_DEFECTO;
+	/**
+	 * Detector del modo de colisin actual. Se crea al pedirlo por primera vez tras cambiar
+	 * el circuito o el modo, ya que necesita tanto la meta como los obstculos
+	 */
+	private DetectorColisiones detectorColisiones;
 	
 	/**
 	 * Inicializa el modelo de datos pasndole el controlador que utilizar para alterar
@@ -41,6 +72,14 @@ public class Modelo {
 	public Modelo(Controlador controlador) {
 		this.controlador = controlador;
 	}
+	
+	/**
+	 * Inicializa el modelo de datos sin controlador, para poder ejecutar la simulacin
+	 * sin ninguna interfaz grfica de por medio
+	 */
+	public Modelo() {
+		this(null);
+	}
 
 	public Circuito getCircuito() {
 		return circuito;
@@ -73,6 +112,7 @@ public class Modelo {
 				(float) metaParams.get("Ancho"), 
 				(float) metaParams.get("Alto")
 		);
+		detectorColisiones = null;
 	}
 	
 	public Obstaculo[] getObstaculos() {
@@ -91,6 +131,53 @@ public class Modelo {
 		for(int i=0; i < obstaculos.length; i++) {
 			inicializarObstaculo(obstaculosParams.get(i), i);
 		}
+		//Como los obstculos no se mueven, basta con indexarlos una vez al cargar el circuito
+		rejillaObstaculos = new RejillaObstaculos(obstaculos, TAMANO_CELDA_REJILLA);
+		detectorColisiones = null;
+	}
+	
+	public RejillaObstaculos getRejillaObstaculos() {
+		return rejillaObstaculos;
+	}
+	
+	/**
+	 * Devuelve el detector con el que las entidades comprueban sus colisiones, crendolo
+	 * para el circuito actual si ha cambiado desde la ltima vez
+	 * @return el detector correspondiente al modo de colisin
+	 */
+	public DetectorColisiones getDetectorColisiones() {
+		if(detectorColisiones == null) {
+			switch(modoColision) {
+			case MAPA_OCUPACION:
+				detectorColisiones = new MapaOcupacion(meta, rejillaObstaculos, resolucionMapa, false);
+				break;
+			case MAPA_REFINADO:
+				detectorColisiones = new MapaOcupacion(meta, rejillaObstaculos, resolucionMapa, true);
+				break;
+			default:
+				detectorColisiones = new DetectorGeometrico(meta, rejillaObstaculos);
+			}
+		}
+		return detectorColisiones;
+	}
+	
+	public ModoColision getModoColision() {
+		return modoColision;
+	}
+	
+	public float getResolucionMapa() {
+		return resolucionMapa;
+	}
+	
+	/**
+	 * Cambia la forma en la que se detectan las colisiones
+	 * @param modoColision: modo a utilizar
+	 * @param resolucionMapa: lado de las celdas del mapa de ocupacin, si el modo lo utiliza
+	 */
+	public void setModoColision(ModoColision modoColision, float resolucionMapa) {
+		this.modoColision = modoColision;
+		this.resolucionMapa = resolucionMapa;
+		detectorColisiones = null;
 	}
 	
 	public Poblacion getPoblacion() {
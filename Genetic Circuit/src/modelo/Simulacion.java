@@ -0,0 +1,186 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import modelo.circuito.Circuito;
+import modelo.circuito.ModoColision;
+import modelo.entidades.EstrategiaSeleccion;
+import modelo.entidades.OperadorCruce;
+import modelo.entidades.OperadorMutacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Ejecuta el proceso evolutivo de una poblacin sin depender de la ventana grfica ni del
+ * panel de control. En vez de avanzar un frame cada vez que se dibuja la ventana, realiza
+ * generaciones completas (el ciclo de vida entero seguido de la evolucin) tan rpido como
+ * sea posible, de forma que se pueda utilizar en mquinas sin pantalla
+ * @author Alberto
+ */
+public class Simulacion {
+
+	/**
+	 * Modelo de datos sin controlador que contiene el circuito y la poblacin
+	 */
+	private Modelo modelo;
+	/**
+	 * Datos obtenidos en cada una de las generaciones que se han ejecutado
+	 */
+	private ArrayList<EstadisticasGeneracion> historial;
+
+	/**
+	 * Carga el circuito indicado e inicia una poblacin con los parmetros recibidos,
+	 * que son los mismos que se obtendran desde el panel de control
+	 * @param nombreCircuito: nombre del fichero del circuito que debe cargar
+	 * @param poblacionParams: mapa con los parmetros que dictan el comportamiento de las entidades
+	 */
+	public Simulacion(String nombreCircuito, HashMap<String, Integer> poblacionParams) {
+		modelo = new Modelo();
+		Circuito circuito = Circuito.cargarCircuito(nombreCircuito);
+		if(circuito == null) {
+			throw new IllegalArgumentException("No se ha podido cargar el circuito: " + nombreCircuito);
+		}
+		/* Los parmetros del circuito no dependen de la ventana, as que no es necesario
+		 * pasarle ninguna para iniciar la meta y los obstculos */
+		modelo.setCircuito(circuito);
+		modelo.setMeta(circuito.setupMeta(null));
+		modelo.setObstaculos(circuito.setupObstaculos(null));
+		modelo.setPoblacionEntidades(poblacionParams, circuito.setSpawn());
+		historial = new ArrayList<EstadisticasGeneracion>();
+	}
+
+	/**
+	 * Crea el mapa de parmetros de la poblacin con el mismo formato que utiliza el panel de control
+	 * @param numEntidades: tamao de la poblacin
+	 * @param tasaMutacion: porcentaje de probabilidad de que mute un gen
+	 * @param tiempoVida: nmero de frames que viven las entidades
+	 * @param tiempoObjetivo: tiempo en frames que deben lograr las entidades
+	 * @return el mapa con los parmetros
+	 */
+	public static HashMap<String, Integer> crearParametros(int numEntidades, int tasaMutacion,
+			int tiempoVida, int tiempoObjetivo) {
+		HashMap<String, Integer> poblacionParams = new HashMap<String, Integer>();
+		poblacionParams.put("NumEntidades", numEntidades);
+		poblacionParams.put("TasaMutacion", tasaMutacion);
+		poblacionParams.put("TiempoVida", tiempoVida);
+		poblacionParams.put("TiempoObjetivo", tiempoObjetivo);
+		return poblacionParams;
+	}
+
+	/**
+	 * Crea el mapa de parmetros de la poblacin con una semilla, de forma que la ejecucin
+	 * obtenga siempre las mismas generaciones sin importar el nmero de hilos
+	 * @param numEntidades: tamao de la poblacin
+	 * @param tasaMutacion: porcentaje de probabilidad de que mute un gen
+	 * @param tiempoVida: nmero de frames que viven las entidades
+	 * @param tiempoObjetivo: tiempo en frames que deben lograr las entidades
+	 * @param semilla de la que se derivan todos los nmeros aleatorios de la poblacin
+	 * @return el mapa con los parmetros
+	 */
+	public static HashMap<String, Integer> crearParametros(int numEntidades, int tasaMutacion,
+			int tiempoVida, int tiempoObjetivo, int semilla) {
+		HashMap<String, Integer> poblacionParams = crearParametros(numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo);
+		poblacionParams.put("Semilla", semilla);
+		return poblacionParams;
+	}
+
+	/**
+	 * Realiza el ciclo de vida completo de la generacin actual y la hace evolucionar
+	 * @return los datos obtenidos en la generacin
+	 */
+	public EstadisticasGeneracion ejecutarGeneracion() {
+		Poblacion poblacion = modelo.getPoblacion();
+		int generacion = poblacion.getNumGeneraciones();
+		int numEntidades = poblacion.getEntidades().length;
+		/* Al igual que hace el controlador, el tiempo de vida se fija al comenzar la generacin
+		 * para que un cambio a mitad del ciclo no haga aplicar genes que no existen */
+		int numCiclos = poblacion.getTiempoVida();
+		long inicio = System.nanoTime();
+		for(int i=0; i < numCiclos; i++) {
+			poblacion.realizarCiclo();
+		}
+		long finCiclos = System.nanoTime();
+		//Los contadores de la generacin se reinician al evolucionar, as que se guardan antes
+		int numLlegadas = poblacion.getNumLlegadasActual();
+		int numColisiones = poblacion.getNumColisionesActual();
+		poblacion.evolucionar();
+		long finEvolucion = System.nanoTime();
+		EstadisticasGeneracion estadisticas = new EstadisticasGeneracion(generacion, numEntidades,
+				numCiclos, numLlegadas, numColisiones, poblacion.getMejorAptitudActual(),
+				poblacion.getTiempoRecordActual(), poblacion.getMejorTiempo(),
+				poblacion.isObjetivoCumplido(), finCiclos - inicio, finEvolucion - finCiclos,
+				poblacion.getNanosSeleccion(), poblacion.getNumRedibujosPariente(), poblacion.getNumParientesRespaldo());
+		historial.add(estadisticas);
+		return estadisticas;
+	}
+
+	/**
+	 * Ejecuta generaciones hasta que se cumpla el objetivo o se alcance el lmite indicado
+	 * @param maxGeneraciones: nmero mximo de generaciones que se ejecutarn
+	 * @return los datos de todas las generaciones ejecutadas hasta el momento
+	 */
+	public ArrayList<EstadisticasGeneracion> ejecutar(int maxGeneraciones) {
+		for(int i=0; i < maxGeneraciones && !isObjetivoCumplido(); i++) {
+			ejecutarGeneracion();
+		}
+		return historial;
+	}
+
+	/**
+	 * Establece en cuntos hilos se reparte el ciclo de vida de las entidades
+	 * @param numHilos: con 1 se ejecuta todo en el hilo de la simulacin
+	 */
+	public void setNumHilos(int numHilos) {
+		modelo.getPoblacion().setNumHilos(numHilos);
+	}
+
+	/**
+	 * Establece cmo se detectan las colisiones de las entidades con el circuito
+	 * @param modoColision: modo a utilizar
+	 * @param resolucionMapa: lado de las celdas del mapa de ocupacin, si el modo lo utiliza
+	 */
+	public void setModoColision(ModoColision modoColision, float resolucionMapa) {
+		modelo.setModoColision(modoColision, resolucionMapa);
+	}
+
+	/**
+	 * Establece cmo se escogen los parientes al reproducir cada generacin
+	 * @param estrategiaSeleccion a utilizar
+	 */
+	public void setEstrategiaSeleccion(EstrategiaSeleccion estrategiaSeleccion) {
+		modelo.getPoblacion().setEstrategiaSeleccion(estrategiaSeleccion);
+	}
+
+	/**
+	 * Establece cmo se cruzan los genes de los parientes al reproducir cada generacin
+	 * @param operadorCruce a utilizar
+	 */
+	public void setOperadorCruce(OperadorCruce operadorCruce) {
+		modelo.getPoblacion().setOperadorCruce(operadorCruce);
+	}
+
+	/**
+	 * Establece cmo se alteran los genes que mutan al reproducir cada generacin
+	 * @param operadorMutacion a utilizar
+	 */
+	public void setOperadorMutacion(OperadorMutacion operadorMutacion) {
+		modelo.getPoblacion().setOperadorMutacion(operadorMutacion);
+	}
+
+	public boolean isObjetivoCumplido() {
+		return modelo.getPoblacion().isObjetivoCumplido();
+	}
+
+	public Modelo getModelo() {
+		return modelo;
+	}
+
+	public Poblacion getPoblacion() {
+		return modelo.getPoblacion();
+	}
+
+	public ArrayList<EstadisticasGeneracion> getHistorial() {
+		return historial;
+	}
+
+}
@@ -82,7 +82,9 @@ public class Circuito implements Serializable {
 		//Carga el objeto del fichero como un Circuito
 		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(rutaFichero))) {
 			circuito = (Circuito) ois.readObject();
-			System.out.println("Se ha cargado el circuito: " + nombreCircuito);
+			/* Es un aviso y no un resultado, as que va a la salida de errores para no mezclarse
+			 * con los datos que muestran por la salida estndar los modos sin interfaz */
+			System.err.println("Se ha cargado el circuito: " + nombreCircuito);
 		} catch (IOException | ClassNotFoundException e) {
 			e.printStackTrace();
 		}
@@ -30,7 +30,18 @@ public abstract class Colisionable {
 	 * @param posEntidad: el vector de posicin de la entidad
 	 * @return si contiene o no la posicion de la entidad
 	 */
-	public abstract boolean chocaConEntidad(PVector posEntidad);
+	public boolean chocaConEntidad(PVector posEntidad) {
+		return chocaConEntidad(posEntidad.x, posEntidad.y);
+	}
+	
+	/**
+	 * Igual que {@link #chocaConEntidad(PVector)} pero recibiendo las coordenadas por separado,
+	 * para que el ciclo de vida de las entidades no tenga que crear un vector en cada comprobacin
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
+	 * @return si contiene o no la posicion de la entidad
+	 */
+	public abstract boolean chocaConEntidad(float x, float y);
 
 	public PVector getPosicion() {
 		return posicion;
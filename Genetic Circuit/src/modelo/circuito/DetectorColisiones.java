@@ -0,0 +1,25 @@
+package modelo.circuito;
+
+/**
+ * Forma en la que el ciclo de vida de las entidades comprueba si han llegado a la meta o
+ * han chocado con algn obstculo del circuito. Permite cambiar las comprobaciones geomtricas
+ * exactas por otras ms rpidas sin que las entidades tengan que saber cul se utiliza
+ * @author Alberto
+ */
+public interface DetectorColisiones {
+
+	/**
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
+	 * @return si la entidad se encuentra dentro de la meta
+	 */
+	boolean chocaConMeta(float x, float y);
+
+	/**
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
+	 * @return si la entidad se encuentra dentro de algn obstculo
+	 */
+	boolean chocaConObstaculo(float x, float y);
+
+}
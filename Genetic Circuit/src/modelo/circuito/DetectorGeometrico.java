@@ -0,0 +1,32 @@
+package modelo.circuito;
+
+/**
+ * Detector que resuelve las colisiones con la geometra exacta de cada elemento: la ecuacin
+ * de la elipse de la meta y los rectngulos de los obstculos ms cercanos segn la rejilla
+ * @author Alberto
+ */
+public class DetectorGeometrico implements DetectorColisiones {
+
+	private final Meta meta;
+	private final RejillaObstaculos rejillaObstaculos;
+
+	/**
+	 * @param meta del circuito
+	 * @param rejillaObstaculos: ndice con los obstculos del circuito
+	 */
+	public DetectorGeometrico(Meta meta, RejillaObstaculos rejillaObstaculos) {
+		this.meta = meta;
+		this.rejillaObstaculos = rejillaObstaculos;
+	}
+
+	@Override
+	public boolean chocaConMeta(float x, float y) {
+		return meta.chocaConEntidad(x, y);
+	}
+
+	@Override
+	public boolean chocaConObstaculo(float x, float y) {
+		return rejillaObstaculos.chocaConEntidad(x, y);
+	}
+
+}
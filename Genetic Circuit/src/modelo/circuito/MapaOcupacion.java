@@ -0,0 +1,288 @@
+package modelo.circuito;
+
+/**
+ * Mapa de bits que rasteriza la meta y los obstculos de un circuito en una cuadrcula de
+ * celdas cuadradas. Como los elementos del circuito no se mueven durante la simulacin, se
+ * construye una sola vez y a partir de entonces saber si una entidad choca con algo consiste
+ * en leer el bit de la celda en la que se encuentra, en vez de resolver la geometra de cada
+ * elemento.
+ * Cada celda se clasifica como completamente dentro, completamente fuera o de borde (la
+ * atraviesa el contorno de algn elemento). Las celdas de borde son las nicas en las que el
+ * mapa puede equivocarse: se rellenan con lo que haya en su centro, o si se pide refinarlas,
+ * se resuelven con la comprobacin exacta, de forma que el resultado es siempre idntico
+ * @author Alberto
+ */
+public class MapaOcupacion implements DetectorColisiones {
+
+	/**
+	 * Margen que se aade alrededor del rea que cubre el mapa
+	 */
+	private static final float MARGEN = 1f;
+	/**
+	 * Cunto se agranda cada celda al clasificarla, para que los errores de redondeo al calcular
+	 * en qu celda cae una posicin no la asignen a una celda que no la contiene realmente
+	 */
+	private static final float EPSILON = 1e-3f;
+
+	private final Meta meta;
+	private final RejillaObstaculos rejillaObstaculos;
+	/**
+	 * Lado de cada celda y su inversa, para calcular la celda multiplicando en vez de dividiendo
+	 */
+	private final float resolucion, escala;
+	/**
+	 * Esquina superior izquierda del rea que cubre el mapa
+	 */
+	private final float origenX, origenY;
+	private final int numColumnas, numFilas;
+	/**
+	 * Si las celdas de borde se resuelven con la geometra exacta en vez de con el mapa
+	 */
+	private final boolean refinarBordes;
+	/**
+	 * Capas de bits, con un bit por celda ordenadas por filas. Las de ocupacin indican si la
+	 * celda cuenta como dentro del elemento y las de bordes si la atraviesa su contorno
+	 */
+	private final long[] ocupacionMeta, bordesMeta, ocupacionObstaculos, bordesObstaculos;
+
+	/**
+	 * Rasteriza la meta y los obstculos del circuito con la resolucin indicada
+	 * @param meta del circuito
+	 * @param rejillaObstaculos: ndice con los obstculos, que se utiliza para refinar los bordes
+	 * @param resolucion: lado en pxeles de cada celda del mapa
+	 * @param refinarBordes: si las celdas de borde se resuelven con las comprobaciones exactas
+	 */
+	public MapaOcupacion(Meta meta, RejillaObstaculos rejillaObstaculos, float resolucion, boolean refinarBordes) {
+		if(!(resolucion > 0)) {
+			throw new IllegalArgumentException("La resolucin del mapa debe ser positiva: " + resolucion);
+		}
+		this.meta = meta;
+		this.rejillaObstaculos = rejillaObstaculos;
+		this.resolucion = resolucion;
+		this.escala = 1 / resolucion;
+		this.refinarBordes = refinarBordes;
+		Obstaculo[] obstaculos = rejillaObstaculos.getObstaculos();
+		//El mapa cubre la caja que contiene a la meta y a todos los obstculos
+		float minX = meta.getPosicion().x - meta.getSemiejeHorizontal();
+		float maxX = meta.getPosicion().x + meta.getSemiejeHorizontal();
+		float minY = meta.getPosicion().y - meta.getSemiejeVertical();
+		float maxY = meta.getPosicion().y + meta.getSemiejeVertical();
+		for(Obstaculo obstaculo : obstaculos) {
+			minX = Math.min(minX, obstaculo.getPosicion().x - obstaculo.getMitadCajaX());
+			maxX = Math.max(maxX, obstaculo.getPosicion().x + obstaculo.getMitadCajaX());
+			minY = Math.min(minY, obstaculo.getPosicion().y - obstaculo.getMitadCajaY());
+			maxY = Math.max(maxY, obstaculo.getPosicion().y + obstaculo.getMitadCajaY());
+		}
+		origenX = minX - MARGEN;
+		origenY = minY - MARGEN;
+		numColumnas = (int) Math.ceil((maxX + MARGEN - origenX) * escala) + 1;
+		numFilas = (int) Math.ceil((maxY + MARGEN - origenY) * escala) + 1;
+		int numPalabras = (int) (((long) numColumnas * numFilas + 63) / 64);
+		ocupacionMeta = new long[numPalabras];
+		bordesMeta = new long[numPalabras];
+		ocupacionObstaculos = new long[numPalabras];
+		bordesObstaculos = new long[numPalabras];
+		rasterizarMeta();
+		for(Obstaculo obstaculo : obstaculos) {
+			rasterizarObstaculo(obstaculo);
+		}
+		completarBordes(ocupacionMeta, bordesMeta, false);
+		completarBordes(ocupacionObstaculos, bordesObstaculos, true);
+	}
+
+	@Override
+	public boolean chocaConMeta(float x, float y) {
+		int celda = celda(x, y);
+		if(celda < 0) {
+			return false;
+		}
+		if(refinarBordes && leerBit(bordesMeta, celda)) {
+			return meta.chocaConEntidad(x, y);
+		}
+		return leerBit(ocupacionMeta, celda);
+	}
+
+	@Override
+	public boolean chocaConObstaculo(float x, float y) {
+		int celda = celda(x, y);
+		if(celda < 0) {
+			return false;
+		}
+		if(refinarBordes && leerBit(bordesObstaculos, celda)) {
+			return rejillaObstaculos.chocaConEntidad(x, y);
+		}
+		return leerBit(ocupacionObstaculos, celda);
+	}
+
+	/**
+	 * Compara el mapa con las comprobaciones exactas de la meta y los obstculos en las
+	 * posiciones indicadas
+	 * @param puntos: coordenadas de las posiciones a comprobar, intercalando x e y
+	 * @return en cuntas posiciones el mapa da un resultado distinto en alguna de sus capas
+	 */
+	public int contarDiscrepancias(float[] puntos) {
+		int discrepancias = 0;
+		for(int i=0; i + 1 < puntos.length; i += 2) {
+			float x = puntos[i], y = puntos[i + 1];
+			if(chocaConMeta(x, y) != meta.chocaConEntidad(x, y)
+					|| chocaConObstaculo(x, y) != rejillaObstaculos.chocaConEntidad(x, y)) {
+				discrepancias++;
+			}
+		}
+		return discrepancias;
+	}
+
+	/**
+	 * @return la proporcin de celdas del mapa que son de borde en alguna de sus capas, que son
+	 * las nicas en las que el mapa sin refinar puede dar un resultado distinto al exacto
+	 */
+	public double getFraccionBordes() {
+		int bordes = 0;
+		for(int i=0; i < bordesMeta.length; i++) {
+			bordes += Long.bitCount(bordesMeta[i] | bordesObstaculos[i]);
+		}
+		return (double) bordes / ((long) numColumnas * numFilas);
+	}
+
+	/**
+	 * @return los bytes que ocupan las capas de bits del mapa
+	 */
+	public long getBytes() {
+		return 4L * 8 * ocupacionMeta.length;
+	}
+
+	/**
+	 * Calcula la celda en la que se encuentra una posicin
+	 * @return el ndice de la celda, o -1 si la posicin queda fuera del mapa
+	 */
+	private int celda(float x, float y) {
+		float relativaX = (x - origenX) * escala, relativaY = (y - origenY) * escala;
+		//Tambin descarta las posiciones que no son un nmero
+		if(!(relativaX >= 0 && relativaY >= 0)) {
+			return -1;
+		}
+		int columna = (int) relativaX, fila = (int) relativaY;
+		if(columna >= numColumnas || fila >= numFilas) {
+			return -1;
+		}
+		return fila * numColumnas + columna;
+	}
+
+	/**
+	 * Clasifica las celdas que ocupa la caja de la elipse de la meta. Una celda est dentro si
+	 * lo estn sus cuatro esquinas, ya que la elipse es convexa, y est fuera si el punto de la
+	 * celda ms cercano al centro de la elipse queda fuera de ella
+	 */
+	private void rasterizarMeta() {
+		float centroX = meta.getPosicion().x, centroY = meta.getPosicion().y;
+		float semiejeX = meta.getSemiejeHorizontal(), semiejeY = meta.getSemiejeVertical();
+		for(int fila = fila(centroY - semiejeY - EPSILON); fila <= fila(centroY + semiejeY + EPSILON); fila++) {
+			for(int columna = columna(centroX - semiejeX - EPSILON); columna <= columna(centroX + semiejeX + EPSILON); columna++) {
+				float x0 = origenX + columna * resolucion - EPSILON, x1 = x0 + resolucion + 2 * EPSILON;
+				float y0 = origenY + fila * resolucion - EPSILON, y1 = y0 + resolucion + 2 * EPSILON;
+				int celda = fila * numColumnas + columna;
+				if(esquinasDentro(meta, x0, y0, x1, y1)) {
+					escribirBit(ocupacionMeta, celda);
+					continue;
+				}
+				//Escala el espacio para que la elipse sea un crculo de radio 1 centrado en el origen
+				float cercanoX = Math.max(x0 - centroX, Math.min(0, x1 - centroX)) / semiejeX;
+				float cercanoY = Math.max(y0 - centroY, Math.min(0, y1 - centroY)) / semiejeY;
+				if(cercanoX * cercanoX + cercanoY * cercanoY <= 1) {
+					escribirBit(bordesMeta, celda);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Clasifica las celdas que ocupa la caja de un obstculo. Una celda est dentro si lo estn
+	 * sus cuatro esquinas, ya que el rectngulo es convexo, y est fuera si hay algn eje de los
+	 * dos rectngulos en el que sus proyecciones no se solapan (teorema del eje separador)
+	 * @param obstaculo a rasterizar
+	 */
+	private void rasterizarObstaculo(Obstaculo obstaculo) {
+		float centroX = obstaculo.getPosicion().x, centroY = obstaculo.getPosicion().y;
+		float mitadCajaX = obstaculo.getMitadCajaX(), mitadCajaY = obstaculo.getMitadCajaY();
+		float cos = obstaculo.getCosAngulo(), sen = obstaculo.getSenAngulo();
+		float mitadAncho = obstaculo.getAncho() / 2, mitadAlto = obstaculo.getAlto() / 2;
+		//Lo que ocupa la mitad de una celda proyectada sobre los ejes del obstculo
+		float mitadCelda = resolucion / 2 + EPSILON;
+		float mitadCeldaRotada = mitadCelda * (Math.abs(cos) + Math.abs(sen));
+		for(int fila = fila(centroY - mitadCajaY - EPSILON); fila <= fila(centroY + mitadCajaY + EPSILON); fila++) {
+			for(int columna = columna(centroX - mitadCajaX - EPSILON); columna <= columna(centroX + mitadCajaX + EPSILON); columna++) {
+				float x0 = origenX + columna * resolucion - EPSILON, x1 = x0 + resolucion + 2 * EPSILON;
+				float y0 = origenY + fila * resolucion - EPSILON, y1 = y0 + resolucion + 2 * EPSILON;
+				int celda = fila * numColumnas + columna;
+				if(esquinasDentro(obstaculo, x0, y0, x1, y1)) {
+					escribirBit(ocupacionObstaculos, celda);
+					continue;
+				}
+				float distanciaX = (x0 + x1) / 2 - centroX, distanciaY = (y0 + y1) / 2 - centroY;
+				boolean separadas = Math.abs(distanciaX) > mitadCelda + mitadCajaX
+						|| Math.abs(distanciaY) > mitadCelda + mitadCajaY
+						|| Math.abs(distanciaX * cos + distanciaY * sen) > mitadAncho + mitadCeldaRotada
+						|| Math.abs(-distanciaX * sen + distanciaY * cos) > mitadAlto + mitadCeldaRotada;
+				if(!separadas) {
+					escribirBit(bordesObstaculos, celda);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Una vez clasificadas todas las celdas, las que estn dentro de un elemento dejan de ser
+	 * de borde aunque las atraviese el contorno de otro, y el resto de celdas de borde se
+	 * rellenan con el resultado exacto en su centro
+	 * @param ocupacion: capa con las celdas que estn dentro
+	 * @param bordes: capa con las celdas de borde
+	 * @param obstaculos: si la capa es la de los obstculos o la de la meta
+	 */
+	private void completarBordes(long[] ocupacion, long[] bordes, boolean obstaculos) {
+		for(int palabra=0; palabra < bordes.length; palabra++) {
+			bordes[palabra] &= ~ocupacion[palabra];
+			long pendientes = bordes[palabra];
+			while(pendientes != 0) {
+				int celda = palabra * 64 + Long.numberOfTrailingZeros(pendientes);
+				pendientes &= pendientes - 1;
+				float x = origenX + (celda % numColumnas + 0.5f) * resolucion;
+				float y = origenY + (celda / numColumnas + 0.5f) * resolucion;
+				boolean dentro = obstaculos ? rejillaObstaculos.chocaConEntidad(x, y) : meta.chocaConEntidad(x, y);
+				if(dentro) {
+					escribirBit(ocupacion, celda);
+				}
+			}
+		}
+	}
+
+	private static boolean esquinasDentro(Colisionable elemento, float x0, float y0, float x1, float y1) {
+		return elemento.chocaConEntidad(x0, y0) && elemento.chocaConEntidad(x1, y0)
+				&& elemento.chocaConEntidad(x0, y1) && elemento.chocaConEntidad(x1, y1);
+	}
+
+	private int columna(float x) {
+		return Math.max(0, Math.min(numColumnas - 1, (int) ((x - origenX) * escala)));
+	}
+
+	private int fila(float y) {
+		return Math.max(0, Math.min(numFilas - 1, (int) ((y - origenY) * escala)));
+	}
+
+	private static boolean leerBit(long[] capa, int celda) {
+		//El desplazamiento de un long slo utiliza los 6 bits ms bajos de la celda
+		return (capa[celda >>> 6] & (1L << celda)) != 0;
+	}
+
+	private static void escribirBit(long[] capa, int celda) {
+		capa[celda >>> 6] |= 1L << celda;
+	}
+
+	public float getResolucion() {
+		return resolucion;
+	}
+
+	public boolean isRefinarBordes() {
+		return refinarBordes;
+	}
+
+}
@@ -27,14 +27,15 @@ public class Meta extends Colisionable{
 	/**
 	 * Determina si la meta contiene la posicin actual de una entidad, para saber si colisiona
 	 * o no con ella.
-	 * @param posEntidad: el vector de posicin de la entidad
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
 	 * @return si contiene o no la posicion de la entidad
 	 */
 	@Override
-	public boolean chocaConEntidad(PVector posEntidad) {
+	public boolean chocaConEntidad(float x, float y) {
 		//Distancia de la entidad al centro de la elipse en ambos ejes
-		float distanciaCentroX = posEntidad.x - this.posicion.x;
-		float distanciaCentroY = posEntidad.y - this.posicion.y;
+		float distanciaCentroX = x - this.posicion.x;
+		float distanciaCentroY = y - this.posicion.y;
 		/* Obtiene la distancia real de la entidad respecto a la superficie de la elipse.
 		 * La frmula se basa en la ecuacin de la elipse
 		 * https://es.wikipedia.org/wiki/Semieje_mayor_y_semieje_menor
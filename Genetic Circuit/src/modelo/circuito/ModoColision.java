@@ -0,0 +1,49 @@
+package modelo.circuito;
+
+/**
+ * Formas disponibles de detectar las colisiones de las entidades con el circuito
+ * @author Alberto
+ */
+public enum ModoColision {
+	/**
+	 * Comprueba la geometra exacta de la meta y los obstculos
+	 */
+	GEOMETRICO("geometrico"),
+	/**
+	 * Consulta un nico bit de un mapa de ocupacin rasterizado. Es aproximado en las celdas
+	 * por las que pasa el borde de algn elemento, as que su precisin depende de la resolucin
+	 */
+	MAPA_OCUPACION("mapa"),
+	/**
+	 * Consulta el mapa de ocupacin, pero en las celdas de borde recurre a la geometra exacta,
+	 * por lo que obtiene siempre los mismos resultados que el modo geomtrico
+	 */
+	MAPA_REFINADO("refinado");
+
+	private final String nombre;
+
+	private ModoColision(String nombre) {
+		this.nombre = nombre;
+	}
+
+	/**
+	 * @return el nombre con el que se indica el modo al ejecutar la simulacin
+	 */
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * Obtiene un modo a partir de su nombre, tal y como se indica al ejecutar la simulacin
+	 * @param nombre: geometrico, mapa o refinado
+	 * @return el modo correspondiente
+	 */
+	public static ModoColision crear(String nombre) {
+		for(ModoColision modo : values()) {
+			if(modo.nombre.equalsIgnoreCase(nombre)) {
+				return modo;
+			}
+		}
+		throw new IllegalArgumentException("Modo de colisin desconocido: " + nombre);
+	}
+}
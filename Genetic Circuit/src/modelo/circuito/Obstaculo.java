@@ -1,6 +1,5 @@
 package modelo.circuito;
 
-import processing.core.PMatrix2D;
 import processing.core.PVector;
 import vista.Ventana;
 
@@ -12,6 +11,11 @@ import vista.Ventana;
 public class Obstaculo extends Colisionable {
 
 	private float angulo;
+	/**
+	 * Coseno y seno del ngulo de rotacin. Se calculan una sola vez al cambiar el ngulo,
+	 * en vez de en cada comprobacin de colisin, ya que el obstculo no rota por s mismo
+	 */
+	private float cosAngulo, senAngulo;
 
 	/**
 	 * Constructor
@@ -22,22 +26,23 @@ public class Obstaculo extends Colisionable {
 	 */
 	public Obstaculo(PVector posicion, float ancho, float alto, float angulo) {
 		super(posicion, ancho, alto);
-		this.angulo = Ventana.radians(angulo); //Convierte grados en radianes
+		setAngulo(Ventana.radians(angulo)); //Convierte grados en radianes
 	}
 	
 	/**
 	 * Determina si el obstculo contiene la posicin actual de una entidad, para saber si colisiona
 	 * o no con l.
-	 * @param posEntidad: el vector de posicin de la entidad
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
 	 * @return si la entidad colisiona o no con el obstculo
 	 */
 	@Override
-	public boolean chocaConEntidad(PVector posEntidad) {
+	public boolean chocaConEntidad(float x, float y) {
 		//Si el ngulo es 0, no hay rotacin y se puede resolver de manera ms sencilla y eficiente
 		if(angulo == 0) {
-			return colisionSinRotacion(posEntidad);
+			return colisionSinRotacion(x, y);
 		} else {
-			return colisionConRotacion(posEntidad);
+			return colisionConRotacion(x, y);
 		}
 	}
 
@@ -45,10 +50,11 @@ public class Obstaculo extends Colisionable {
 	 * Determina si el rectngulo del obstculo contiene la posicin de la entidad en caso de que
 	 * su ngulo de rotacin sea 0. Este mtodo asume que el obstculo es un rectngulo y que
 	 * la posicion de la entidad es donde va a chocar exactamente (la punta de un tringulo)
-	 * @param posEntidad: el vector de posicin de la entidad
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
 	 * @return si la entidad colisiona o no con el obstculo
 	 */
-	private boolean colisionSinRotacion(PVector posEntidad) {
+	private boolean colisionSinRotacion(float x, float y) {
 		/* Obtiene la coordenada en el eje X de la esquina superior izquierda a partir de
 		 * restarle la mitad del ancho, ya que la posicin del rectngulo es su centro.
 		 * Con este punto podemos determinar si colisiona horizontalmente con la entidad
@@ -65,8 +71,8 @@ public class Obstaculo extends Colisionable {
 		 * Esto quiere decir que la posicin de la entidad coincide en ese eje con algn punto 
 		 * del lado horizontal o vertical del rectngulo.
 		 */
-		boolean contieneEnX = posEntidad.x >= esquinaX && posEntidad.x <= esquinaX + ancho;
-		boolean contieneEnY = posEntidad.y >= esquinaY && posEntidad.y <= esquinaY + alto;
+		boolean contieneEnX = x >= esquinaX && x <= esquinaX + ancho;
+		boolean contieneEnY = y >= esquinaY && y <= esquinaY + alto;
 		//Si la entidad est contenida tanto en el eje X como el eje Y, hay colisin
 		return contieneEnX && contieneEnY;
 	}
@@ -75,38 +81,34 @@ public class Obstaculo extends Colisionable {
 	 * Determina si el rectngulo del obstculo contiene la posicin de la entidad en caso de que
 	 * su ngulo de rotacin sea distinto a 0. Este mtodo asume que el obstculo es un rectngulo y que
 	 * la posicion de la entidad es donde va a chocar exactamente (la punta de un tringulo)
-	 * @param posEntidad: el vector de posicin de la entidad
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
 	 * @return si la entidad colisiona o no con el obstculo
 	 */
-	private boolean colisionConRotacion(PVector posEntidad) {
+	private boolean colisionConRotacion(float x, float y) {
 		/* Calculamos la posicin relativa de la entidad respecto al centro del rectngulo.
 		 * Para ello tenemos que restar el vector del obstculo al vector de la entidad.
 		 * Ese vector resultante representa la separacin entre ambas posiciones
 		 */
-		PVector posRelativa = PVector.sub(posEntidad, posicion);
+		float relativaX = x - posicion.x;
+		float relativaY = y - posicion.y;
 		/* Como el ngulo est rotado, queremos revertir esa rotacin para ver si se encuentra
 		 * dentro de los lmites del rectngulo conociendo ya su posicin relativa al centro.
 		 * Si el obstculo est rotado en x radianes, para invertir ese ngulo habr que rotarlo 
 		 * en -x radianes.
 	     * Obtenemos la posicin relativa rotada inversamente para que est en el ngulo de los
-	     * ejes original (0 radianes). Para ello, aplicamos a su vector una matriz de transformacin
-	     * de rotacin, que implica multiplicar las siguientes matrices:
+	     * ejes original (0 radianes). Para ello, le aplicamos la matriz de rotacin de -x radianes:
 	     * https://es.wikipedia.org/wiki/Matriz_de_rotaci%C3%B3n
 	     * ----------------------	---------------
 	     * |cosAngulo senAngulo | x |posRelativa.x| 
 	     * |-senAngulo cosAngulo|	|posRelativa.y|
 	     * ----------------------	---------------
-	     * Esto dar como resultado un vector rotado en 0 radianes respecto al sistema de coordenadas
-	     */
-		//Podemos obtener esa matriz de rotacin a partir de rotar una matriz identidad en el ngulo
-	    PMatrix2D matrizRotacion = new PMatrix2D(); 
-	    matrizRotacion.rotate(-angulo);
-	    /* Aplicamos la matriz al vector para rotarlo y obtener las coordenadas del nuevo vector que
-	     * parte de la posicin relativa rotada en el ngulo invertido
+	     * Esto dar como resultado un vector rotado en 0 radianes respecto al sistema de coordenadas.
+	     * El producto se hace directamente con el seno y coseno ya calculados, sin crear vectores
+	     * ni matrices, porque este mtodo se llama por cada entidad en cada frame
 	     */
-	    PVector posRotada = new PVector();
-	    posRotada.x = posRelativa.x * matrizRotacion.m00 + posRelativa.y * matrizRotacion.m01;
-	    posRotada.y = posRelativa.x * matrizRotacion.m10 + posRelativa.y * matrizRotacion.m11;
+	    float rotadaX = relativaX * cosAngulo + relativaY * senAngulo;
+	    float rotadaY = -relativaX * senAngulo + relativaY * cosAngulo;
 	    /* Como ahora estamos trabajando sobre el origen de coordenadas, si quisieramos comprobar
 	     * los lmites del rectngulo, asumimos que el centro es (0,0) y que por tanto sus esquinas
 	     * son resultado de restarle y/o sumarle la mitad de su ancho y alto
@@ -118,17 +120,47 @@ public class Obstaculo extends Colisionable {
 	     * aplicado ninguna transformacin sobre este (traslacin y rotacin). Ser la misma 
 	     * operacin que haramos si no estuviese rotado el obstculo.
 	     */
-	    boolean colisionaX = posRotada.x >= -mitadAncho && posRotada.x <= mitadAncho; 
-	    boolean colisionaY = posRotada.y >= -mitadAlto && posRotada.y <= mitadAlto;
+	    boolean colisionaX = rotadaX >= -mitadAncho && rotadaX <= mitadAncho; 
+	    boolean colisionaY = rotadaY >= -mitadAlto && rotadaY <= mitadAlto;
 	    return colisionaX && colisionaY;
 	}
 	
+	/**
+	 * La mitad de la caja alineada con los ejes que contiene a un rectngulo rotado es la suma
+	 * de lo que ocupan en cada eje la mitad de su ancho y la mitad de su alto tras rotarlos
+	 * @return la mitad del ancho de esa caja
+	 */
+	public float getMitadCajaX() {
+		return Math.abs(cosAngulo) * ancho / 2 + Math.abs(senAngulo) * alto / 2;
+	}
+
+	/**
+	 * @return la mitad del alto de la caja alineada con los ejes que contiene al obstculo
+	 * @see #getMitadCajaX()
+	 */
+	public float getMitadCajaY() {
+		return Math.abs(senAngulo) * ancho / 2 + Math.abs(cosAngulo) * alto / 2;
+	}
+
+	public float getCosAngulo() {
+		return cosAngulo;
+	}
+
+	public float getSenAngulo() {
+		return senAngulo;
+	}
+
 	public float getAngulo() {
 		return angulo;
 	}
 
+	/**
+	 * @param angulo de rotacin en radianes
+	 */
 	public void setAngulo(float angulo) {
 		this.angulo = angulo;
+		cosAngulo = (float) Math.cos(angulo);
+		senAngulo = (float) Math.sin(angulo);
 	}
 
 }
@@ -0,0 +1,141 @@
+package modelo.circuito;
+
+/**
+ * ndice espacial de los obstculos de un circuito. Divide el espacio que ocupan en una
+ * rejilla de celdas cuadradas del mismo tamao y anota en cada celda qu obstculos la tocan,
+ * de forma que para saber si una entidad choca con alguno slo hay que comprobar los de la
+ * celda en la que se encuentra, en vez de recorrerlos todos.
+ * Se construye una sola vez al cargar el circuito, ya que los obstculos no se mueven
+ * @author Alberto
+ */
+public class RejillaObstaculos {
+
+	/**
+	 * Margen que se aade alrededor de cada obstculo al repartirlo en las celdas, para que
+	 * los errores de redondeo de los rectngulos rotados no dejen fuera ningn borde
+	 */
+	private static final float MARGEN = 1f;
+
+	private final Obstaculo[] obstaculos;
+	/**
+	 * Lado de cada celda cuadrada de la rejilla
+	 */
+	private final float tamanoCelda;
+	/**
+	 * Esquina superior izquierda del rea que cubre la rejilla
+	 */
+	private final float origenX, origenY;
+	/**
+	 * Nmero de columnas y filas de la rejilla
+	 */
+	private final int numColumnas, numFilas;
+	/**
+	 * Los obstculos de la celda c son los ndices que hay en indicesObstaculos entre las
+	 * posiciones inicioCelda[c] (incluida) e inicioCelda[c+1] (excluida). As todas las celdas
+	 * comparten un nico array en vez de tener una lista cada una
+	 */
+	private final int[] inicioCelda, indicesObstaculos;
+
+	/**
+	 * Reparte los obstculos en las celdas que ocupa la caja que los contiene. En los obstculos
+	 * rotados se utiliza la caja alineada con los ejes que contiene al rectngulo rotado
+	 * @param obstaculos del circuito
+	 * @param tamanoCelda: lado de cada celda
+	 */
+	public RejillaObstaculos(Obstaculo[] obstaculos, float tamanoCelda) {
+		this.obstaculos = obstaculos;
+		this.tamanoCelda = tamanoCelda;
+		//Calcula la caja de cada obstculo y el rea total que cubren entre todos
+		float[] minX = new float[obstaculos.length], minY = new float[obstaculos.length];
+		float[] maxX = new float[obstaculos.length], maxY = new float[obstaculos.length];
+		float areaMinX = Float.MAX_VALUE, areaMinY = Float.MAX_VALUE;
+		float areaMaxX = -Float.MAX_VALUE, areaMaxY = -Float.MAX_VALUE;
+		for(int i=0; i < obstaculos.length; i++) {
+			Obstaculo obstaculo = obstaculos[i];
+			float mitadCajaX = obstaculo.getMitadCajaX() + MARGEN;
+			float mitadCajaY = obstaculo.getMitadCajaY() + MARGEN;
+			minX[i] = obstaculo.getPosicion().x - mitadCajaX;
+			maxX[i] = obstaculo.getPosicion().x + mitadCajaX;
+			minY[i] = obstaculo.getPosicion().y - mitadCajaY;
+			maxY[i] = obstaculo.getPosicion().y + mitadCajaY;
+			areaMinX = Math.min(areaMinX, minX[i]);
+			areaMinY = Math.min(areaMinY, minY[i]);
+			areaMaxX = Math.max(areaMaxX, maxX[i]);
+			areaMaxY = Math.max(areaMaxY, maxY[i]);
+		}
+		if(obstaculos.length == 0) {
+			areaMinX = areaMinY = areaMaxX = areaMaxY = 0;
+		}
+		origenX = areaMinX;
+		origenY = areaMinY;
+		numColumnas = Math.max(1, (int) Math.ceil((areaMaxX - areaMinX) / tamanoCelda) + 1);
+		numFilas = Math.max(1, (int) Math.ceil((areaMaxY - areaMinY) / tamanoCelda) + 1);
+		/* Primero cuenta cuntos obstculos caen en cada celda para saber dnde empieza cada una,
+		 * y despus vuelve a recorrerlos para anotar sus ndices en la posicin que les toca */
+		inicioCelda = new int[numColumnas * numFilas + 1];
+		for(int i=0; i < obstaculos.length; i++) {
+			for(int fila = fila(minY[i]); fila <= fila(maxY[i]); fila++) {
+				for(int columna = columna(minX[i]); columna <= columna(maxX[i]); columna++) {
+					inicioCelda[fila * numColumnas + columna + 1]++;
+				}
+			}
+		}
+		for(int c=0; c < numColumnas * numFilas; c++) {
+			inicioCelda[c + 1] += inicioCelda[c];
+		}
+		indicesObstaculos = new int[inicioCelda[numColumnas * numFilas]];
+		int[] siguiente = new int[numColumnas * numFilas];
+		for(int i=0; i < obstaculos.length; i++) {
+			for(int fila = fila(minY[i]); fila <= fila(maxY[i]); fila++) {
+				for(int columna = columna(minX[i]); columna <= columna(maxX[i]); columna++) {
+					int celda = fila * numColumnas + columna;
+					indicesObstaculos[inicioCelda[celda] + siguiente[celda]++] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determina si la posicin de una entidad est dentro de alguno de los obstculos,
+	 * comprobando nicamente los que tocan la celda en la que se encuentra
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
+	 * @return si la entidad colisiona con algn obstculo
+	 */
+	public boolean chocaConEntidad(float x, float y) {
+		//Fuera de la rejilla no hay ningn obstculo con el que chocar
+		float relativaX = x - origenX, relativaY = y - origenY;
+		if(!(relativaX >= 0 && relativaY >= 0)) {
+			return false;
+		}
+		int columna = (int) (relativaX / tamanoCelda);
+		int fila = (int) (relativaY / tamanoCelda);
+		if(columna >= numColumnas || fila >= numFilas) {
+			return false;
+		}
+		int celda = fila * numColumnas + columna;
+		for(int k = inicioCelda[celda]; k < inicioCelda[celda + 1]; k++) {
+			if(obstaculos[indicesObstaculos[k]].chocaConEntidad(x, y)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int columna(float x) {
+		return Math.min(numColumnas - 1, (int) ((x - origenX) / tamanoCelda));
+	}
+
+	private int fila(float y) {
+		return Math.min(numFilas - 1, (int) ((y - origenY) / tamanoCelda));
+	}
+
+	public Obstaculo[] getObstaculos() {
+		return obstaculos;
+	}
+
+	public float getTamanoCelda() {
+		return tamanoCelda;
+	}
+
+}
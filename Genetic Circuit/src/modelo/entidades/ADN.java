@@ -1,7 +1,7 @@
 package modelo.entidades;
 
-import processing.core.PVector;
-import java.util.Random;
+import processing.core.PConstants;
+import java.util.random.RandomGenerator;
 
 /**
  * Genotipo de la entidad, que determina qu movimientos podr realizar en su ciclo de vida
@@ -19,58 +19,95 @@ public class ADN {
 	private static final float FUERZA_MIN = 0.1f;
 	
 	/**
-	 * Genes del genotipo, un array de vectores que actan como fuerzas
+	 * Genes del genotipo, vectores que actan como fuerzas. Se guardan en un nico array de
+	 * primitivos con las componentes intercaladas: el gen i tiene su componente x en la
+	 * posicin 2*i y su componente y en la posicin 2*i+1. As cada genotipo es un solo
+	 * objeto en memoria en vez de uno por cada fuerza
 	 */
-	private PVector[] genes;
-	
-	private Random random = new Random();
+	private float[] genes;
 	
 	/**
-	 * Constructor que toma un array de vectores que harn de genes de la entidad
+	 * Constructor que toma un array con las componentes intercaladas de las fuerzas que
+	 * harn de genes de la entidad
 	 * @param genes
 	 */
-	public ADN (PVector[] genes) {
+	public ADN (float[] genes) {
 		this.genes = genes;
 	}
 	
 	/**
 	 * Constructor que genera aleatoriamente tantos genes como fuerzas deber aplicar.
 	 * @param numFuerzas: viene determinado por el tiempo de vida de la entidad en frames
+	 * @param random: generador de nmeros aleatorios a utilizar
 	 */
-	public ADN (int numFuerzas) {
-		genes = generarGenesAleatorios(numFuerzas);
+	public ADN (int numFuerzas, RandomGenerator random) {
+		genes = new float[numFuerzas * 2];
+		for (int i=0; i < numFuerzas; i++) {
+			generarGenAleatorio(i, random);
+		}
 	}
 
 	/**
 	 * Modifica un gen de forma que se convierte en un vector aleatorio.
 	 * El vector puede tener cualquier direccin y sentido, y su magnitud (la intensidad de
-	 * la fuerza) tiene un rango entre el valor mnimo y mximo especificado
-	 * @param gen
+	 * la fuerza) tiene un rango entre el valor mnimo y mximo especificado.
+	 * El genotipo no tiene generador propio, as que los genes slo dependen del que se le pase
+	 * @param gen: ndice del gen que debe cambiar
+	 * @param random: generador de nmeros aleatorios a utilizar
 	 */
-	public void generarGenAleatorio(PVector gen) {
-		/* Random2D devuelve un vector unitario (con una magnitud de 1) en una direccin y sentido
-		 * aleatorio. Para darle una magnitud aleatoria (dentro del rango especificado), hay
-		 * que mutiplicar el vector unitario por el escalar, que determina el "tamao" del vector
+	public void generarGenAleatorio(int gen, RandomGenerator random) {
+		/* Se obtiene un ngulo aleatorio que da la direccin y sentido del vector unitario, y
+		 * para darle una magnitud aleatoria (dentro del rango especificado), se multiplican sus
+		 * componentes por el escalar, que determina el "tamao" del vector
 		 */
-		gen = PVector.random2D().mult(random.nextFloat(FUERZA_MIN, FUERZA_MAX));
+		float angulo = random.nextFloat() * PConstants.TWO_PI;
+		float magnitud = random.nextFloat(FUERZA_MIN, FUERZA_MAX);
+		genes[gen * 2] = (float) Math.cos(angulo) * magnitud;
+		genes[gen * 2 + 1] = (float) Math.sin(angulo) * magnitud;
 	}
 	
 	/**
-	 * Genera un array de vectores con el tamao del nmero de fuerzas a aplicar.
-	 * Cada elemento es un nuevo vector con direccin, sentido y mangitud aleatorios.
-	 * @param numFuerzas
-	 * @return el array de vectores que harn de genes
+	 * Desplaza un gen sumndole a cada componente un valor aleatorio de una distribucin normal,
+	 * de forma que la fuerza cambia poco en vez de ser sustituida por otra cualquiera. Despus
+	 * se ajusta su magnitud para que siga dentro del rango permitido
+	 * @param gen: ndice del gen que debe cambiar
+	 * @param desviacion: desviacin tpica de la perturbacin de cada componente
+	 * @param random: generador de nmeros aleatorios a utilizar
 	 */
-	private PVector[] generarGenesAleatorios(int numFuerzas) {
-		PVector[] genesAleatorios = new PVector[numFuerzas];
-		for (int i=0; i < genesAleatorios.length; i++) {
-			genesAleatorios[i] = PVector.random2D().mult(random.nextFloat(FUERZA_MIN, FUERZA_MAX));
+	public void perturbarGen(int gen, float desviacion, RandomGenerator random) {
+		float fuerzaX = genes[gen * 2] + (float) random.nextGaussian() * desviacion;
+		float fuerzaY = genes[gen * 2 + 1] + (float) random.nextGaussian() * desviacion;
+		float magnitud = (float) Math.sqrt(fuerzaX * fuerzaX + fuerzaY * fuerzaY);
+		//Si se queda sin direccin, no se puede escalar y pasa a ser un gen aleatorio
+		if(magnitud == 0) {
+			generarGenAleatorio(gen, random);
+			return;
 		}
-		return genesAleatorios;
+		float escala = Math.min(Math.max(magnitud, FUERZA_MIN), FUERZA_MAX) / magnitud;
+		genes[gen * 2] = fuerzaX * escala;
+		genes[gen * 2 + 1] = fuerzaY * escala;
 	}
 	
-	public PVector[] getGenes() {
+	/**
+	 * @return el array con las componentes intercaladas de todos los genes
+	 */
+	public float[] getGenes() {
 		return genes;
 	}
+	
+	/**
+	 * @return el nmero de fuerzas (genes) que contiene el genotipo
+	 */
+	public int getNumGenes() {
+		return genes.length / 2;
+	}
+	
+	public float getFuerzaX(int gen) {
+		return genes[gen * 2];
+	}
+	
+	public float getFuerzaY(int gen) {
+		return genes[gen * 2 + 1];
+	}
 
 }
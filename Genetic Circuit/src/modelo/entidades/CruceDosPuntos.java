@@ -0,0 +1,32 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Cruce de dos puntos: se escogen al azar dos genes de corte, y el hijo recibe los genes entre
+ * ambos del segundo pariente y los de fuera del primero. A diferencia del cruce de un punto,
+ * el principio y el final de la ruta pueden venir del mismo pariente
+ * @author Alberto
+ */
+public class CruceDosPuntos implements OperadorCruce {
+
+	@Override
+	public void cruzar(float[] genesPariente1, float[] genesPariente2, float[] genesHijo, int numGenes, RandomGenerator random) {
+		int corte1 = random.nextInt(numGenes + 1);
+		int corte2 = random.nextInt(numGenes + 1);
+		if(corte1 > corte2) {
+			int corte = corte1;
+			corte1 = corte2;
+			corte2 = corte;
+		}
+		System.arraycopy(genesPariente1, 0, genesHijo, 0, corte1 * 2);
+		System.arraycopy(genesPariente2, corte1 * 2, genesHijo, corte1 * 2, (corte2 - corte1) * 2);
+		System.arraycopy(genesPariente1, corte2 * 2, genesHijo, corte2 * 2, (numGenes - corte2) * 2);
+	}
+
+	@Override
+	public String getNombre() {
+		return "dospuntos";
+	}
+
+}
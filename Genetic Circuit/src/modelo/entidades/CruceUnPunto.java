@@ -0,0 +1,26 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Cruce de un punto: se escoge al azar un gen de corte, y el hijo recibe los genes anteriores
+ * del primer pariente y el resto del segundo. Conserva juntas las fuerzas consecutivas de
+ * cada pariente, que son las que forman los tramos de su ruta
+ * @author Alberto
+ */
+public class CruceUnPunto implements OperadorCruce {
+
+	@Override
+	public void cruzar(float[] genesPariente1, float[] genesPariente2, float[] genesHijo, int numGenes, RandomGenerator random) {
+		//El corte puede caer en los extremos, en cuyo caso el hijo es una copia de un pariente
+		int corte = random.nextInt(numGenes + 1);
+		System.arraycopy(genesPariente1, 0, genesHijo, 0, corte * 2);
+		System.arraycopy(genesPariente2, corte * 2, genesHijo, corte * 2, (numGenes - corte) * 2);
+	}
+
+	@Override
+	public String getNombre() {
+		return "unpunto";
+	}
+
+}
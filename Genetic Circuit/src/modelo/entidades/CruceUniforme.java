@@ -0,0 +1,40 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Cruce uniforme: cada gen tiene un 50% de posibilidades de venir de un pariente u otro, como
+ * si se tirara una moneda al aire para cada uno. En vez de pedir una tirada por gen, cada
+ * nextLong() aporta las tiradas de 64 genes seguidos, una por bit.
+ * Los genes se copian de uno en uno: los tramos seguidos del mismo pariente miden de media
+ * dos genes, as que copiarlos por tramos con System.arraycopy() resulta ms lento
+ * @author Alberto
+ */
+public class CruceUniforme implements OperadorCruce {
+
+	/**
+	 * Genes cuyas tiradas salen de cada nmero aleatorio
+	 */
+	private static final int GENES_POR_TIRADA = Long.SIZE;
+
+	@Override
+	public void cruzar(float[] genesPariente1, float[] genesPariente2, float[] genesHijo, int numGenes, RandomGenerator random) {
+		long tiradas = 0;
+		for(int gen=0; gen < numGenes; gen++) {
+			if(gen % GENES_POR_TIRADA == 0) {
+				tiradas = random.nextLong();
+			}
+			//El bit ms bajo indica si el gen viene del primer pariente
+			float[] genesElegidos = (tiradas & 1) != 0 ? genesPariente1 : genesPariente2;
+			tiradas >>>= 1;
+			genesHijo[gen * 2] = genesElegidos[gen * 2];
+			genesHijo[gen * 2 + 1] = genesElegidos[gen * 2 + 1];
+		}
+	}
+
+	@Override
+	public String getNombre() {
+		return "uniforme";
+	}
+
+}
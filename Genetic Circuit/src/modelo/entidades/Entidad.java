@@ -1,8 +1,5 @@
 package modelo.entidades;
 
-import modelo.circuito.Meta;
-import modelo.circuito.Obstaculo;
-import processing.core.PMatrix2D;
 import processing.core.PVector;
 
 /**
@@ -18,34 +15,17 @@ public class Entidad {
 	 * Genotipo de la entidad
 	 */
 	private ADN adn;
-	/**
-	 * Qu gen le toca aplicar para moverse
-	 */
-	private int genActual;
 	
 	private Poblacion poblacion;
 	/**
-	 * Parmetros que determinan su movimiento en el espacio
-	 */
-	private PVector posicion, velocidad, aceleracion;
-	/**
-	 * Flags que se activan cuando colisiona con la meta o con algn obstculo
+	 * Arrays de la poblacin donde se guardan la posicin, velocidad, aceleracin, distancias,
+	 * tiempo y flags de colisin de la entidad, en la posicin que indica su ndice
 	 */
-	private boolean haChocado, haLlegado;
+	private EstadoEntidades estado;
 	/**
 	 * Calificacin que recibe tras evaluar cmo de cerca que ha quedado de cumplir su objetivo
 	 */
 	private double aptitud;
-	
-	/**
-	 * Distancia "record" mnima a la que se ha quedado de la meta hasta el momento
-	 */
-	private float distanciaMinima;
-	
-	/**
-	 * El tiempo que ha tardado en llegar a la meta, si es que ha llegado
-	 */
-	private int tiempoObtenido;
 	/**
 	 * Flag que indica si la entidad est siendo monitorizada en el panel de control
 	 */
@@ -55,61 +35,39 @@ public class Entidad {
 	 * cmo de superpuesta est respecto al resto de entidades 
 	 */
 	private int indice;
-	/**
-	 * Distancia a la que se encuentra de la meta en en frame actual
-	 */
-	private float distancia;
 	
 	/**
 	 * Constructor que a partir de la poblacin, establece los parmetros iniciales de la
-	 * entidad, como la posicin inicial y la distancia mnima. Segn reciba un ADN como argumento
-	 * o no, se le asignar el genotipo que le corresponde o se le crear uno nuevo
+	 * entidad, como la posicin inicial y la distancia mnima, y le asigna su genotipo
 	 * @param poblacion a la que pertenece
-	 * @param adn: genotipo
+	 * @param adn: genotipo, que la poblacin crea con genes aleatorios en la primera generacin
 	 */
 	public Entidad(Poblacion poblacion, ADN adn, int indice) {
 		this.poblacion = poblacion;
 		this.indice = indice;
-		//Se copia el vector de posicin inicial que comparten todas las entidades de la poblacin
-		posicion = poblacion.getPosInicial().copy();
-		//Velocidad y aceleracin comienzan vacas ya que se modificarn segn se apliquen fuerzas
-		velocidad = new PVector(0,0);
-		aceleracion = new PVector(0,0);
-		aptitud = genActual = 0;
-		tiempoObtenido = 0;
-		haChocado = haLlegado = false;
-		//La primera distancia "record" es la distancia entre la meta y el punto inicial
-		distanciaMinima = PVector.dist(posicion, poblacion.getContexto().getMeta().getPosicion());
-		if(adn != null) {
-			this.adn = adn;
-		} else {
-			/* En caso de no recibir ningun adn (slo si es la primera generacin que se crea) se genera 
-			 * uno nuevo con tantos genes como tiempo de vida tengan las entidades
-			 */
-			this.adn = new ADN(poblacion.getTiempoVida());
-		}
+		reiniciar(adn);
 	}
 	
 	/**
-	 * Ciclo de vida de una entidad. Mientras queden genes por utilizar, se obtiene el vector
-	 * de fuerza que debe aplicarse en ese frame para desplazarse en el espacio, y comprueba
-	 * si colisiona con algn elemento. De hacerlo (choca con obstculo o llega a la meta),
-	 * no contina desplazndose. Si ha llegado a la meta, su tiempo obtenido para de contar,
-	 * pero si ha chocado con un obstculo sigue incrementando a pesar de no moverse
-	 */
-	public void actuar() {
-		//Comprobar colisiones actualizar las flags para saber si debe seguir movinose
-		if (!haChocado && !haLlegado) {
-			//Obtiene la fuerza a aplicarle a partir del gen de su adn que toca para ese frame
-			PVector fuerzaGenetica = adn.getGenes()[genActual];
-			genActual++; //Incrementa el gen actual para el siguiente frame
-			desplazar(fuerzaGenetica); //Su desplazamiento depender de la fuerza aplicada
-			comprobarColisiones();
-		} else if(haChocado) {
-			tiempoObtenido++; 
-		}
+	 * Vuelve a colocar la entidad en el punto de partida con un nuevo genotipo, como si fuera
+	 * una entidad recin creada. La poblacin la reutiliza as de una generacin a otra en
+	 * vez de crear otra entidad para cada hijo
+	 * @param adn: genotipo que tendr a partir de ahora
+	 */
+	void reiniciar(ADN adn) {
+		this.adn = adn;
+		//Los arrays de estado pueden haberse sustituido si ha cambiado el tamao de la poblacin
+		this.estado = poblacion.getEstadoEntidades();
+		aptitud = 0;
+		monitorizada = false;
+		/* Se coloca en la posicin inicial que comparten todas las entidades de la poblacin, sin
+		 * velocidad ni aceleracin. La primera distancia "record" es la distancia entre la meta
+		 * y el punto inicial */
+		PVector posInicial = poblacion.getPosInicial();
+		float distanciaInicial = PVector.dist(posInicial, poblacion.getContexto().getMeta().getPosicion());
+		estado.reiniciar(indice, adn, posInicial, distanciaInicial);
 	}
-
+	
 	/**
 	 * Califica a la entidad actualizando su valor de aptitud dependiendo de lo cerca que
 	 * se ha quedado de cumplir el objetivo de llegar a la meta en el tiempo indicado
@@ -122,6 +80,8 @@ public class Entidad {
 		 * obtenido del tiempo objetivo. El factor de la frmula viene determinado por tanto
 		 * por el tiempo objetivo entre el tiempo obtenido, para calcular la proporcin
 		 */
+		int tiempoObtenido = getTiempoObtenido();
+		float distanciaMinima = getDistanciaMinima();
 		factorTiempo = (double)poblacion.getTiempoObjetivo() / (double)tiempoObtenido;
 		/* Para optimizar los resultados, se eleva el factor a una potencia de 1 partido por
 		 * un valor (como el factor es un decimal por debajo del 1, si queremos incrementar 
@@ -136,7 +96,7 @@ public class Entidad {
 		 * dividido entre tiempo obtenido por distancia mnima. */
 		aptitud = factorTiempo / (tiempoObtenido * distanciaMinima);
 		//Si ha llegado a la meta, debe verse recompensado y por tanto mutiplica su aptitud
-		if (haLlegado) {
+		if (isHaLlegado()) {
 			aptitud *= 4; //Tras realizar pruebas, 4 es el mltiplo que obtiene mejores resultados
 		}
 		/* Puede ser razonable pensar que hara falta penalizar a los que se chocan, sin embargo,
@@ -149,99 +109,44 @@ public class Entidad {
 	
 	/**
 	 * Comprueba si la posicion del raton est dentro de la hitbox de la entidad.
-	 * El algoritmo de colisin es muy parecido al de los obstculos.
+	 * El algoritmo de colisin es muy parecido al de los obstculos, pero en vez de calcular
+	 * el ngulo de la entidad, la rotacin inversa se obtiene de su velocidad normalizada,
+	 * cuyas componentes son directamente el coseno y el seno del ngulo en el que se dibuja
 	 * @param posRaton
 	 * @return si la hitbox contiene donde se encuentra el ratn
 	 */
 	public boolean contieneRaton(PVector posRaton) {
-		//Distancia relativa del ratn a la entidad
-		PVector posRelativa = PVector.sub(posRaton, posicion);
-		//Posicin relativa rotada en el angulo inverso al de la entidad
-		PVector posRotada = rotarPosicionRelativa(posRelativa);
-	    return posCoincideConHitbox(posRotada);
+		return hitboxContiene(estado.posX[indice], estado.posY[indice], estado.velX[indice], estado.velY[indice], posRaton);
 	}
 	
 	/**
-	 * Mueve a la entidad de una posicin a otra.
-	 * @param fuerza que altera su aceleracin
-	 */
-	private void desplazar(PVector fuerza) {
-		/* Resetea la magnitud de su aceleracin a 0 para que no incremente cada frame.
-		 * De no hacerlo, la velocidad se dispar a valores exageradamente grandes ya que
-		 * cada vez se mover ms rpido, y queremos que se desplace poco a poco en cada frame.
-		 * Esto se debe a que si seguimos sumando fuerzas a la aceleracin, se acumulan y por tanto
-		 * la variacin de la velocidad crece cada vez al incrementar la aceleracin constantemente
-		 */
-		aceleracion.mult(0);
-		/* Segn la segunda ley de Newton, asumiendo que no hay masa a tener en cuenta,
-		 * la aceleracin ser igual a la fuerza aplicada en ese instante (frame),
-		 * as que le sumamos ese vector
-		 */
-		aceleracion.add(fuerza);
-		/* La velocidad a la que se mueve la entidad ir variando en cada frame, por tanto
-		 * se le sumara el vector de aceleracin cada vez para alterar su direccin y sentido 
-		 * (hacia dnde apunta la entidad) y magnitud (cmo de rpido se mover en esa direccin)
-		 */
-		velocidad.add(aceleracion);
-		/* Para determinar en qu posicin acabar tras moverse, se le suma el vector de la
-		 * velocidad. Cmo de lejos se desplaza en ese frame depende de la magnitud, y hacia
-		 * qe punto, de la direccin.
-		 */
-		posicion.add(velocidad);
-	}
-	
-	/**
-	 * Comprueba si ha chocado con algn elemento del circuito
-	 */
-	private void comprobarColisiones() {
-		//Si choca con la meta, actualiza la flag y no contina comprobando ms colisiones
-		if(colisionaConMeta()) {
-			//Incrementa el contador de llegadas a la meta de la poblacin
-			poblacion.incrNumLlegadas();
-			poblacion.incrNumLlegadasActual();
-			haLlegado = true; 
-			return;
-		}
-		//Si no ha chocado con la meta, pasa a comprobar si ha chocado con alguno de los obstculos
-		comprobarColisionesObstaculos();
-		//Incrementa el tiempo obtenido para este frame antes de que la flag tenga efecto
-		tiempoObtenido++;
-	}
-
-	/**
-	 * Comprueba si ha chocado con la meta del circuito y actualiza la distancia mnima a sta
-	 * si es que se ha superado el "record"
-	 * @return si existe una colisin o no con la meta
+	 * Comprueba si la posicin del ratn est dentro de la hitbox de una entidad que se
+	 * encuentra en la posicin y con la velocidad indicadas, sin necesidad de acceder a la
+	 * poblacin, por ejemplo a partir de una copia de su estado
+	 * @param x: coordenada horizontal de la entidad
+	 * @param y: coordenada vertical de la entidad
+	 * @param velX: componente horizontal de la velocidad de la entidad
+	 * @param velY: componente vertical de la velocidad de la entidad
+	 * @param posRaton
+	 * @return si la hitbox contiene donde se encuentra el ratn
 	 */
-	private boolean colisionaConMeta() {
-		Meta meta = poblacion.getContexto().getMeta();
-		//Obtiene la distancia de la posicin de la meta a la de la entidad
-		distancia = PVector.dist(posicion, meta.getPosicion());
-		//Si la destancia es menor a la del "record", actualiza su valor
-		if(distancia < distanciaMinima) {
-			distanciaMinima = distancia;
+	public static boolean hitboxContiene(float x, float y, float velX, float velY, PVector posRaton) {
+		//Distancia relativa del ratn a la entidad
+		float relativaX = posRaton.x - x;
+		float relativaY = posRaton.y - y;
+		float modulo = (float) Math.sqrt(velX * velX + velY * velY);
+		//Sin velocidad la entidad no est rotada
+		float cosAngulo = 1, senAngulo = 0;
+		if(modulo > 0) {
+			cosAngulo = velX / modulo;
+			senAngulo = velY / modulo;
 		}
-		//Realiza la comprobacin de la colisin para devolver el resultado
-		return meta.chocaConEntidad(posicion) ? true : false;
+		//Posicin relativa rotada en el angulo inverso al de la entidad
+		float rotadaX = relativaX * cosAngulo + relativaY * senAngulo;
+		float rotadaY = -relativaX * senAngulo + relativaY * cosAngulo;
+	    return posCoincideConHitbox(rotadaX, rotadaY);
 	}
 	
-	/**
-	 * Recorre todos los obstculos para ver si alguno colisiona con la entidad. De ser as,
-	 * para de comprobar ms y modifica la flag y los contadores correspondientes
-	 */
-	private void comprobarColisionesObstaculos() {
-		for (Obstaculo obstaculo : poblacion.getContexto().getObstaculos()) {
-			if(obstaculo.chocaConEntidad(posicion)) {
-				//Incrementa el contador de colisiones de la poblacin
-				poblacion.incrNumColisiones();
-				poblacion.incrNumColisionesActual();
-				//Actualiza la flag y termina de comprobar cuando encuentra una colisin
-				haChocado = true; 
-				break;
-			}
-		}
-	}
-
 	/**
 	 * Iguala la distancia mnima a un mismo valor para cualquier entidad que llegue a la meta
 	 */
@@ -253,8 +158,8 @@ public class Entidad {
 		 * la misma distancia mnima sin importar en qu punto exacto se paren.
 		 */
 		float radioMeta = poblacion.getContexto().getMeta().getAlto() / 2;
-		if (distanciaMinima < radioMeta) {
-			distanciaMinima = radioMeta;
+		if (estado.distanciaMinima[indice] < radioMeta) {
+			estado.distanciaMinima[indice] = radioMeta;
 		}
 	}
 	
@@ -262,10 +167,11 @@ public class Entidad {
 	 * Comprueba si la posicin con el ngulo de rotacin revertido se encontrara
 	 * dentro de los lmites de los vrtices y ejes de la hitbox de la entidad en
 	 * el origen de las coordenadas
-	 * @param posRotada 
+	 * @param rotadaX: coordenada horizontal de la posicin rotada
+	 * @param rotadaY: coordenada vertical de la posicin rotada
 	 * @return si la posicin rotada se encuentra en los lmites de los vrtices
 	 */
-	private boolean posCoincideConHitbox(PVector posRotada) {
+	private static boolean posCoincideConHitbox(float rotadaX, float rotadaY) {
 		/* Puntos para comprobar si se encuentra en la "hitbox". Los valores escogidos
 	     * se basan en la representacin grfica de la entidad ms un margen para que
 	     * la hitbox no sea muy pequea y que no sea tan complicado acertar
@@ -275,31 +181,12 @@ public class Entidad {
 	    float verticeY0 = -25;
 	    float verticeY1 = 25;
 	    //Comprueba si se encuentra en la hitbox en ambos ejes
-	    boolean colisionaX = posRotada.x >= verticeX0 && posRotada.x <= verticeX1; 
-	    boolean colisionaY = posRotada.y >= verticeY0 && posRotada.y <= verticeY1;
+	    boolean colisionaX = rotadaX >= verticeX0 && rotadaX <= verticeX1; 
+	    boolean colisionaY = rotadaY >= verticeY0 && rotadaY <= verticeY1;
 	    boolean colisiona = colisionaX && colisionaY;
 		return colisiona;
 	}
 
-	/**
-	 * Rota el punto relativo entre la posicin del ratn y la entidad en un ngulo
-	 * inverso al de la rotacin de la entidad para poder comprobar la colisin
-	 * como no estuviera rotada en primer lugar
-	 * @param posRelativa del punto a lap posicin de la entidad
-	 * @return la posicin relativa rotada en el ngulo inverso al de la entidad
-	 */
-	private PVector rotarPosicionRelativa(PVector posRelativa) {
-		//Obtiene la matriz de rotacion de la entidad
-	    PMatrix2D matrizRotacion = new PMatrix2D(); 
-	    float angulo = (float) Math.atan2(velocidad.x, velocidad.y); 
-	    matrizRotacion.rotate(-angulo);
-	    //Punto relativo con la rotacin revertida
-	    PVector posRotada = new PVector();
-	    posRotada.x = posRelativa.x * matrizRotacion.m00 + posRelativa.y * matrizRotacion.m01;
-	    posRotada.y = posRelativa.x * matrizRotacion.m10 + posRelativa.y * matrizRotacion.m11;
-		return posRotada;
-	}
-	
 	public ADN getAdn() {
 		return adn;
 	}
@@ -309,19 +196,19 @@ public class Entidad {
 	}
 
 	public PVector getPosicion() {
-		return posicion;
+		return new PVector(estado.posX[indice], estado.posY[indice]);
 	}
 
 	public PVector getVelocidad() {
-		return velocidad;
+		return new PVector(estado.velX[indice], estado.velY[indice]);
 	}
 
 	public PVector getAceleracion() {
-		return aceleracion;
+		return new PVector(estado.acelX[indice], estado.acelY[indice]);
 	}
 
 	public float getDistanciaMinima() {
-		return distanciaMinima;
+		return estado.distanciaMinima[indice];
 	}
 
 	public void setAptitud(double aptitud) {
@@ -329,15 +216,15 @@ public class Entidad {
 	}
 
 	public int getTiempoObtenido() {
-		return tiempoObtenido;
+		return estado.getTiempoObtenido(indice);
 	}
 
 	public boolean isHaChocado() {
-		return haChocado;
+		return estado.estado[indice] == EstadoEntidades.CHOCADA;
 	}
 
 	public boolean isHaLlegado() {
-		return haLlegado;
+		return estado.estado[indice] == EstadoEntidades.LLEGADA;
 	}
 
 	public boolean isMonitorizada() {
@@ -353,7 +240,7 @@ public class Entidad {
 	}
 
 	public float getDistancia() {
-		return distancia;
+		return estado.distancia[indice];
 	}
 
 }
\ No newline at end of file
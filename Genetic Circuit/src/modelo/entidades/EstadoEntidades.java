@@ -0,0 +1,303 @@
+package modelo.entidades;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import modelo.circuito.Meta;
+import modelo.circuito.DetectorColisiones;
+import processing.core.PVector;
+
+/**
+ * Estado de movimiento de todas las entidades de una poblacin. En vez de que cada entidad
+ * tenga sus propios vectores, cada atributo se guarda en un array de primitivos contiguo en
+ * memoria, indexado por el ndice de la entidad en la poblacin. As el ciclo de vida se puede
+ * recorrer con un nico bucle sobre los arrays sin ir saltando de objeto en objeto.
+ * Adems se mantiene una lista compacta con los ndices de las entidades que siguen activas,
+ * de forma que las que ya han chocado o llegado a la meta no cuestan nada en cada frame
+ * @author Alberto
+ */
+public class EstadoEntidades {
+
+	/**
+	 * Valores que puede tomar el estado de cada entidad
+	 */
+	public static final byte ACTIVA = 0, CHOCADA = 1, LLEGADA = 2;
+	/**
+	 * Nmero de entidades que forman cada tramo en el que se reparte el trabajo de un frame.
+	 * Cada tramo lo procesa un nico hilo de principio a fin
+	 */
+	public static final int TAMANO_TRAMO = 2048;
+
+	/**
+	 * Componentes de la posicin, velocidad y aceleracin de cada entidad
+	 */
+	final float[] posX, posY, velX, velY, acelX, acelY;
+	/**
+	 * Distancia "record" mnima a la meta y distancia a la meta en el frame actual
+	 */
+	final float[] distanciaMinima, distancia;
+	/**
+	 * Tiempo que ha tardado cada entidad en llegar a la meta. Slo se guarda al llegar, ya que
+	 * para el resto el tiempo obtenido son los frames que lleva la generacin
+	 */
+	final int[] tiempoObtenido;
+	/**
+	 * Si la entidad sigue activa, ha chocado con un obstculo o ha llegado a la meta
+	 */
+	final byte[] estado;
+	/**
+	 * Genotipo de cada entidad, del que se obtiene la fuerza que se le aplica en cada frame
+	 */
+	final ADN[] adns;
+	/**
+	 * ndices de las entidades que siguen activas. Slo son vlidas las primeras numActivas
+	 * posiciones, y se mantienen en orden creciente para recorrer los arrays secuencialmente
+	 */
+	private final int[] activas;
+	private int numActivas;
+	/**
+	 * Qu gen toca aplicar a las entidades activas, que es el mismo para todas ya que
+	 * todas empiezan a la vez y se mueven en cada frame mientras siguen activas.
+	 * Equivale tambin al nmero de frames que lleva la generacin
+	 */
+	private int genActual;
+	/**
+	 * Llegadas a la meta y colisiones con obstculos que se han producido en el ltimo frame
+	 */
+	private int llegadasCiclo, colisionesCiclo;
+	/**
+	 * Llegadas, colisiones y entidades que siguen activas de cada tramo en el ltimo frame.
+	 * Cada hilo slo escribe en la posicin de su tramo, as que no necesitan sincronizarse
+	 */
+	private final int[] llegadasTramo, colisionesTramo, activasTramo;
+
+	/**
+	 * Reserva los arrays para el nmero de entidades indicado
+	 * @param capacidad: nmero de entidades de la poblacin
+	 */
+	public EstadoEntidades(int capacidad) {
+		posX = new float[capacidad];
+		posY = new float[capacidad];
+		velX = new float[capacidad];
+		velY = new float[capacidad];
+		acelX = new float[capacidad];
+		acelY = new float[capacidad];
+		distanciaMinima = new float[capacidad];
+		distancia = new float[capacidad];
+		tiempoObtenido = new int[capacidad];
+		estado = new byte[capacidad];
+		adns = new ADN[capacidad];
+		activas = new int[capacidad];
+		int numTramos = (capacidad + TAMANO_TRAMO - 1) / TAMANO_TRAMO;
+		llegadasTramo = new int[numTramos];
+		colisionesTramo = new int[numTramos];
+		activasTramo = new int[numTramos];
+	}
+
+	/**
+	 * Devuelve una entidad a su estado inicial en el punto de spawn con el genotipo indicado
+	 * @param i: ndice de la entidad
+	 * @param adn: genotipo que tendr la entidad
+	 * @param posInicial: punto donde aparecen todas las entidades
+	 * @param distanciaInicial: distancia entre el punto inicial y la meta
+	 */
+	void reiniciar(int i, ADN adn, PVector posInicial, float distanciaInicial) {
+		adns[i] = adn;
+		posX[i] = posInicial.x;
+		posY[i] = posInicial.y;
+		velX[i] = velY[i] = 0;
+		acelX[i] = acelY[i] = 0;
+		distanciaMinima[i] = distanciaInicial;
+		distancia[i] = 0;
+		tiempoObtenido[i] = 0;
+		estado[i] = ACTIVA;
+	}
+	
+	/**
+	 * Comienza una nueva generacin una vez reiniciadas todas sus entidades, que empiezan
+	 * todas activas a partir del primer gen
+	 * @param numEntidades: cuntas entidades de los arrays forman parte de la poblacin
+	 */
+	void iniciarGeneracion(int numEntidades) {
+		for(int i=0; i < numEntidades; i++) {
+			activas[i] = i;
+		}
+		numActivas = numEntidades;
+		genActual = 0;
+	}
+
+	/**
+	 * Ciclo de vida de todas las entidades en un frame. Sustituye a que cada entidad acte
+	 * por separado: mientras siga activa, se le aplica la fuerza del gen que toca para
+	 * desplazarla y se comprueba si colisiona con algn elemento. De hacerlo (choca con
+	 * obstculo o llega a la meta), no contina desplazndose y se saca de la lista de activas,
+	 * por lo que no se vuelve a visitar. Si ha llegado a la meta, su tiempo obtenido para de
+	 * contar, pero si ha chocado con un obstculo sigue contando a pesar de no moverse, as que
+	 * su tiempo es directamente el nmero de frames de la generacin.
+	 * Las colisiones se consultan al detector del circuito, que segn el modo elegido resuelve
+	 * la geometra exacta o consulta el mapa de ocupacin.
+	 * Como cada entidad slo lee sus propios genes, la meta y los obstculos, las entidades activas
+	 * se reparten en tramos que pueden procesarse en paralelo en los hilos del pool indicado
+	 * @param meta del circuito, de la que se calcula la distancia de cada entidad
+	 * @param detector de colisiones con la meta y los obstculos
+	 * @param pool de hilos donde repartir los tramos, o null para procesarlos en este hilo
+	 */
+	void avanzarCiclo(Meta meta, DetectorColisiones detector, ForkJoinPool pool) {
+		int numTramos = (numActivas + TAMANO_TRAMO - 1) / TAMANO_TRAMO;
+		//Si solo hay un tramo no compensa pasarle el trabajo a otro hilo
+		if(pool == null || numTramos <= 1) {
+			for(int tramo=0; tramo < numTramos; tramo++) {
+				avanzarTramo(tramo, meta, detector);
+			}
+		} else {
+			pool.invoke(new TareaCiclo(0, numTramos, meta, detector));
+		}
+		/* Una vez han terminado todos los tramos, junta sus contadores y las entidades que siguen
+		 * activas, que cada tramo ha dejado al principio de su parte de la lista */
+		llegadasCiclo = colisionesCiclo = 0;
+		int siguenActivas = 0;
+		for(int tramo=0; tramo < numTramos; tramo++) {
+			llegadasCiclo += llegadasTramo[tramo];
+			colisionesCiclo += colisionesTramo[tramo];
+			System.arraycopy(activas, tramo * TAMANO_TRAMO, activas, siguenActivas, activasTramo[tramo]);
+			siguenActivas += activasTramo[tramo];
+		}
+		numActivas = siguenActivas;
+		genActual++;
+	}
+	
+	/**
+	 * Realiza el ciclo de vida de un frame para las entidades activas de un tramo de la lista,
+	 * y deja al principio del tramo las que siguen activas tras moverse
+	 * @param tramo: ndice del tramo
+	 * @param meta del circuito, de la que se calcula la distancia de cada entidad
+	 * @param detector de colisiones con la meta y los obstculos
+	 */
+	private void avanzarTramo(int tramo, Meta meta, DetectorColisiones detector) {
+		int desde = tramo * TAMANO_TRAMO;
+		int hasta = Math.min(desde + TAMANO_TRAMO, numActivas);
+		int llegadas = 0, colisiones = 0, siguenActivas = desde;
+		float metaX = meta.getPosicion().x;
+		float metaY = meta.getPosicion().y;
+		int gen = genActual * 2;
+		for(int k=desde; k < hasta; k++) {
+			int i = activas[k];
+			//La aceleracin es la fuerza del gen, y se acumula en la velocidad y sta en la posicin
+			float[] genes = adns[i].getGenes();
+			float ax = genes[gen], ay = genes[gen + 1];
+			float vx = velX[i] + ax, vy = velY[i] + ay;
+			float x = posX[i] + vx, y = posY[i] + vy;
+			acelX[i] = ax;
+			acelY[i] = ay;
+			velX[i] = vx;
+			velY[i] = vy;
+			posX[i] = x;
+			posY[i] = y;
+			//Actualiza la distancia a la meta y el "record" si lo ha superado
+			float dx = x - metaX, dy = y - metaY;
+			float d = (float) Math.sqrt(dx * dx + dy * dy);
+			distancia[i] = d;
+			if(d < distanciaMinima[i]) {
+				distanciaMinima[i] = d;
+			}
+			//Si choca con la meta no contina comprobando ms colisiones ni cuenta este frame
+			if(detector.chocaConMeta(x, y)) {
+				estado[i] = LLEGADA;
+				tiempoObtenido[i] = genActual;
+				llegadas++;
+			} else if(detector.chocaConObstaculo(x, y)) {
+				estado[i] = CHOCADA;
+				colisiones++;
+			} else {
+				activas[siguenActivas++] = i;
+			}
+		}
+		llegadasTramo[tramo] = llegadas;
+		colisionesTramo[tramo] = colisiones;
+		activasTramo[tramo] = siguenActivas - desde;
+	}
+	
+	/**
+	 * Tarea que divide un rango de tramos en dos mitades hasta que le queda uno solo,
+	 * para que los hilos del pool se vayan repartiendo el trabajo del frame
+	 */
+	private class TareaCiclo extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int desdeTramo, hastaTramo;
+		private final Meta meta;
+		private final DetectorColisiones detector;
+		
+		TareaCiclo(int desdeTramo, int hastaTramo, Meta meta, DetectorColisiones detector) {
+			this.desdeTramo = desdeTramo;
+			this.hastaTramo = hastaTramo;
+			this.meta = meta;
+			this.detector = detector;
+		}
+
+		@Override
+		protected void compute() {
+			if(hastaTramo - desdeTramo == 1) {
+				avanzarTramo(desdeTramo, meta, detector);
+				return;
+			}
+			int mitad = (desdeTramo + hastaTramo) >>> 1;
+			invokeAll(new TareaCiclo(desdeTramo, mitad, meta, detector),
+					new TareaCiclo(mitad, hastaTramo, meta, detector));
+		}
+	}
+
+	public float getPosX(int i) {
+		return posX[i];
+	}
+
+	public float getPosY(int i) {
+		return posY[i];
+	}
+
+	public float getVelX(int i) {
+		return velX[i];
+	}
+
+	public float getVelY(int i) {
+		return velY[i];
+	}
+
+	public boolean isChocada(int i) {
+		return estado[i] == CHOCADA;
+	}
+
+	/**
+	 * Las entidades que no han llegado a la meta cuentan todos los frames de la generacin,
+	 * hayan chocado o no, as que su tiempo no hace falta irlo incrementando
+	 * @param i: ndice de la entidad
+	 * @return el tiempo en frames obtenido por la entidad
+	 */
+	public int getTiempoObtenido(int i) {
+		return estado[i] == LLEGADA ? tiempoObtenido[i] : genActual;
+	}
+
+	/**
+	 * @return cuntas entidades siguen activas en la generacin actual
+	 */
+	public int getNumActivas() {
+		return numActivas;
+	}
+
+	/**
+	 * @return el nmero de entidades para las que hay espacio en los arrays
+	 */
+	public int getCapacidad() {
+		return estado.length;
+	}
+
+	public int getLlegadasCiclo() {
+		return llegadasCiclo;
+	}
+
+	public int getColisionesCiclo() {
+		return colisionesCiclo;
+	}
+
+}
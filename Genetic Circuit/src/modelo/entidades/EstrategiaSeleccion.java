@@ -0,0 +1,53 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Forma de escoger qu entidades se reproducen para formar la siguiente generacin a partir
+ * de sus aptitudes. Antes de reproducir cada generacin se prepara una vez con las aptitudes
+ * obtenidas, y despus se le piden tantos parientes como hagan falta
+ * @author Alberto
+ */
+public interface EstrategiaSeleccion {
+
+	/**
+	 * Prepara la seleccin para las aptitudes de la generacin que se va a reproducir
+	 * @param aptitudes de cada entidad, sin normalizar y nunca negativas
+	 * @param numEntidades: cuntas de las primeras aptitudes del array se utilizan
+	 * @param numSelecciones: cuntos parientes se van a pedir como mnimo
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 */
+	void preparar(double[] aptitudes, int numEntidades, int numSelecciones, RandomGenerator random);
+
+	/**
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 * @return el ndice de la entidad escogida como pariente
+	 */
+	int seleccionar(RandomGenerator random);
+
+	/**
+	 * @return el nombre con el que se identifica la estrategia
+	 */
+	String getNombre();
+
+	/**
+	 * Crea una estrategia a partir de su nombre, tal y como se indica al ejecutar la simulacin
+	 * @param nombre: ruleta, torneo, sus o rango
+	 * @return la estrategia correspondiente
+	 */
+	static EstrategiaSeleccion crear(String nombre) {
+		switch(nombre.toLowerCase()) {
+		case "ruleta":
+			return new SeleccionRuleta();
+		case "torneo":
+			return new SeleccionTorneo(SeleccionTorneo.TAMANO_DEFECTO);
+		case "sus":
+			return new SeleccionUniversal();
+		case "rango":
+			return new SeleccionRango();
+		default:
+			throw new IllegalArgumentException("Estrategia de seleccin desconocida: " + nombre);
+		}
+	}
+
+}
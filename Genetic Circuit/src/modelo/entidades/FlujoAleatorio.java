@@ -0,0 +1,49 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generador de nmeros aleatorios que se siembra a partir de la semilla de la ejecucin, una
+ * generacin y un nmero de flujo. Los nmeros que produce slo dependen de esos tres valores,
+ * as que no importa qu hilo lo utilice ni en qu orden se ejecuten los dems flujos: con la
+ * misma semilla se obtiene siempre la misma poblacin.
+ * Utiliza el algoritmo SplitMix64, el mismo que SplittableRandom, pero a diferencia de ste se
+ * puede volver a sembrar sin crear otro objeto en cada generacin
+ * @author Alberto
+ */
+public class FlujoAleatorio implements RandomGenerator {
+
+	/**
+	 * Incremento del estado en cada nmero, la parte fraccionaria de la proporcin urea
+	 */
+	private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+	private long estado;
+
+	/**
+	 * Vuelve a sembrar el flujo. Los tres valores se mezclan uno a uno para que semillas,
+	 * generaciones o flujos consecutivos den lugar a secuencias sin relacin entre s
+	 * @param semilla de la ejecucin
+	 * @param generacion a la que pertenecen los nmeros
+	 * @param flujo: nmero que distingue los flujos de una misma generacin
+	 */
+	public void reiniciar(long semilla, int generacion, int flujo) {
+		estado = mezclar(mezclar(mezclar(semilla) + generacion) + flujo);
+	}
+
+	@Override
+	public long nextLong() {
+		estado += GAMMA;
+		return mezclar(estado);
+	}
+
+	/**
+	 * Funcin de mezcla de SplitMix64, que reparte cada bit de la entrada por toda la salida
+	 */
+	private static long mezclar(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
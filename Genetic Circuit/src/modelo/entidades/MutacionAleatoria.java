@@ -0,0 +1,22 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Mutacin que sustituye el gen por un vector completamente aleatorio, con cualquier
+ * direccin y una magnitud dentro del rango permitido
+ * @author Alberto
+ */
+public class MutacionAleatoria implements OperadorMutacion {
+
+	@Override
+	public void mutarGen(ADN adn, int gen, RandomGenerator random) {
+		adn.generarGenAleatorio(gen, random);
+	}
+
+	@Override
+	public String getNombre() {
+		return "aleatoria";
+	}
+
+}
@@ -0,0 +1,43 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Mutacin que desplaza el gen con una perturbacin normal en vez de sustituirlo. La fuerza
+ * mutada se parece a la original, as que una ruta que ya funciona se ajusta sin romperse
+ * @author Alberto
+ */
+public class MutacionGaussiana implements OperadorMutacion {
+
+	/**
+	 * Desviacin tpica que se utiliza si no se indica otra, pensada para la magnitud
+	 * de las fuerzas, que va de 0.1 a 0.8
+	 */
+	public static final float DESVIACION_DEFECTO = 0.1f;
+
+	/**
+	 * Desviacin tpica de la perturbacin de cada componente
+	 */
+	private final float desviacion;
+
+	/**
+	 * @param desviacion: desviacin tpica de la perturbacin de cada componente
+	 */
+	public MutacionGaussiana(float desviacion) {
+		if(!(desviacion > 0)) {
+			throw new IllegalArgumentException("La desviacin debe ser positiva: " + desviacion);
+		}
+		this.desviacion = desviacion;
+	}
+
+	@Override
+	public void mutarGen(ADN adn, int gen, RandomGenerator random) {
+		adn.perturbarGen(gen, desviacion, random);
+	}
+
+	@Override
+	public String getNombre() {
+		return "gaussiana";
+	}
+
+}
@@ -0,0 +1,48 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Forma de combinar los genes de dos parientes para obtener el genotipo de su hijo. Los genes
+ * se leen y se escriben directamente en los arrays con las componentes intercaladas, de
+ * forma que cada gen ocupa las posiciones 2*i y 2*i+1. Como la poblacin cruza varios bloques
+ * de hijos a la vez en distintos hilos, el operador no debe guardar estado entre cruces
+ * @author Alberto
+ */
+public interface OperadorCruce {
+
+	/**
+	 * Escribe en el hijo los primeros genes cruzando los de ambos parientes. Cada gen del hijo
+	 * se copia entero del gen en la misma posicin de uno de los dos parientes
+	 * @param genesPariente1: genes del primer pariente
+	 * @param genesPariente2: genes del segundo pariente
+	 * @param genesHijo: array donde se escriben los genes del hijo
+	 * @param numGenes: cuntos genes se cruzan empezando por el primero
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 */
+	void cruzar(float[] genesPariente1, float[] genesPariente2, float[] genesHijo, int numGenes, RandomGenerator random);
+
+	/**
+	 * @return el nombre con el que se identifica el operador
+	 */
+	String getNombre();
+
+	/**
+	 * Crea un operador a partir de su nombre, tal y como se indica al ejecutar la simulacin
+	 * @param nombre: uniforme, unpunto o dospuntos
+	 * @return el operador correspondiente
+	 */
+	static OperadorCruce crear(String nombre) {
+		switch(nombre.toLowerCase()) {
+		case "uniforme":
+			return new CruceUniforme();
+		case "unpunto":
+			return new CruceUnPunto();
+		case "dospuntos":
+			return new CruceDosPuntos();
+		default:
+			throw new IllegalArgumentException("Operador de cruce desconocido: " + nombre);
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Forma de alterar los genes que mutan. Los genes que mutan se escogen segn la tasa de
+ * mutacin, y el operador slo se aplica sobre ellos. Como la poblacin muta varios bloques
+ * de hijos a la vez en distintos hilos, el operador no debe guardar estado entre mutaciones
+ * @author Alberto
+ */
+public interface OperadorMutacion {
+
+	/**
+	 * Muta cada gen del genotipo con la probabilidad indicada. En vez de hacer una tirada por
+	 * gen, salta directamente de un gen que muta al siguiente: el nmero de genes que no mutan
+	 * antes de uno que s lo hace sigue una distribucin geomtrica, que se obtiene invirtiendo
+	 * su funcin de distribucin con una sola tirada. As slo cuesta tantas tiradas como
+	 * mutaciones se producen, en vez de una por gen
+	 * @param adn: genotipo que podr ser alterado
+	 * @param tasaMutacion: probabilidad de que mute cada gen, entre 0 y 1
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 */
+	default void mutar(ADN adn, double tasaMutacion, RandomGenerator random) {
+		if(tasaMutacion <= 0) {
+			return;
+		}
+		int numGenes = adn.getNumGenes();
+		if(tasaMutacion >= 1) {
+			for(int gen=0; gen < numGenes; gen++) {
+				mutarGen(adn, gen, random);
+			}
+			return;
+		}
+		double logProbabilidadNoMutar = Math.log1p(-tasaMutacion);
+		/* Se resta la tirada de 1 para que nunca sea 0, y si el salto es enorme la conversin
+		 * se queda en el mximo entero, por lo que el gen se lleva en un long para no desbordarlo */
+		long gen = (long) (Math.log(1 - random.nextDouble()) / logProbabilidadNoMutar);
+		while(gen < numGenes) {
+			mutarGen(adn, (int) gen, random);
+			gen += (long) (Math.log(1 - random.nextDouble()) / logProbabilidadNoMutar) + 1;
+		}
+	}
+
+	/**
+	 * Altera un gen del genotipo
+	 * @param adn: genotipo que contiene el gen
+	 * @param gen: ndice del gen que ha mutado
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 */
+	void mutarGen(ADN adn, int gen, RandomGenerator random);
+
+	/**
+	 * @return el nombre con el que se identifica el operador
+	 */
+	String getNombre();
+
+	/**
+	 * Crea un operador a partir de su nombre, tal y como se indica al ejecutar la simulacin
+	 * @param nombre: aleatoria o gaussiana
+	 * @return el operador correspondiente
+	 */
+	static OperadorMutacion crear(String nombre) {
+		switch(nombre.toLowerCase()) {
+		case "aleatoria":
+			return new MutacionAleatoria();
+		case "gaussiana":
+			return new MutacionGaussiana(MutacionGaussiana.DESVIACION_DEFECTO);
+		default:
+			throw new IllegalArgumentException("Operador de mutacin desconocido: " + nombre);
+		}
+	}
+
+}
@@ -1,13 +1,14 @@
 package modelo.entidades;
 
-import java.text.DecimalFormat;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import controlador.Controlador;
-import controlador.Visualizador;
 import modelo.Modelo;
+import modelo.medicion.FaseGeneracion;
+import modelo.medicion.MedidorFases;
 import processing.core.PVector;
 
 /**
@@ -17,6 +18,23 @@ import processing.core.PVector;
  */
 public class Poblacion {
 	
+	/**
+	 * Veces que se vuelve a sacar el segundo pariente buscando una aptitud distinta a la
+	 * del primero antes de recurrir a un pariente de respaldo
+	 */
+	private static final int MAX_INTENTOS_PARIENTE = 16;
+	/**
+	 * Hijos que se crean con un mismo flujo de nmeros aleatorios. Es la unidad en la que se
+	 * reparte la reproduccin entre los hilos, y no depende de cuntos haya para que el
+	 * resultado sea siempre el mismo
+	 */
+	public static final int TAMANO_BLOQUE_HIJOS = 256;
+	/**
+	 * Flujo de cada generacin con el que se seleccionan los parientes. Los bloques de hijos
+	 * utilizan los siguientes, empezando por el 1
+	 */
+	private static final int FLUJO_SELECCION = 0;
+	
 	/**
 	 * Modelo de datos que contiene el resto de elementos con los que debe interaccionar
 	 * la poblacin, as como el controlador para comunicarse con la interfaz
@@ -24,14 +42,72 @@ public class Poblacion {
 	private Modelo contexto;
 	
 	/**
-	 * Coleccin de entidades que forman parte de la poblacin
+	 * Coleccin de entidades que forman parte de la poblacin. Las entidades se reutilizan
+	 * de una generacin a otra reinicindolas con el genotipo de su hijo
 	 */
 	private Entidad[] entidades;
 	/**
-	 * Coleccin que contiene entidades repetidas x veces de acuerdo a la probabilidad
-	 * que tiene de reproducirse dependiendo de su aptitud
+	 * Genotipos de la generacin actual y de la siguiente. Los hijos se escriben directamente
+	 * en los del bfer siguiente mientras se leen los de sus parientes del actual, y al terminar
+	 * la reproduccin se intercambian, por lo que no se reservan genes nuevos en cada generacin
+	 */
+	private ADN[] adnsActuales, adnsSiguientes;
+	/**
+	 * Genotipos de la ltima generacin evaluada, cuyas aptitudes siguen en el array de
+	 * aptitudes hasta la siguiente evaluacin, y cuntas entidades tena
+	 */
+	private ADN[] adnsEvaluados;
+	private int numEvaluadas;
+	/**
+	 * Arrays con el estado de movimiento de todas las entidades, que se reutilizan
+	 * de una generacin a otra mientras no cambie el tamao de la poblacin
+	 */
+	private EstadoEntidades estadoEntidades;
+	/**
+	 * Pool de hilos en el que se reparte el ciclo de vida de las entidades en cada frame.
+	 * Por defecto es el pool comn de la mquina virtual; si es null se hace en un solo hilo
+	 */
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+	/**
+	 * Forma en la que se escogen los parientes a partir de sus aptitudes
+	 */
+	private EstrategiaSeleccion estrategiaSeleccion = new SeleccionRuleta();
+	/**
+	 * Forma en la que se combinan los genes de los parientes para obtener los de cada hijo
+	 */
+	private OperadorCruce operadorCruce = new CruceUniforme();
+	/**
+	 * Forma en la que se alteran los genes que mutan
+	 */
+	private OperadorMutacion operadorMutacion = new MutacionAleatoria();
+	/**
+	 * Aptitud de cada entidad de la generacin evaluada, que se le pasa a la estrategia de seleccin
+	 */
+	private double[] aptitudes;
+	/**
+	 * ndices de las parejas de parientes escogidas para cada hijo de la siguiente generacin
+	 */
+	private int[] parientes;
+	/**
+	 * Nanosegundos que se han dedicado a preparar la seleccin y a escoger los parientes
+	 * en la ltima generacin
+	 */
+	private long nanosSeleccion;
+	/**
+	 * Tiempo y memoria que dedica cada generacin a cada fase, desde la simulacin de los
+	 * frames hasta la actualizacin del panel de control
 	 */
-	private ArrayList<Entidad> poolGenetico;
+	private final MedidorFases medidorFases = new MedidorFases();
+	/**
+	 * Entidad con la mejor aptitud de la generacin y entidad con la mejor aptitud distinta
+	 * a sta (o -1 si todas tienen la misma). Sirven de respaldo al buscar el segundo pariente
+	 */
+	private int indiceMejor, indiceSegundoMejor;
+	/**
+	 * Veces que se ha tenido que volver a sacar el segundo pariente y veces que se ha
+	 * recurrido al respaldo al reproducir la ltima generacin
+	 */
+	private int numRedibujosPariente, numParientesRespaldo;
 	/** 
 	 * Probabilidad de que un gen mute tras el cruce de entidades en la reproduccin
 	 */
@@ -57,9 +133,20 @@ public class Poblacion {
 	 */
 	private boolean objetivoCumplido;
 	/**
-	 * La entidad que ms cerca se ha quedado de cumplir o de haber cumplido el objetivo
+	 * Copia de los genes de la entidad que ms cerca se ha quedado de cumplir o de haber
+	 * cumplido el objetivo. Como las entidades y sus genotipos se reutilizan en la siguiente
+	 * generacin, se copian al batir el record para conservar su ruta aunque el objetivo se
+	 * cumpla varias generaciones despus, por ejemplo al subir el tiempo objetivo
 	 */
-	private Entidad mejorEntidad;
+	private float[] genesMejorEntidad;
+	/**
+	 * Posicin y velocidad con las que termin la entidad del record
+	 */
+	private final PVector posMejorEntidad = new PVector(), velMejorEntidad = new PVector();
+	/**
+	 * Si alguna entidad ha batido el record, es decir, si hay una ruta guardada
+	 */
+	private boolean hayMejorEntidad;
 	/**
 	 * Total de colisiones que han tenido las entidades con los obstculos
 	 */
@@ -88,12 +175,35 @@ public class Poblacion {
 	 * Entidad que actualmente est siendo monitorizada en el panel de control
 	 */
 	private Entidad entidadMonitorizada;
+	/**
+	 * Aptitud que obtuvo la entidad monitorizada al evaluar su generacin
+	 */
+	private double aptitudEntidadMonitorizada;
 	/**
 	 * Mejor aptitud obtenida hasta ahora entre todas las generaciones
 	 */
 	private double mejorAptitud;
-	
-	private Random random = new Random();
+	/**
+	 * Mejor aptitud obtenida en la ltima generacin evaluada
+	 */
+	private double mejorAptitudActual;
+	/**
+	 * Tiempo obtenido por la entidad con mejor aptitud de la ltima generacin evaluada
+	 */
+	private int tiempoRecordActual;
+	/**
+	 * Semilla de la ejecucin, de la que se derivan todos los nmeros aleatorios de la poblacin
+	 */
+	private long semilla;
+	/**
+	 * Flujo de nmeros aleatorios con el que se seleccionan los parientes de cada generacin.
+	 * Las estrategias de seleccin guardan estado, as que la seleccin se hace en un solo hilo
+	 */
+	private FlujoAleatorio flujoSeleccion = new FlujoAleatorio();
+	/**
+	 * Flujo de nmeros aleatorios de cada bloque de hijos, con el que se cruzan y mutan sus genes
+	 */
+	private FlujoAleatorio[] flujosBloques = new FlujoAleatorio[0];
 
 	
 	/**
@@ -108,15 +218,20 @@ public class Poblacion {
 		//Crea un array con tantas entidades como se indique desde el controlador
 		numEntidades = poblacionParams.get("NumEntidades");
 		entidades = new Entidad[numEntidades];
-		//Inicia el pool gentico vaco para rellenarlo cada vez que se seleccionen las entidades
-		poolGenetico = new ArrayList<Entidad>();
+		estadoEntidades = new EstadoEntidades(numEntidades);
+		//Los arrays de la seleccin se rellenan cada vez que se seleccionan las entidades
+		aptitudes = new double[numEntidades];
+		parientes = new int[numEntidades * 2];
 		//La tasa de mutacin viene como porcentaje as que se convierte a valor decimal
-		this.tasaMutacion = ((double) poblacionParams.get("TasaMutacion")) / 100;
+		setTasaMutacion(poblacionParams.get("TasaMutacion"));
 		this.tiempoObjetivo = poblacionParams.get("TiempoObjetivo");
 		this.tiempoVida = poblacionParams.get("TiempoVida");
+		//Sin una semilla indicada, cada ejecucin es distinta
+		semilla = poblacionParams.containsKey("Semilla") ? poblacionParams.get("Semilla") : new SplittableRandom().nextLong();
 		this.posInicial = posInicial;
 		//El "record" de tiempo ir bajando a partir del tiempo de vida, que es el peor resultado
 		mejorTiempo = tiempoVida; 
+		genesMejorEntidad = new float[tiempoVida * 2];
 		objetivoCumplido = false;
 		numGeneraciones = 1; //Empieza como la primera generacin
 		generarPrimeraGen();
@@ -126,28 +241,35 @@ public class Poblacion {
 	 * Inicializa tantas entidades como vengan establecidas en el tamao de poblacin
 	 */
 	private void generarPrimeraGen() {
+		adnsActuales = new ADN[entidades.length];
+		prepararFlujosBloques();
 		for (int i=0; i < entidades.length; i++) {
-			/* Como la primera generacin no es producto de un cruce, se le pasa null
-			 * para que se inicialice un ADN nuevo con genes aleatorios
+			/* Como la primera generacin no es producto de un cruce, se inicializa
+			 * un ADN nuevo con genes aleatorios del flujo de su bloque
 			 */
-			entidades[i] = new Entidad(this, null, i);
+			FlujoAleatorio flujo = flujosBloques[i / TAMANO_BLOQUE_HIJOS];
+			if(i % TAMANO_BLOQUE_HIJOS == 0) {
+				flujo.reiniciar(semilla, numGeneraciones, i / TAMANO_BLOQUE_HIJOS + 1);
+			}
+			adnsActuales[i] = new ADN(tiempoVida, flujo);
+			entidades[i] = new Entidad(this, adnsActuales[i], i);
 		}
+		estadoEntidades.iniciarGeneracion(entidades.length);
 	}
 
 	/**
-	 * Ejecuta para todas las entidades la funcin que deben realizar en cada frame
-	 * y llama al controlador para que de la orden de actualizarlas en la ventana grfica
+	 * Ejecuta para todas las entidades la funcin que deben realizar en cada frame.
+	 * No dibuja nada: es el controlador quien decide si debe mostrarlas despus en la
+	 * ventana grfica, de forma que la simulacin pueda ejecutarse tambin sin interfaz
 	 */
 	public void realizarCiclo() {
-		for(int i=0; i < entidades.length; i++) {
-			//La entidad se encontrar en otra posicin y mirando a otra direccin tras actuar
-			entidades[i].actuar();
-			//Si la entidad choca, no debe mostrarla (mejora considerablemente el rendimiento)
-			if(!entidades[i].isHaChocado()) {
-				//Le comunica a la vista que muestre la entidad a travs del controlador
-				contexto.getControlador().getVisualizador().mostrarEntidad(entidades[i]);
-			} 
-		}
+		FaseGeneracion faseAnterior = medidorFases.cambiarFase(FaseGeneracion.SIMULACION);
+		//Las entidades activas se encontrarn en otra posicin y mirando a otra direccin tras actuar
+		estadoEntidades.avanzarCiclo(contexto.getMeta(), contexto.getDetectorColisiones(), pool);
+		//Actualiza los contadores con las llegadas y colisiones que se han producido en este frame
+		sumarLlegadas(estadoEntidades.getLlegadasCiclo());
+		sumarColisiones(estadoEntidades.getColisionesCiclo());
+		medidorFases.cambiarFase(faseAnterior);
 	}
 	
 	/**
@@ -155,8 +277,14 @@ public class Poblacion {
 	 * hasta que tras evaluarlas se compruebe que se ha completado el objetivo
 	 */
 	public void evolucionar() {
+		int generacion = numGeneraciones;
+		FaseGeneracion faseAnterior = medidorFases.cambiarFase(FaseGeneracion.EVALUACION);
 		//Selecciona las entidades para determinar el proceso de reproduccin
 		seleccionar();
+		/* Los genotipos evaluados pasan al bfer libre al reproducirse, pero no se sobrescriben
+		 * hasta la siguiente reproduccin, as que se pueden seguir consultando hasta entonces */
+		adnsEvaluados = adnsActuales;
+		numEvaluadas = entidades.length;
 		//Reinicia los contadores de llegadas y colisiones para la generacin actual
 		numLlegadasActual = 0;
 		numColisionesActual = 0;
@@ -166,6 +294,56 @@ public class Poblacion {
 		if(!objetivoCumplido) {	
 			reproducir();	
 		} 
+		medidorFases.terminarGeneracion(generacion, numEvaluadas);
+		medidorFases.cambiarFase(faseAnterior);
+	}
+	
+	/**
+	 * Copia los genes de las entidades con mejor aptitud de la ltima generacin evaluada,
+	 * de la mejor a la peor. Debe llamarse despus de evolucionar() y antes de que vuelva a
+	 * evolucionar la poblacin, que es cuando se sobrescriben sus genotipos
+	 * @param numGenomas: cuntas de las mejores entidades se copian
+	 * @return un array con los genes de cada una, que ya no dependen de la poblacin
+	 */
+	public float[][] copiarMejoresGenomas(int numGenomas) {
+		numGenomas = Math.min(numGenomas, numEvaluadas);
+		//Mantiene ordenados de mejor a peor los ndices de las mejores entidades que ha encontrado
+		int[] mejores = new int[numGenomas];
+		int numMejores = 0;
+		for(int i=0; i < numEvaluadas; i++) {
+			if(numMejores == numGenomas && aptitudes[i] <= aptitudes[mejores[numMejores - 1]]) {
+				continue;
+			}
+			int posicion = numMejores < numGenomas ? numMejores++ : numMejores - 1;
+			while(posicion > 0 && aptitudes[mejores[posicion - 1]] < aptitudes[i]) {
+				mejores[posicion] = mejores[posicion - 1];
+				posicion--;
+			}
+			mejores[posicion] = i;
+		}
+		float[][] genomas = new float[numGenomas][];
+		for(int i=0; i < numGenomas; i++) {
+			genomas[i] = adnsEvaluados[mejores[i]].getGenes().clone();
+		}
+		return genomas;
+	}
+	
+	/**
+	 * Sustituye los genes de algunas entidades de la generacin actual por los recibidos de
+	 * otra poblacin. Se hace antes de que empiece su ciclo de vida, as que los inmigrantes
+	 * se evalan y compiten como cualquier otra entidad. Como los hijos se crean a partir de
+	 * parientes escogidos al azar, se sustituyen los ltimos sin favorecer a ninguno
+	 * @param genomas: genes de los inmigrantes, con las componentes intercaladas
+	 * @param numGenomas: cuntos de los primeros genomas del array se introducen, sin pasar
+	 * nunca de la mitad de la poblacin para no desplazarla por completo
+	 */
+	public void introducirInmigrantes(float[][] genomas, int numGenomas) {
+		numGenomas = Math.min(numGenomas, entidades.length / 2);
+		for(int i=0; i < numGenomas; i++) {
+			float[] genes = adnsActuales[entidades.length - 1 - i].getGenes();
+			//Si el inmigrante vive menos, el resto de genes se quedan como los tena el hijo
+			System.arraycopy(genomas[i], 0, genes, 0, Math.min(genomas[i].length, genes.length));
+		}
 	}
 	
 	/**
@@ -177,16 +355,17 @@ public class Poblacion {
 			this.entidadMonitorizada.setMonitorizada(false);
 		}
 		this.entidadMonitorizada = entidadMonitorizada;
+		aptitudEntidadMonitorizada = 0;
 	}
 	
 	/**
-	 * Evala a todas las entidades, y si todava ninguna cumple el objetivo, pasa
-	 * a calcular la proporcin de las aptitudes respecto a la mejor de la generacin
-	 * para poder determinar que probabilidad tienen de reproducirse.
+	 * Evala a todas las entidades, y si todava ninguna cumple el objetivo, prepara
+	 * la estrategia de seleccin con sus aptitudes para poder determinar qu probabilidad
+	 * tienen de reproducirse.
 	 */
 	private void seleccionar() {
-		poolGenetico.clear(); //Limpia el pool gentico para que lo rellene en la reproduccin
-		double mejorAptitud = evaluarEntidades();
+		nanosSeleccion = 0;
+		evaluarEntidades();
 		/* Si tras evaluar alguna cumple el objetivo actualiza la flag y no contina
 		 * calculando sus probabilidades de reproduccin al no ser necesario 
 		 */
@@ -194,25 +373,37 @@ public class Poblacion {
 			objetivoCumplido = true;
 			return;
 		}
-		//Determina segn sus aptitudes y la mejor conseguida esta generacin como se reproducirn
-		calcProbabilidadReproduccion(mejorAptitud);
+		//Determina segn sus aptitudes cmo se reproducirn los parientes de la siguiente generacin
+		medidorFases.cambiarFase(FaseGeneracion.SELECCION);
+		long inicio = System.nanoTime();
+		flujoSeleccion.reiniciar(semilla, numGeneraciones + 1, FLUJO_SELECCION);
+		estrategiaSeleccion.preparar(aptitudes, entidades.length, numEntidades * 2, flujoSeleccion);
+		nanosSeleccion += System.nanoTime() - inicio;
 	}
 
 	/** 
 	 * Calcula la aptitud para todas las entidades y comprueba cul es la mejor
-	 * calificada y si se ha superado el tiempo record
+	 * calificada y si se ha superado el tiempo record. Al mismo tiempo guarda las aptitudes
+	 * para la seleccin y busca los parientes de respaldo
 	 * @return la mejor aptitud obtenida en la generacin actual
 	 */
 	private double evaluarEntidades() {
 		double mejorAptitud = 0.0;
-		for(Entidad entidad : entidades) {
-			mejorAptitud = evaluarEntidad(mejorAptitud, entidad);
+		if(aptitudes.length < entidades.length) {
+			aptitudes = new double[entidades.length];
 		}
-		//Si hay una entidad siendo monitorizada, muestra la aptitud evaluada para se vea en el panel
+		indiceMejor = 0;
+		indiceSegundoMejor = -1;
+		for(int i=0; i < entidades.length; i++) {
+			mejorAptitud = evaluarEntidad(mejorAptitud, i);
+			aptitudes[i] = entidades[i].getAptitud();
+			actualizarRespaldos(i);
+		}
+		//Si hay una entidad siendo monitorizada, guarda la aptitud evaluada para que se vea en el panel
 		if(entidadMonitorizada != null) {	
-			contexto.getControlador().getVisualizador().actualizarPanel("AptitudEntidad", 
-					redondearAptitud(entidadMonitorizada.getAptitud()));
+			aptitudEntidadMonitorizada = entidadMonitorizada.getAptitud();
 		}
+		mejorAptitudActual = mejorAptitud;
 		return mejorAptitud;
 	}
 	
@@ -221,15 +412,16 @@ public class Poblacion {
 	 * superado a la mejor de esta generacin. Tambin comprueba si ha superado
 	 * algn record entre todas las generaciones
 	 * @param mejorAptitud conseguida hasta el momento
-	 * @param entidad que debe evaluar
+	 * @param i: ndice de la entidad que debe evaluar
 	 * @return la mejor aptitud la haya superado o no
 	 */
-	private double evaluarEntidad(double mejorAptitud, Entidad entidad) {
+	private double evaluarEntidad(double mejorAptitud, int i) {
+		Entidad entidad = entidades[i];
 		//Si la aptitud obtenida es mejor que alguna anterior, la sustituye
 		if (entidad.evaluarAptitud() > mejorAptitud) {
 			mejorAptitud = entidad.getAptitud();
 			//Comprueba si ha superado algn record
-			comprobarTiempoRecord(entidad);
+			comprobarTiempoRecord(i);
 			comprobarMejorAptitud(mejorAptitud);
 		}
 		return mejorAptitud;
@@ -238,19 +430,25 @@ public class Poblacion {
 	/**
 	 * Compara si el tiempo obtenido por una entidad que ha obtenido la mejor aptitud
 	 * de la generacin hasta el momento, ha superado el record de tiempo actual y 
-	 * almacena el tiempo que ha conseguido.
-	 * @param entidad cuyo tiempo debe ser comparado
+	 * almacena el tiempo que ha conseguido. Al batirlo copia sus genes, su posicin y su
+	 * velocidad, ya que la entidad se reutilizar para un hijo en la siguiente generacin
+	 * @param i: ndice de la entidad cuyo tiempo debe ser comparado
 	 */
-	private void comprobarTiempoRecord(Entidad entidad) {
-		Controlador controlador = contexto.getControlador();
+	private void comprobarTiempoRecord(int i) {
+		Entidad entidad = entidades[i];
 		int tiempoObtenido = entidad.getTiempoObtenido();
-		Visualizador visualizador = controlador.getVisualizador();
-		visualizador.actualizarPanel("TiempoRecordActual", tiempoObtenido);
-		if(entidad.getTiempoObtenido() <= mejorTiempo) {
+		tiempoRecordActual = tiempoObtenido;
+		if(tiempoObtenido <= mejorTiempo) {
 			mejorTiempo = tiempoObtenido;
-			mejorEntidad = entidad;
-			// Muestra en el panel de control el nuevo record de tiempo obtenido 
-			visualizador.actualizarPanel("TiempoRecord", mejorTiempo);
+			float[] genes = entidad.getAdn().getGenes();
+			//Slo cambia de tamao si se ha modificado el tiempo de vida durante el proceso
+			if(genesMejorEntidad.length != genes.length) {
+				genesMejorEntidad = new float[genes.length];
+			}
+			System.arraycopy(genes, 0, genesMejorEntidad, 0, genes.length);
+			posMejorEntidad.set(estadoEntidades.getPosX(i), estadoEntidades.getPosY(i));
+			velMejorEntidad.set(estadoEntidades.getVelX(i), estadoEntidades.getVelY(i));
+			hayMejorEntidad = true;
 		} 
 	}
 
@@ -261,11 +459,8 @@ public class Poblacion {
 	 * @param aptitud que debe ser comparada
 	 */
 	private void comprobarMejorAptitud(double aptitud) {
-		Visualizador visualizador = contexto.getControlador().getVisualizador();
-		visualizador.actualizarPanel("MejorAptitudActual", redondearAptitud(aptitud));
 		if(aptitud > mejorAptitud) {
 			mejorAptitud = aptitud;
-			visualizador.actualizarPanel("MejorAptitud", redondearAptitud(mejorAptitud));
 		}
 	}
 	
@@ -279,32 +474,19 @@ public class Poblacion {
 	}
 	
 	/**
-	 * Determina la probabilidad que tiene cada entidad de reproducirse con otra segn
-	 * la proporcin entre su aptitud y la mejor aptitud
-	 * @param mejorAptitud obtenida esta generacin
-	 */
-	private void calcProbabilidadReproduccion(double mejorAptitud) {
-		/* Normaliza la aptitud para todas las entidades de forma que que se obtenga
-		 * un valor equivalente a la proporcin entre su aptitud y la mejor de la generacin
-		 */
-		for(Entidad entidad : entidades) {
-			entidad.setAptitud(entidad.getAptitud() / mejorAptitud);
-		}
-		/* Los valores normalizados son las probabilidades que tiene cada entidad
-		 * de reproducirse. Se multiplica por 100 para saber cuantas veces se debe
-		 * aadir la entidad al pool gentico 
-		 */
-		for(Entidad entidad : entidades) {
-			int probabilidad = (int) (entidad.getAptitud() * 100);
-			/* Funciona como un saco con canicas dentro. Suponiendo que tienes canicas
-			 * de varios colores repetidos x veces, si metes la mano tienes tantas 
-			 * probabilidades de sacar la de un color como veces aparezca en el saco.
-			 * En este caso las veces que aparecen las entidades en el "saco" vendrn
-			 * determinadas por su aptitud
-			 */
-			for(int i=0; i < probabilidad; i++) {
-				poolGenetico.add(entidad); 
-			}
+	 * Comprueba si una entidad pasa a ser la mejor de la generacin o la mejor con una
+	 * aptitud distinta a la mejor, que son los parientes de respaldo
+	 * @param i: ndice de la entidad
+	 */
+	private void actualizarRespaldos(int i) {
+		double aptitud = entidades[i].getAptitud();
+		double aptitudMejor = entidades[indiceMejor].getAptitud();
+		if(aptitud > aptitudMejor) {
+			indiceSegundoMejor = indiceMejor;
+			indiceMejor = i;
+		} else if(aptitud < aptitudMejor
+				&& (indiceSegundoMejor < 0 || aptitud > entidades[indiceSegundoMejor].getAptitud())) {
+			indiceSegundoMejor = i;
 		}
 	}
 
@@ -312,194 +494,272 @@ public class Poblacion {
 	 * Realiza el proceso de reproduccin de las entidades para producir la siguiente
 	 * generacin a partir de la anterior. Debern generarse el nmero de
 	 * entidades hijas que se indique para esa generacin, y se obtendrn a partir de escoger
-	 * aleatoriamente dos parientes del pool gentico seleccionado anteriormente.
+	 * aleatoriamente dos parientes segn las probabilidades calculadas en la seleccin.
 	 * Despes se cruzar el ADN de los parientes con el algoritmo adecuado para 
 	 * crear la entidad nueva con ese ADN asignado, y se le aplicarn unas posibles
-	 * mutaciones aleatorias en su genotipo para aumentar la variabilidad de la poblacin
+	 * mutaciones aleatorias en su genotipo para aumentar la variabilidad de la poblacin.
+	 * Mientras no cambien el tamao de la poblacin ni el tiempo de vida, no se reserva
+	 * memoria: los hijos se escriben en el bfer de genotipos libre y las entidades se reinician
 	 */
 	private void reproducir() {
-		//Se crea una coleccin nueva de entidades con el nmero de entidades actual
-		Entidad[] nuevaGeneracion = new Entidad[numEntidades];
-		/* Se aaden nuevas entidades hijas a la coleccin creadas tras "reproducirse"
-		 * dos parientes aleatorios del pool gentico
+		escogerParientes();
+		medidorFases.cambiarFase(FaseGeneracion.REPRODUCCION);
+		prepararGenomasSiguientes();
+		/* Se cruzan todos los genotipos hijos antes de reiniciar ninguna entidad, ya que
+		 * los parientes siguen leyndose de la generacin actual
 		 */
-		for(int i=0; i < nuevaGeneracion.length; i++) {
-			crearEntidadHija(nuevaGeneracion, i);
+		crearGenomasHijos();
+		//Slo hace falta reservar nuevos arrays de estado si ha cambiado el tamao de la poblacin
+		if(estadoEntidades.getCapacidad() != numEntidades) {
+			estadoEntidades = new EstadoEntidades(numEntidades);
 		}
-		entidades = nuevaGeneracion; //Se sustituyen las entidades actuales por las nuevas
+		if(entidades.length != numEntidades) {
+			entidades = Arrays.copyOf(entidades, numEntidades);
+		}
+		//Las entidades pasan a ser los hijos, creando slo las que falten si ha crecido la poblacin
+		for(int i=0; i < numEntidades; i++) {
+			if(entidades[i] == null) {
+				entidades[i] = new Entidad(this, adnsSiguientes[i], i);
+			} else {
+				entidades[i].reiniciar(adnsSiguientes[i]);
+			}
+		}
+		//Los genotipos de los parientes quedan libres para escribir la siguiente generacin
+		ADN[] adnsParientes = adnsActuales;
+		adnsActuales = adnsSiguientes;
+		adnsSiguientes = adnsParientes;
+		estadoEntidades.iniciarGeneracion(entidades.length);
 		numGeneraciones++; //Se incrementa el contador de generaciones
 	}
 
 	/**
-	 * Genera un nuevo objeto Entidad apartir del cruce de los genes de dos parientes
-	 * aleatorios del pool gentico y tras realizar una posible mutacin
-	 * @param nuevaGeneracion la coleccin de entidades que sustituir a la anterior
-	 * @param i el ndice de la entidad que se va a crear
-	 */
-	private void crearEntidadHija(Entidad[] nuevaGeneracion, int i) {
-		//El primer pariente se obtiene del primer indice aleatorio que escoge
-		int indPariente1 = random.nextInt(poolGenetico.size());
-		Entidad pariente1 = poolGenetico.get(indPariente1);
-		//El segundo pariente deber ser uno con una aptitud distinta al primero
-		Entidad pariente2 = encontrarParienteDistinto(pariente1);
-		//Se obtiene el ADN que tendr el hijo tras cruzar el de ambos parientes
-		ADN adnHijo = cruzarEntidades(pariente1, pariente2);
-		mutar(adnHijo); //Se le aplican las mutaciones que surjan aleatoriamente
-		/* Como creamos una nueva entidad a partir de un genotipo ya construido,
-		 * le pasamos el ADN como argumento a su constructor, y ya no generar
-		 * genes aleatoriamente (excluyendo aquellos que han mutado)
-		 */
-		nuevaGeneracion[i] = new Entidad(this, adnHijo, i);
+	 * Se asegura de que el bfer de genotipos libre tiene un ADN con tantos genes como el
+	 * tiempo de vida para cada entidad de la siguiente generacin. Slo crea los que falten
+	 * o los que tengan otro nmero de genes por haber cambiado el tiempo de vida
+	 */
+	private void prepararGenomasSiguientes() {
+		if(adnsSiguientes == null) {
+			adnsSiguientes = new ADN[numEntidades];
+		} else if(adnsSiguientes.length != numEntidades) {
+			adnsSiguientes = Arrays.copyOf(adnsSiguientes, numEntidades);
+		}
+		for(int i=0; i < numEntidades; i++) {
+			if(adnsSiguientes[i] == null || adnsSiguientes[i].getNumGenes() != tiempoVida) {
+				adnsSiguientes[i] = new ADN(new float[tiempoVida * 2]);
+			}
+		}
+	}
+
+	/**
+	 * Escoge con la estrategia de seleccin los dos parientes de cada hijo de la siguiente
+	 * generacin antes de empezar a cruzarlos, para poder medir lo que cuesta seleccionar
+	 */
+	private void escogerParientes() {
+		numRedibujosPariente = numParientesRespaldo = 0;
+		if(parientes.length < numEntidades * 2) {
+			parientes = new int[numEntidades * 2];
+		}
+		long inicio = System.nanoTime();
+		for(int i=0; i < numEntidades; i++) {
+			//El primer pariente se obtiene del primer indice aleatorio que escoge
+			parientes[i * 2] = estrategiaSeleccion.seleccionar(flujoSeleccion);
+			//El segundo pariente deber ser uno con una aptitud distinta al primero
+			parientes[i * 2 + 1] = encontrarParienteDistinto(parientes[i * 2]);
+		}
+		nanosSeleccion += System.nanoTime() - inicio;
+	}
+
+	/**
+	 * Crea los genotipos de todos los hijos por bloques, cada uno con su propio flujo de nmeros
+	 * aleatorios. Si hay un pool de hilos y ms de un bloque, los bloques se reparten entre los
+	 * hilos, ya que cada hijo slo lee los genes de sus parientes y escribe en su propio ADN
+	 */
+	private void crearGenomasHijos() {
+		prepararFlujosBloques();
+		int numBloques = (numEntidades + TAMANO_BLOQUE_HIJOS - 1) / TAMANO_BLOQUE_HIJOS;
+		if(pool == null || numBloques <= 1) {
+			for(int bloque=0; bloque < numBloques; bloque++) {
+				crearBloqueHijos(bloque);
+			}
+		} else {
+			pool.invoke(new TareaReproduccion(0, numBloques));
+		}
+	}
+
+	/**
+	 * Se asegura de que hay un flujo de nmeros aleatorios para cada bloque de hijos
+	 */
+	private void prepararFlujosBloques() {
+		int numBloques = (numEntidades + TAMANO_BLOQUE_HIJOS - 1) / TAMANO_BLOQUE_HIJOS;
+		if(flujosBloques.length < numBloques) {
+			int numAnteriores = flujosBloques.length;
+			flujosBloques = Arrays.copyOf(flujosBloques, numBloques);
+			for(int bloque=numAnteriores; bloque < numBloques; bloque++) {
+				flujosBloques[bloque] = new FlujoAleatorio();
+			}
+		}
+	}
+
+	/**
+	 * Crea los genotipos de los hijos de un bloque con el flujo que le corresponde en la
+	 * generacin que se est creando
+	 * @param bloque: ndice del bloque de hijos
+	 */
+	private void crearBloqueHijos(int bloque) {
+		FlujoAleatorio flujo = flujosBloques[bloque];
+		flujo.reiniciar(semilla, numGeneraciones + 1, bloque + 1);
+		int hasta = Math.min((bloque + 1) * TAMANO_BLOQUE_HIJOS, numEntidades);
+		for(int i = bloque * TAMANO_BLOQUE_HIJOS; i < hasta; i++) {
+			crearGenomaHijo(i, flujo);
+		}
+	}
+
+	/**
+	 * Escribe en el bfer de genotipos libre el ADN del hijo i a partir del cruce de los genes
+	 * de los dos parientes escogidos para l y tras realizar una posible mutacin
+	 * @param i el ndice de la entidad hija
+	 * @param flujo: generador de nmeros aleatorios del bloque del hijo
+	 */
+	private void crearGenomaHijo(int i, FlujoAleatorio flujo) {
+		Entidad pariente1 = entidades[parientes[i * 2]];
+		Entidad pariente2 = entidades[parientes[i * 2 + 1]];
+		ADN adnHijo = adnsSiguientes[i];
+		//Se sobrescriben los genes del hijo con los que obtiene tras cruzar los de ambos parientes
+		cruzarEntidades(pariente1, pariente2, adnHijo, flujo);
+		mutar(adnHijo, flujo); //Se le aplican las mutaciones que surjan aleatoriamente
 	}
 	
 	/**
-	 * Busca un pariente aleatorio en el pool gentico cuya aptitud no sea igual a
+	 * Busca un pariente aleatorio segn las probabilidades de reproduccin cuya aptitud no sea igual a
 	 * la del primer pariente escogido para reproducirse.
 	 * Sirve para evitar que un pariente se reproduzca consigo mismo, ya que no tendra
 	 * mucho sentido en este contexto, y para que no se cruce con alguno con la misma
 	 * aptitud, puesto que eso disminuira considerablemente la variacin de genes en
-	 * los hijos obtenidos para la siguiente generacin, evitando que evolucionen
-	 * @param pariente1: primer pariente que se ha elegido para cruzarse
-	 * @return el segundo pariente que se cruzar con el primero
-	 */
-	private Entidad encontrarParienteDistinto(Entidad pariente1) {
-		int indPariente2;
-		/* Hasta que no salga un pariente con una aptitud distinta, contina sacando
-		 * parientes aleatoriamente del pool gentico
+	 * los hijos obtenidos para la siguiente generacin, evitando que evolucionen.
+	 * Si la poblacin ha convergido y casi todas comparten aptitud, sacar parientes hasta dar
+	 * con uno distinto podra no terminar nunca, as que tras un nmero limitado de intentos
+	 * se escoge un pariente de respaldo: la mejor entidad, o la mejor con una aptitud distinta
+	 * si el primer pariente ya tiene la mejor. Si no queda ninguna aptitud distinta, se acepta
+	 * cualquier pariente segn su aptitud
+	 * @param pariente1: ndice del primer pariente que se ha elegido para cruzarse
+	 * @return el ndice del segundo pariente que se cruzar con el primero
+	 */
+	private int encontrarParienteDistinto(int pariente1) {
+		/* Hasta que no salga un pariente con una aptitud distinta o se agoten los intentos,
+		 * contina sacando parientes aleatoriamente segn su aptitud
 		 */
-		do {
-			indPariente2 = random.nextInt(poolGenetico.size());
-		} while(poolGenetico.get(indPariente2).getAptitud() == pariente1.getAptitud());
-		//Una vez ha obtenido el que buscaba, puede devolver el pariente para que se crucen
-		Entidad pariente2 = poolGenetico.get(indPariente2);
-		return pariente2;
+		for(int intento=0; intento < MAX_INTENTOS_PARIENTE; intento++) {
+			int pariente2 = estrategiaSeleccion.seleccionar(flujoSeleccion);
+			//Una vez ha obtenido el que buscaba, puede devolver el pariente para que se crucen
+			if(aptitudes[pariente2] != aptitudes[pariente1]) {
+				return pariente2;
+			}
+			numRedibujosPariente++;
+		}
+		numParientesRespaldo++;
+		if(aptitudes[indiceMejor] != aptitudes[pariente1]) {
+			return indiceMejor;
+		}
+		if(indiceSegundoMejor >= 0) {
+			return indiceSegundoMejor;
+		}
+		return estrategiaSeleccion.seleccionar(flujoSeleccion);
 	}
 	
 	/**
-	 * Produce un ADN a partir de juntar los genes de dos parientes haciendo
-	 * una "tirada al aire de una moneda" con cada gen que deber tener
+	 * Produce un ADN a partir de juntar los genes de dos parientes con el operador de cruce
 	 * @param pariente1
 	 * @param pariente2
-	 * @return el ADN (genotipo) con los genes obtenidos del cruce
+	 * @param adnHijo: el ADN (genotipo) donde se escriben los genes obtenidos del cruce, con
+	 * las dos componentes de cada fuerza que aplicar en su tiempo de vida
+	 * @param flujo: generador de nmeros aleatorios del bloque del hijo
 	 */
-	private ADN cruzarEntidades(Entidad pariente1, Entidad pariente2) {
-		//Inicia un array de vectores cuyo tamao son los frames de vida de la entidad
-		PVector[] genesHijo = new PVector[tiempoVida];
+	private void cruzarEntidades(Entidad pariente1, Entidad pariente2, ADN adnHijo, FlujoAleatorio flujo) {
 		//Obtiene los genes de ambos parientes
-		PVector[] genesPariente1 = pariente1.getAdn().getGenes();
-	    PVector[] genesPariente2 = pariente2.getAdn().getGenes();
+		float[] genesPariente1 = pariente1.getAdn().getGenes();
+	    float[] genesPariente2 = pariente2.getAdn().getGenes();
+	    int numGenesParientes = pariente1.getAdn().getNumGenes();
 	    /* El nmero de cruces que se realizarn depender de si el tiempo de vida de los padres
 	     * es mayor o igual que el de la nueva generacin o no. En el primer caso ser simplemente
 	     * equivalente al tiempo de vida, pero en el caso de que sea menor, no habr suficientes
 	     * cruces para rellenar sus genes, as que har tantos cruces como la resta de la 
 	     * diferencia entre estos haya, para evitar errores de elementos vacos.
 	     */
-	    int difTiempoVida = tiempoVida - genesPariente1.length;
-	    boolean parientesVivenIgualOMas = genesPariente1.length >= tiempoVida;
+	    int difTiempoVida = tiempoVida - numGenesParientes;
+	    boolean parientesVivenIgualOMas = numGenesParientes >= tiempoVida;
 	    int numCruces = parientesVivenIgualOMas ? tiempoVida : tiempoVida - difTiempoVida;
-	    /* Le asigna un gen a cada uno de los genes que puede obtener a partir de los cruces entre
-	     * los parientes 
-	     */
-		for(int i=0; i < numCruces; i++) {
-			genesHijo[i] = elegirGenes(genesPariente1[i], genesPariente2[i]);
-		}
+	    //Le asigna a cada uno de los genes que puede obtener de los parientes el del pariente que le toque
+	    operadorCruce.cruzar(genesPariente1, genesPariente2, adnHijo.getGenes(), numCruces, flujo);
 		/* Si los parientes viven menos que los hijos, debe rellenar los genes que sobran con
 		 * genes aleatorios, ya que no quedan ms cruces que hacer
 		 */
 		if(!parientesVivenIgualOMas) {
-			rellenarGenesExtra(genesHijo, numCruces);
+			rellenarGenesExtra(adnHijo, numCruces, flujo);
 		}
-		return new ADN(genesHijo);
-	}
-
-	/**
-	 * Asigna a un gen del hijo que se est creando el gen correspondiente al de alguno de
-	 * los dos parientes segn el que toque aleatoriamente
-	 * @param genPariente1 gen del primer pariente
-	 * @param genPariente2 gen del segundo pariente
-	 */
-	private PVector elegirGenes(PVector genPariente1, PVector genPariente2) {
-		/* En cada gen tendr un 50% de posibilidades de elegir el de un pariente u otro.
-		 * Funciona como si se tirara una moneda al aire para cada uno
-		 */
-		if (random.nextBoolean()) {
-	        return genPariente1;
-	    } else {
-	        return genPariente2;
-	    }
 	}
 
 	/**
 	 * Rellena el resto de genes que faltan del genotipo de un hijo con genes aleatorios
-	 * @param genesHijo: la coleccion de genes que tiene elementos por rellenar
+	 * @param adnHijo: el genotipo que tiene genes por rellenar
 	 * @param numCruces: los cruces que lleg a hacer hasta que no quedaban ms genes
+	 * @param flujo: generador de nmeros aleatorios del bloque del hijo
 	 */
-	private void rellenarGenesExtra(PVector[] genesHijo, int numCruces) {
-		//Genera un ADN temporal que sirve para obtener los genes aleatorios
-		ADN adnTemp = new ADN(tiempoVida);
+	private void rellenarGenesExtra(ADN adnHijo, int numCruces, FlujoAleatorio flujo) {
 		//Comienza el bucle donde dej el anterior para los genes que faltan
 		for(int i=numCruces; i < tiempoVida; i++) {
-			genesHijo[i] = adnTemp.getGenes()[i]; //Rellena con un gen aleatorio
+			adnHijo.generarGenAleatorio(i, flujo); //Rellena con un gen aleatorio
 		}
 	}
 	
 	/**
-	 * Recorre todos los genes del ADN de una entidad y por cada uno existir 
-	 * la posibilidad (determinada por la probabilidad de la tasa de mutacin)
-	 * de que mute transformndose en un vector completamente aleatorio
+	 * Recorre los genes del ADN de una entidad, y por cada uno existir la posibilidad
+	 * (determinada por la probabilidad de la tasa de mutacin) de que mute segn el operador
+	 * de mutacin, que slo hace tantas tiradas como mutaciones se producen
 	 * @param adnHijo que podr ser alterado
+	 * @param flujo: generador de nmeros aleatorios del bloque del hijo
 	 */
-	private void mutar(ADN adnHijo) {
-		for(PVector gen : adnHijo.getGenes()) {
-			if(random.nextDouble(1) < tasaMutacion) {
-				adnHijo.generarGenAleatorio(gen);
-			}
-		}
+	private void mutar(ADN adnHijo, FlujoAleatorio flujo) {
+		operadorMutacion.mutar(adnHijo, tasaMutacion, flujo);
 	}
 	
 	/**
-	 * Reduce el nmero de decimales en notacin cientfica que muestra la aptitud
-	 * para hacerlo ms legible en la interfaz
-	 * @param aptitud
-	 * @return la aptitud redondeada mostrando solo 4 decimales extra
+	 * Suma las colisiones con obstculos de un frame al total y al de esta generacin.
+	 * El panel de control las lee despus a su ritmo, as que aqu slo se cuentan
+	 * @param colisiones que se han producido en el frame
 	 */
-	private String redondearAptitud(double aptitud) {
-		/* Muestra solo un nmero seguido de como mucho 3 decimales y la notacin
-		 * cientfica correspondiente segn los decimales que tenga la aptitud */
-		DecimalFormat df = new DecimalFormat("0.0##E0");
-		return df.format(aptitud);
-	}
-	
-	/**
-	 * Incrementa el nmero de colisiones con obstculos y lo muestra en el panel de control
-	 */
-	public void incrNumColisiones() {
-		contexto.getControlador().getVisualizador().actualizarPanel("Colisiones", ++numColisiones);
+	private void sumarColisiones(int colisiones) {
+		numColisiones += colisiones;
+		numColisionesActual += colisiones;
 	}
 
 	/**
-	 * Incrementa el nmero de llegadas a la meta y lo muestra en el panel de control
+	 * Suma las llegadas a la meta de un frame al total y al de esta generacin
+	 * @param llegadas que se han producido en el frame
 	 */
-	public void incrNumLlegadas() {
-		contexto.getControlador().getVisualizador().actualizarPanel("Metas", ++numLlegadas);
+	private void sumarLlegadas(int llegadas) {
+		numLlegadas += llegadas;
+		numLlegadasActual += llegadas;
 	}
 	
-	/**
-	 * Incrementa el nmero de colisiones con obstculos  de esta generacion y lo muestra en el panel de control
-	 */
-	public void incrNumColisionesActual() {
-		contexto.getControlador().getVisualizador().actualizarPanel("ColisionesActual", ++numColisionesActual);
+	public Entidad[] getEntidades() {
+		return entidades;
+	}
+
+	public EstadoEntidades getEstadoEntidades() {
+		return estadoEntidades;
 	}
 
 	/**
-	 * Incrementa el nmero de llegadas a la meta de esta generacion y lo muestra en el panel de control
+	 * Establece en cuntos hilos se reparte el ciclo de vida de las entidades. Con un solo
+	 * hilo se realiza en el hilo que llama a realizarCiclo(), sin utilizar ningn pool
+	 * @param numHilos
 	 */
-	public void incrNumLlegadasActual() {
-		contexto.getControlador().getVisualizador().actualizarPanel("MetasActual", ++numLlegadasActual);
-	}
-	
-	public Entidad[] getEntidades() {
-		return entidades;
+	public void setNumHilos(int numHilos) {
+		//Si el pool anterior lo haba creado la propia poblacin, lo cierra
+		if(pool != null && pool != ForkJoinPool.commonPool()) {
+			pool.shutdown();
+		}
+		pool = numHilos > 1 ? new ForkJoinPool(numHilos) : null;
 	}
 
 	public void setNumEntidades(int numEntidades) {
@@ -538,8 +798,23 @@ public class Poblacion {
 		return objetivoCumplido;
 	}
 
-	public Entidad getMejorEntidad() {
-		return mejorEntidad;
+	public boolean hayMejorEntidad() {
+		return hayMejorEntidad;
+	}
+
+	/**
+	 * @return la copia de los genes de la entidad del record, con las componentes intercaladas
+	 */
+	public float[] getGenesMejorEntidad() {
+		return genesMejorEntidad;
+	}
+
+	public PVector getPosMejorEntidad() {
+		return posMejorEntidad;
+	}
+
+	public PVector getVelMejorEntidad() {
+		return velMejorEntidad;
 	}
 
 	public int getTiempoObjetivo() {
@@ -553,5 +828,151 @@ public class Poblacion {
 	public Entidad getEntidadMonitorizada() {
 		return entidadMonitorizada;
 	}
+
+	public double getAptitudEntidadMonitorizada() {
+		return aptitudEntidadMonitorizada;
+	}
+
+	public int getMejorTiempo() {
+		return mejorTiempo;
+	}
+
+	public double getMejorAptitud() {
+		return mejorAptitud;
+	}
+
+	public double getMejorAptitudActual() {
+		return mejorAptitudActual;
+	}
+
+	public int getTiempoRecordActual() {
+		return tiempoRecordActual;
+	}
+
+	public int getNumColisiones() {
+		return numColisiones;
+	}
+
+	public int getNumLlegadas() {
+		return numLlegadas;
+	}
+
+	public int getNumColisionesActual() {
+		return numColisionesActual;
+	}
+
+	public int getNumLlegadasActual() {
+		return numLlegadasActual;
+	}
+
+	/**
+	 * @return las veces que se ha vuelto a sacar el segundo pariente al reproducir la ltima generacin
+	 */
+	public int getNumRedibujosPariente() {
+		return numRedibujosPariente;
+	}
+
+	/**
+	 * @return los hijos de la ltima generacin cuyo segundo pariente ha sido uno de respaldo
+	 */
+	public int getNumParientesRespaldo() {
+		return numParientesRespaldo;
+	}
+
+	public long getNanosSeleccion() {
+		return nanosSeleccion;
+	}
+
+	public MedidorFases getMedidorFases() {
+		return medidorFases;
+	}
+
+	public EstrategiaSeleccion getEstrategiaSeleccion() {
+		return estrategiaSeleccion;
+	}
+
+	/**
+	 * Cambia la forma de escoger los parientes, que se aplicar a partir de la prxima reproduccin
+	 * @param estrategiaSeleccion a utilizar
+	 */
+	public void setEstrategiaSeleccion(EstrategiaSeleccion estrategiaSeleccion) {
+		this.estrategiaSeleccion = estrategiaSeleccion;
+	}
+
+	public OperadorCruce getOperadorCruce() {
+		return operadorCruce;
+	}
+
+	/**
+	 * Cambia la forma de cruzar los genes de los parientes, que se aplicar a partir de la prxima reproduccin
+	 * @param operadorCruce a utilizar
+	 */
+	public void setOperadorCruce(OperadorCruce operadorCruce) {
+		this.operadorCruce = operadorCruce;
+	}
+
+	public OperadorMutacion getOperadorMutacion() {
+		return operadorMutacion;
+	}
+
+	/**
+	 * Cambia la forma de alterar los genes que mutan, que se aplicar a partir de la prxima reproduccin
+	 * @param operadorMutacion a utilizar
+	 */
+	public void setOperadorMutacion(OperadorMutacion operadorMutacion) {
+		this.operadorMutacion = operadorMutacion;
+	}
+
+	public int getNumEntidades() {
+		return numEntidades;
+	}
+
+	public long getSemilla() {
+		return semilla;
+	}
+
+	/**
+	 * Calcula un resumen de los genes de todas las entidades de la generacin actual. Dos
+	 * ejecuciones con la misma semilla deben dar la misma huella en cada generacin sin
+	 * importar el nmero de hilos, lo que permite comprobar que una optimizacin no cambia
+	 * los resultados comparndola con la de una ejecucin de referencia
+	 * @return la huella de la poblacin
+	 */
+	public long calcularHuella() {
+		long huella = numGeneraciones;
+		for(Entidad entidad : entidades) {
+			for(float componente : entidad.getAdn().getGenes()) {
+				//Paso de FNV-1a (xor y multiplicacin) sobre los bits exactos de cada componente
+				huella = (huella ^ Float.floatToRawIntBits(componente)) * 0x100000001B3L;
+			}
+		}
+		return huella;
+	}
+
+	/**
+	 * Tarea que reparte los bloques de hijos entre los hilos del pool dividiendo el rango
+	 * de bloques por la mitad hasta que slo queda uno
+	 */
+	private class TareaReproduccion extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int desdeBloque, hastaBloque;
+		
+		TareaReproduccion(int desdeBloque, int hastaBloque) {
+			this.desdeBloque = desdeBloque;
+			this.hastaBloque = hastaBloque;
+		}
+		
+		@Override
+		protected void compute() {
+			if(hastaBloque - desdeBloque == 1) {
+				crearBloqueHijos(desdeBloque);
+				return;
+			}
+			int mitad = (desdeBloque + hastaBloque) >>> 1;
+			invokeAll(new TareaReproduccion(desdeBloque, mitad), new TareaReproduccion(mitad, hastaBloque));
+		}
+	}
 	
 }
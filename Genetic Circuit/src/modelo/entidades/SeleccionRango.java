@@ -0,0 +1,59 @@
+package modelo.entidades;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seleccin por rango lineal: las entidades se ordenan por aptitud y cada una tiene una
+ * probabilidad proporcional a su posicin en vez de a su aptitud. Evita que unas pocas
+ * entidades muy superiores al resto acaparen la reproduccin y que la poblacin pierda
+ * variedad demasiado pronto. Las entidades con la misma aptitud comparten posicin
+ * @author Alberto
+ */
+public class SeleccionRango implements EstrategiaSeleccion {
+
+	private final TablaAlias tabla = new TablaAlias();
+	private double[] ordenadas = new double[0], pesos = new double[0];
+
+	@Override
+	public void preparar(double[] aptitudes, int numEntidades, int numSelecciones, RandomGenerator random) {
+		if(ordenadas.length < numEntidades) {
+			ordenadas = new double[numEntidades];
+			pesos = new double[numEntidades];
+		}
+		System.arraycopy(aptitudes, 0, ordenadas, 0, numEntidades);
+		Arrays.sort(ordenadas, 0, numEntidades);
+		//La posicin de cada entidad es el nmero de entidades con menos aptitud que ella
+		for(int i=0; i < numEntidades; i++) {
+			pesos[i] = primeraPosicion(aptitudes[i], numEntidades) + 1;
+		}
+		tabla.construir(pesos, numEntidades);
+	}
+
+	/**
+	 * Bsqueda binaria de la primera posicin del array ordenado con la aptitud indicada
+	 */
+	private int primeraPosicion(double aptitud, int numEntidades) {
+		int desde = 0, hasta = numEntidades;
+		while(desde < hasta) {
+			int mitad = (desde + hasta) >>> 1;
+			if(ordenadas[mitad] < aptitud) {
+				desde = mitad + 1;
+			} else {
+				hasta = mitad;
+			}
+		}
+		return desde;
+	}
+
+	@Override
+	public int seleccionar(RandomGenerator random) {
+		return tabla.seleccionar(random);
+	}
+
+	@Override
+	public String getNombre() {
+		return "rango";
+	}
+
+}
@@ -0,0 +1,30 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Seleccin proporcional a la aptitud: cada entidad tiene tantas posibilidades de ser escogida
+ * como la proporcin entre su aptitud y la suma de todas. Las selecciones se hacen con una
+ * tabla de alias, por lo que no hace falta normalizar las aptitudes
+ * @author Alberto
+ */
+public class SeleccionRuleta implements EstrategiaSeleccion {
+
+	private final TablaAlias tabla = new TablaAlias();
+
+	@Override
+	public void preparar(double[] aptitudes, int numEntidades, int numSelecciones, RandomGenerator random) {
+		tabla.construir(aptitudes, numEntidades);
+	}
+
+	@Override
+	public int seleccionar(RandomGenerator random) {
+		return tabla.seleccionar(random);
+	}
+
+	@Override
+	public String getNombre() {
+		return "ruleta";
+	}
+
+}
@@ -0,0 +1,58 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Seleccin por torneo: para cada pariente se escogen al azar unas cuantas entidades y se
+ * queda la de mayor aptitud. No necesita recorrer las aptitudes antes de seleccionar, y cuanto
+ * ms grande es el torneo, ms se favorece a las mejores entidades
+ * @author Alberto
+ */
+public class SeleccionTorneo implements EstrategiaSeleccion {
+
+	/**
+	 * Tamao del torneo que se utiliza si no se indica otro
+	 */
+	public static final int TAMANO_DEFECTO = 3;
+
+	/**
+	 * Nmero de entidades que compiten en cada torneo
+	 */
+	private final int tamanoTorneo;
+	private double[] aptitudes;
+	private int numEntidades;
+
+	/**
+	 * @param tamanoTorneo: nmero de entidades que compiten para cada seleccin
+	 */
+	public SeleccionTorneo(int tamanoTorneo) {
+		if(tamanoTorneo < 1) {
+			throw new IllegalArgumentException("El torneo debe tener al menos una entidad: " + tamanoTorneo);
+		}
+		this.tamanoTorneo = tamanoTorneo;
+	}
+
+	@Override
+	public void preparar(double[] aptitudes, int numEntidades, int numSelecciones, RandomGenerator random) {
+		this.aptitudes = aptitudes;
+		this.numEntidades = numEntidades;
+	}
+
+	@Override
+	public int seleccionar(RandomGenerator random) {
+		int ganadora = random.nextInt(numEntidades);
+		for(int i=1; i < tamanoTorneo; i++) {
+			int rival = random.nextInt(numEntidades);
+			if(aptitudes[rival] > aptitudes[ganadora]) {
+				ganadora = rival;
+			}
+		}
+		return ganadora;
+	}
+
+	@Override
+	public String getNombre() {
+		return "torneo" + tamanoTorneo;
+	}
+
+}
@@ -0,0 +1,77 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Muestreo estocstico universal (SUS): en vez de girar la ruleta una vez por pariente, la gira
+ * una sola vez con tantos punteros como parientes hacen falta, separados a la misma distancia.
+ * As escoge a todos los parientes en un nico recorrido de las aptitudes, y cada entidad sale
+ * un nmero de veces que se aleja como mucho en una de lo que le corresponde por su aptitud.
+ * Los parientes se desordenan despus para que las parejas que se forman sean aleatorias
+ * @author Alberto
+ */
+public class SeleccionUniversal implements EstrategiaSeleccion {
+
+	/**
+	 * ndices de los parientes escogidos al preparar la seleccin
+	 */
+	private int[] seleccionados = new int[0];
+	private int numSeleccionados;
+	/**
+	 * Posicin del siguiente pariente que se devolver
+	 */
+	private int siguiente;
+
+	@Override
+	public void preparar(double[] aptitudes, int numEntidades, int numSelecciones, RandomGenerator random) {
+		if(seleccionados.length < numSelecciones) {
+			seleccionados = new int[numSelecciones];
+		}
+		numSeleccionados = numSelecciones;
+		siguiente = 0;
+		double total = 0;
+		for(int i=0; i < numEntidades; i++) {
+			total += aptitudes[i];
+		}
+		//Sin aptitudes que comparar, todas las entidades salen las mismas veces
+		boolean uniforme = !(total > 0) || Double.isInfinite(total);
+		double distancia = uniforme ? (double) numEntidades / numSelecciones : total / numSelecciones;
+		double puntero = random.nextDouble() * distancia;
+		double acumulado = 0;
+		int entidad = -1;
+		for(int s=0; s < numSelecciones; s++) {
+			//Avanza por la ruleta hasta la entidad en cuyo tramo cae el puntero
+			while(acumulado <= puntero && entidad < numEntidades - 1) {
+				entidad++;
+				acumulado += uniforme ? 1 : aptitudes[entidad];
+			}
+			seleccionados[s] = entidad;
+			puntero += distancia;
+		}
+		//Desordena los parientes con el algoritmo de Fisher-Yates
+		for(int i = numSelecciones - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int aux = seleccionados[i];
+			seleccionados[i] = seleccionados[j];
+			seleccionados[j] = aux;
+		}
+	}
+
+	/**
+	 * Devuelve los parientes escogidos al preparar la seleccin en orden. Si se piden ms de
+	 * los que se prepararon, vuelve a empezar por el principio
+	 */
+	@Override
+	public int seleccionar(RandomGenerator random) {
+		if(siguiente == numSeleccionados) {
+			siguiente = 0;
+		}
+		return seleccionados[siguiente++];
+	}
+
+	@Override
+	public String getNombre() {
+		return "sus";
+	}
+
+}
@@ -0,0 +1,111 @@
+package modelo.entidades;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabla para escoger elementos al azar con una probabilidad proporcional a su peso mediante
+ * el mtodo alias de Vose. Se construye en tiempo lineal y cada seleccin cuesta lo mismo
+ * sin importar cuntos elementos haya: se elige una columna al azar y una tirada decide si
+ * se queda con el elemento de esa columna o con su alias.
+ * https://www.keithschwarz.com/darts-dice-coins/
+ * Los arrays se reutilizan entre construcciones mientras quepan los elementos, de forma
+ * que rehacer la tabla en cada generacin no reserva memoria
+ * @author Alberto
+ */
+public class TablaAlias {
+
+	/**
+	 * Probabilidad de quedarse con el elemento de cada columna en vez de con su alias
+	 */
+	private double[] probabilidad = new double[0];
+	/**
+	 * Elemento con el que se comparte cada columna
+	 */
+	private int[] alias = new int[0];
+	/**
+	 * Pilas de trabajo con las columnas que quedan por debajo y por encima de la media
+	 */
+	private int[] pequenas = new int[0], grandes = new int[0];
+	private int numElementos;
+
+	/**
+	 * Rellena la tabla con los pesos indicados. Los pesos no necesitan estar normalizados,
+	 * pero no pueden ser negativos. Si todos son 0, cualquier elemento es igual de probable
+	 * @param pesos de cada elemento
+	 * @param numElementos: cuntos de los primeros pesos del array se utilizan
+	 */
+	public void construir(double[] pesos, int numElementos) {
+		if(probabilidad.length < numElementos) {
+			probabilidad = new double[numElementos];
+			alias = new int[numElementos];
+			pequenas = new int[numElementos];
+			grandes = new int[numElementos];
+		}
+		this.numElementos = numElementos;
+		double total = 0;
+		for(int i=0; i < numElementos; i++) {
+			total += pesos[i];
+		}
+		if(!(total > 0) || Double.isInfinite(total)) {
+			for(int i=0; i < numElementos; i++) {
+				probabilidad[i] = 1;
+				alias[i] = i;
+			}
+			return;
+		}
+		/* Escala los pesos para que la media sea 1 y separa las columnas que no llegan a
+		 * la media de las que la superan */
+		int numPequenas = 0, numGrandes = 0;
+		for(int i=0; i < numElementos; i++) {
+			probabilidad[i] = pesos[i] * numElementos / total;
+			if(probabilidad[i] < 1) {
+				pequenas[numPequenas++] = i;
+			} else {
+				grandes[numGrandes++] = i;
+			}
+		}
+		/* Cada columna pequea se completa hasta 1 con parte de una grande, que pasa a ser su
+		 * alias. Lo que le queda a la grande vuelve a la pila que le corresponde */
+		while(numPequenas > 0 && numGrandes > 0) {
+			int pequena = pequenas[--numPequenas];
+			int grande = grandes[--numGrandes];
+			alias[pequena] = grande;
+			probabilidad[grande] = (probabilidad[grande] + probabilidad[pequena]) - 1;
+			if(probabilidad[grande] < 1) {
+				pequenas[numPequenas++] = grande;
+			} else {
+				grandes[numGrandes++] = grande;
+			}
+		}
+		//Las que quedan estn llenas salvo por errores de redondeo, as que no necesitan alias
+		while(numGrandes > 0) {
+			int grande = grandes[--numGrandes];
+			probabilidad[grande] = 1;
+			alias[grande] = grande;
+		}
+		while(numPequenas > 0) {
+			int pequena = pequenas[--numPequenas];
+			probabilidad[pequena] = 1;
+			alias[pequena] = pequena;
+		}
+	}
+
+	/**
+	 * Escoge un elemento al azar segn su peso
+	 * @param random: generador de nmeros aleatorios a utilizar
+	 * @return el ndice del elemento escogido
+	 */
+	public int seleccionar(RandomGenerator random) {
+		/* Un nico nmero aleatorio sirve para ambas cosas: su parte entera indica la columna y
+		 * su parte decimal hace de tirada para decidir entre el elemento y su alias */
+		double tirada = random.nextDouble() * numElementos;
+		//El redondeo de la multiplicacin podra dar justo numElementos
+		int columna = Math.min((int) tirada, numElementos - 1);
+		return tirada - columna < probabilidad[columna] ? columna : alias[columna];
+	}
+
+	public int getNumElementos() {
+		return numElementos;
+	}
+
+}
@@ -0,0 +1,192 @@
+package modelo.islas;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import modelo.Simulacion;
+
+/**
+ * Modelo de islas: varias poblaciones independientes sobre el mismo circuito, cada una en su
+ * propio hilo, que cada cierto nmero de generaciones envan copias de sus mejores genomas a
+ * otras islas segn la topologa de migracin. Cada isla evoluciona por su cuenta y conserva
+ * su propia diversidad, y la migracin reparte los avances sin que unas esperen a otras.
+ * La ejecucin termina en cuanto alguna isla cumple el objetivo.
+ * Como las islas no se sincronizan, la generacin en la que llega cada migrante depende de
+ * la velocidad de cada hilo, as que a diferencia de una sola poblacin con semilla, dos
+ * ejecuciones con las mismas semillas no tienen por qu dar el mismo resultado
+ * @author Alberto
+ */
+public class Archipielago {
+
+	private final Simulacion[] islas;
+	private final BuzonMigrantes[] buzones;
+	private final TopologiaMigracion topologia;
+	/**
+	 * Generaciones entre cada migracin
+	 */
+	private final int intervaloMigracion;
+	/**
+	 * Mejores genomas que enva cada isla a cada destino en cada migracin
+	 */
+	private final int numMigrantes;
+	/**
+	 * Generaciones que ha ejecutado cada isla. Cada isla slo escribe en su posicin, y se
+	 * leen al terminar todos los hilos
+	 */
+	private final int[] generaciones;
+	/**
+	 * Se activa cuando alguna isla cumple el objetivo para que las dems dejen de evolucionar
+	 */
+	private final AtomicBoolean terminado = new AtomicBoolean();
+	private final AtomicLong numMigrantesEnviados = new AtomicLong();
+	/**
+	 * Primer error que se ha producido en alguna isla, que detiene a todas las dems
+	 */
+	private final AtomicReference<RuntimeException> error = new AtomicReference<RuntimeException>();
+	private volatile int islaGanadora = -1;
+	private volatile long nanosObjetivo;
+	private long inicio;
+
+	/**
+	 * Crea las islas cargando el circuito en cada una con los mismos parmetros de poblacin.
+	 * Si los parmetros tienen semilla, cada isla utiliza la suya a partir de ella
+	 * @param nombreCircuito: nombre del fichero del circuito que deben cargar
+	 * @param numIslas: nmero de poblaciones independientes
+	 * @param poblacionParams: parmetros de cada una de las poblaciones, con el formato del panel de control
+	 * @param topologia: forma de escoger a qu islas migran los genomas
+	 * @param intervaloMigracion: generaciones entre cada migracin
+	 * @param numMigrantes: mejores genomas que enva cada isla a cada destino
+	 */
+	public Archipielago(String nombreCircuito, int numIslas, HashMap<String, Integer> poblacionParams,
+			TopologiaMigracion topologia, int intervaloMigracion, int numMigrantes) {
+		if(numIslas < 1 || intervaloMigracion < 1 || numMigrantes < 0) {
+			throw new IllegalArgumentException("Parmetros de migracin incorrectos: " + numIslas + " islas, cada "
+					+ intervaloMigracion + " generaciones, " + numMigrantes + " migrantes");
+		}
+		this.topologia = topologia;
+		this.intervaloMigracion = intervaloMigracion;
+		this.numMigrantes = numMigrantes;
+		islas = new Simulacion[numIslas];
+		buzones = new BuzonMigrantes[numIslas];
+		generaciones = new int[numIslas];
+		for(int i=0; i < numIslas; i++) {
+			HashMap<String, Integer> parametrosIsla = new HashMap<String, Integer>(poblacionParams);
+			if(poblacionParams.containsKey("Semilla")) {
+				parametrosIsla.put("Semilla", poblacionParams.get("Semilla") + i);
+			}
+			islas[i] = new Simulacion(nombreCircuito, parametrosIsla);
+			//Cada isla ya tiene su propio hilo, as que su poblacin no reparte el trabajo en otros
+			islas[i].setNumHilos(1);
+			buzones[i] = new BuzonMigrantes();
+		}
+	}
+
+	/**
+	 * Ejecuta todas las islas en paralelo hasta que alguna cumpla el objetivo o todas
+	 * lleguen al lmite de generaciones
+	 * @param maxGeneraciones: nmero mximo de generaciones de cada isla
+	 * @return el resumen de la ejecucin
+	 * @throws InterruptedException si se interrumpe el hilo mientras espera a las islas
+	 */
+	public ResultadoArchipielago ejecutar(int maxGeneraciones) throws InterruptedException {
+		Thread[] hilos = new Thread[islas.length];
+		inicio = System.nanoTime();
+		for(int i=0; i < islas.length; i++) {
+			int isla = i;
+			hilos[i] = new Thread(() -> evolucionarIsla(isla, maxGeneraciones), "isla-" + i);
+			hilos[i].start();
+		}
+		for(Thread hilo : hilos) {
+			hilo.join();
+		}
+		long nanos = System.nanoTime() - inicio;
+		if(error.get() != null) {
+			throw error.get();
+		}
+		//Si ninguna ha cumplido el objetivo, la ganadora es la que ha obtenido el mejor tiempo
+		int ganadora = islaGanadora;
+		boolean objetivoCumplido = ganadora >= 0;
+		if(!objetivoCumplido) {
+			ganadora = 0;
+			for(int i=1; i < islas.length; i++) {
+				if(islas[i].getPoblacion().getMejorTiempo() < islas[ganadora].getPoblacion().getMejorTiempo()) {
+					ganadora = i;
+				}
+			}
+		}
+		/* La ganadora que cumple el objetivo no tiene por qu ser la del mejor tiempo, ya que
+		 * otra isla puede haber encontrado una ruta ms rpida en una generacin anterior */
+		int mejorTiempo = Integer.MAX_VALUE;
+		for(Simulacion isla : islas) {
+			mejorTiempo = Math.min(mejorTiempo, isla.getPoblacion().getMejorTiempo());
+		}
+		return new ResultadoArchipielago(objetivoCumplido, ganadora, generaciones[ganadora],
+				mejorTiempo, objetivoCumplido ? nanosObjetivo : nanos, numMigrantesEnviados.get());
+	}
+
+	/**
+	 * Bucle de cada isla: ejecuta generaciones, enva sus mejores genomas cuando le toca e
+	 * introduce los que le hayan llegado antes de empezar la siguiente generacin
+	 * @param isla: ndice de la isla
+	 * @param maxGeneraciones: nmero mximo de generaciones
+	 */
+	private void evolucionarIsla(int isla, int maxGeneraciones) {
+		Simulacion simulacion = islas[isla];
+		SplittableRandom random = new SplittableRandom(simulacion.getPoblacion().getSemilla());
+		try {
+			while(generaciones[isla] < maxGeneraciones && !terminado.get()) {
+				simulacion.ejecutarGeneracion();
+				generaciones[isla]++;
+				if(simulacion.isObjetivoCumplido()) {
+					//Slo cuenta la primera isla que lo cumple
+					if(terminado.compareAndSet(false, true)) {
+						nanosObjetivo = System.nanoTime() - inicio;
+						islaGanadora = isla;
+					}
+					return;
+				}
+				if(generaciones[isla] % intervaloMigracion == 0) {
+					emigrar(isla, random);
+				}
+				inmigrar(isla);
+			}
+		} catch (RuntimeException e) {
+			error.compareAndSet(null, e);
+			terminado.set(true);
+		}
+	}
+
+	/**
+	 * Enva copias de los mejores genomas de la ltima generacin evaluada a los buzones de
+	 * las islas de destino. Todos los destinos comparten las mismas copias, ya que slo se leen
+	 */
+	private void emigrar(int isla, SplittableRandom random) {
+		if(numMigrantes == 0) {
+			return;
+		}
+		float[][] genomas = islas[isla].getPoblacion().copiarMejoresGenomas(numMigrantes);
+		for(int destino : topologia.escogerDestinos(isla, islas.length, random)) {
+			buzones[destino].enviar(genomas);
+			numMigrantesEnviados.addAndGet(genomas.length);
+		}
+	}
+
+	/**
+	 * Recoge todos los genomas que han llegado al buzn de la isla y los introduce en la
+	 * generacin que va a empezar
+	 */
+	private void inmigrar(int isla) {
+		float[][] genomas = buzones[isla].recogerTodos();
+		if(genomas != null) {
+			islas[isla].getPoblacion().introducirInmigrantes(genomas, genomas.length);
+		}
+	}
+
+	public Simulacion[] getIslas() {
+		return islas;
+	}
+
+}
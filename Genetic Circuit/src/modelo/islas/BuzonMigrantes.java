@@ -0,0 +1,50 @@
+package modelo.islas;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buzn en el que las dems islas dejan los genomas que emigran a una isla. Cualquier hilo
+ * puede enviar en cualquier momento sin bloquearse, ya que la cola no utiliza cerrojos, y la
+ * isla recoge lo que haya llegado cuando termina cada generacin sin esperar a nadie
+ * @author Alberto
+ */
+public class BuzonMigrantes {
+
+	private final ConcurrentLinkedQueue<float[][]> envios = new ConcurrentLinkedQueue<float[][]>();
+
+	/**
+	 * Deja un grupo de genomas en el buzn. Los genomas no deben modificarse despus de enviarlos
+	 * @param genomas: genes de cada migrante, con las componentes intercaladas
+	 */
+	public void enviar(float[][] genomas) {
+		envios.offer(genomas);
+	}
+
+	/**
+	 * @return el grupo de genomas ms antiguo que queda en el buzn, o null si est vaco
+	 */
+	public float[][] recoger() {
+		return envios.poll();
+	}
+
+	/**
+	 * Vaca el buzn juntando todos los genomas que han llegado
+	 * @return los genomas de todos los envos, o null si no haba ninguno
+	 */
+	public float[][] recogerTodos() {
+		float[][] genomas = envios.poll();
+		//Casi siempre el buzn est vaco, as que slo se renen los genomas si hay alguno
+		if(genomas == null) {
+			return null;
+		}
+		ArrayList<float[]> recibidos = new ArrayList<float[]>();
+		do {
+			for(float[] genoma : genomas) {
+				recibidos.add(genoma);
+			}
+		} while((genomas = envios.poll()) != null);
+		return recibidos.toArray(new float[recibidos.size()][]);
+	}
+
+}
@@ -0,0 +1,110 @@
+package modelo.islas;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+import modelo.Simulacion;
+
+/**
+ * Parmetros con los que el coordinador pone en marcha cada isla que se ejecuta en otro
+ * proceso, de forma que las islas slo necesitan saber dnde est el coordinador
+ * @author Alberto
+ */
+public class ConfiguracionIsla {
+
+	private final int idIsla;
+	private final String nombreCircuito;
+	private final int numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, semilla;
+	private final int maxGeneraciones, intervaloMigracion, numMigrantes, numHilos;
+
+	public ConfiguracionIsla(int idIsla, String nombreCircuito, int numEntidades, int tasaMutacion,
+			int tiempoVida, int tiempoObjetivo, int semilla, int maxGeneraciones, int intervaloMigracion,
+			int numMigrantes, int numHilos) {
+		this.idIsla = idIsla;
+		this.nombreCircuito = nombreCircuito;
+		this.numEntidades = numEntidades;
+		this.tasaMutacion = tasaMutacion;
+		this.tiempoVida = tiempoVida;
+		this.tiempoObjetivo = tiempoObjetivo;
+		this.semilla = semilla;
+		this.maxGeneraciones = maxGeneraciones;
+		this.intervaloMigracion = intervaloMigracion;
+		this.numMigrantes = numMigrantes;
+		this.numHilos = numHilos;
+	}
+
+	/**
+	 * Escribe la configuracin sin el byte de tipo
+	 */
+	public void escribir(DataOutputStream salida) throws IOException {
+		salida.writeInt(idIsla);
+		salida.writeUTF(nombreCircuito);
+		salida.writeInt(numEntidades);
+		salida.writeInt(tasaMutacion);
+		salida.writeInt(tiempoVida);
+		salida.writeInt(tiempoObjetivo);
+		salida.writeInt(semilla);
+		salida.writeInt(maxGeneraciones);
+		salida.writeInt(intervaloMigracion);
+		salida.writeInt(numMigrantes);
+		salida.writeInt(numHilos);
+	}
+
+	/**
+	 * Lee una configuracin escrita con escribir()
+	 */
+	public static ConfiguracionIsla leer(DataInputStream entrada) throws IOException {
+		return new ConfiguracionIsla(entrada.readInt(), entrada.readUTF(), entrada.readInt(), entrada.readInt(),
+				entrada.readInt(), entrada.readInt(), entrada.readInt(), entrada.readInt(), entrada.readInt(),
+				entrada.readInt(), entrada.readInt());
+	}
+
+	/**
+	 * @return los parmetros de la poblacin de la isla con el formato del panel de control
+	 */
+	public HashMap<String, Integer> crearParametros() {
+		return Simulacion.crearParametros(numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, semilla);
+	}
+
+	public int getIdIsla() {
+		return idIsla;
+	}
+
+	public String getNombreCircuito() {
+		return nombreCircuito;
+	}
+
+	public int getMaxGeneraciones() {
+		return maxGeneraciones;
+	}
+
+	public int getIntervaloMigracion() {
+		return intervaloMigracion;
+	}
+
+	public int getNumMigrantes() {
+		return numMigrantes;
+	}
+
+	/**
+	 * @return cuntos genomas puede enviar como mucho una isla en cada migracin, que no
+	 * pueden ser ms que sus entidades
+	 */
+	public int getMaxMigrantes() {
+		return Math.min(numMigrantes, numEntidades);
+	}
+
+	/**
+	 * @return el nmero de genes de cada genoma: las dos componentes de la fuerza de cada frame
+	 */
+	public int getLongitudGenoma() {
+		return tiempoVida * 2;
+	}
+
+	public int getNumHilos() {
+		return numHilos;
+	}
+
+}
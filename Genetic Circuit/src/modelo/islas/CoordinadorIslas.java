@@ -0,0 +1,346 @@
+package modelo.islas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Coordina un modelo de islas en el que cada isla es un proceso distinto en la misma mquina,
+ * conectado por TCP a travs de la interfaz de loopback. Espera a que se conecten las islas,
+ * les enva su configuracin, reenva los genomas que emigran de cada una a las de destino
+ * segn la topologa y decide cundo termina la ejecucin: en cuanto una isla avisa de que
+ * ha cumplido el objetivo, o cuando ya no queda ninguna evolucionando.
+ * Si una isla se cae o pierde la conexin, las dems continan: deja de recibir genomas y,
+ * en el anillo, los que le tocaban pasan a la siguiente isla activa
+ * @author Alberto
+ */
+public class CoordinadorIslas {
+
+	/**
+	 * Situaciones en las que puede estar cada isla conectada
+	 */
+	private static final int ACTIVA = 0, TERMINADA = 1, CAIDA = 2;
+
+	/**
+	 * Conexin con una de las islas y los ltimos datos que ha enviado
+	 */
+	private static class Conexion {
+		private final int id;
+		private final Socket socket;
+		private final DataInputStream entrada;
+		private final DataOutputStream salida;
+		private int estado = ACTIVA;
+		private int numGeneraciones, mejorTiempo = Integer.MAX_VALUE;
+		/**
+		 * Parmetros enviados a la isla, con los que se comprueban los genomas que enva
+		 */
+		private ConfiguracionIsla configuracion;
+
+		Conexion(int id, Socket socket) throws IOException {
+			this.id = id;
+			this.socket = socket;
+			entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		}
+	}
+
+	private final ServerSocket servidor;
+	private final String nombreCircuito;
+	private final int numIslas, numEntidades, tasaMutacion, tiempoVida, tiempoObjetivo, semilla, maxGeneraciones;
+	private final TopologiaMigracion topologia;
+	private final int intervaloMigracion, numMigrantes;
+	private Conexion[] conexiones;
+	/**
+	 * Se abre cuando alguna isla cumple el objetivo o ya no queda ninguna activa
+	 */
+	private final CountDownLatch fin = new CountDownLatch(1);
+	private int islaGanadora = -1;
+	private long nanosObjetivo, numMigrantesReenviados;
+	private long inicio;
+
+	/**
+	 * Abre el puerto en la interfaz de loopback para que se conecten las islas
+	 * @param puerto: puerto en el que escucha, o 0 para que lo escoja el sistema
+	 * @param numIslas: nmero de islas que espera
+	 * @param nombreCircuito: circuito que cargan todas las islas
+	 * @param numEntidades: entidades de cada isla
+	 * @param tasaMutacion: porcentaje de probabilidad de que mute un gen
+	 * @param tiempoVida: nmero de frames que viven las entidades
+	 * @param tiempoObjetivo: tiempo en frames que deben lograr las entidades
+	 * @param semilla: semilla de la primera isla, cada una utiliza la siguiente
+	 * @param maxGeneraciones: nmero mximo de generaciones de cada isla
+	 * @param topologia: forma de escoger a qu islas migran los genomas
+	 * @param intervaloMigracion: generaciones entre cada migracin
+	 * @param numMigrantes: mejores genomas que enva cada isla en cada migracin
+	 * @throws IOException si no se puede abrir el puerto
+	 */
+	public CoordinadorIslas(int puerto, int numIslas, String nombreCircuito, int numEntidades, int tasaMutacion,
+			int tiempoVida, int tiempoObjetivo, int semilla, int maxGeneraciones, TopologiaMigracion topologia,
+			int intervaloMigracion, int numMigrantes) throws IOException {
+		if(numIslas < 1 || intervaloMigracion < 1 || numMigrantes < 0) {
+			throw new IllegalArgumentException("Parmetros de migracin incorrectos: " + numIslas + " islas, cada "
+					+ intervaloMigracion + " generaciones, " + numMigrantes + " migrantes");
+		}
+		this.numIslas = numIslas;
+		this.nombreCircuito = nombreCircuito;
+		this.numEntidades = numEntidades;
+		this.tasaMutacion = tasaMutacion;
+		this.tiempoVida = tiempoVida;
+		this.tiempoObjetivo = tiempoObjetivo;
+		this.semilla = semilla;
+		this.maxGeneraciones = maxGeneraciones;
+		this.topologia = topologia;
+		this.intervaloMigracion = intervaloMigracion;
+		this.numMigrantes = numMigrantes;
+		servidor = new ServerSocket(puerto, numIslas, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * @return el puerto en el que escucha, til si se ha dejado que lo escoja el sistema
+	 */
+	public int getPuerto() {
+		return servidor.getLocalPort();
+	}
+
+	/**
+	 * Espera a las islas y coordina la ejecucin hasta que termina. Las islas empiezan todas
+	 * a la vez cuando se han conectado todas o se ha agotado el tiempo de espera
+	 * @param msEsperaConexiones: milisegundos que espera a cada isla antes de empezar sin ella
+	 * @return el resumen de la ejecucin
+	 * @throws IOException si no se ha conectado ninguna isla
+	 * @throws InterruptedException si se interrumpe el hilo mientras espera a que terminen
+	 */
+	public ResultadoArchipielago ejecutar(int msEsperaConexiones) throws IOException, InterruptedException {
+		try {
+			aceptarIslas(msEsperaConexiones);
+			inicio = System.nanoTime();
+			for(Conexion conexion : conexiones) {
+				int hilosPorIsla = Math.max(1, Runtime.getRuntime().availableProcessors() / conexiones.length);
+				conexion.configuracion = new ConfiguracionIsla(conexion.id, nombreCircuito, numEntidades,
+						tasaMutacion, tiempoVida, tiempoObjetivo, semilla + conexion.id, maxGeneraciones,
+						intervaloMigracion, numMigrantes, hilosPorIsla);
+				synchronized(conexion.salida) {
+					conexion.salida.writeByte(ProtocoloIslas.CONFIGURACION);
+					conexion.configuracion.escribir(conexion.salida);
+					conexion.salida.flush();
+				}
+				Thread hilo = new Thread(() -> atenderIsla(conexion), "coordinador-isla-" + conexion.id);
+				hilo.setDaemon(true);
+				hilo.start();
+			}
+			fin.await();
+			long nanos = System.nanoTime() - inicio;
+			avisarFin();
+			return crearResultado(nanos);
+		} finally {
+			cerrar();
+		}
+	}
+
+	private void aceptarIslas(int msEsperaConexiones) throws IOException {
+		servidor.setSoTimeout(msEsperaConexiones);
+		Conexion[] aceptadas = new Conexion[numIslas];
+		int numAceptadas = 0;
+		try {
+			while(numAceptadas < numIslas) {
+				Socket socket = servidor.accept();
+				socket.setTcpNoDelay(true);
+				aceptadas[numAceptadas] = new Conexion(numAceptadas, socket);
+				numAceptadas++;
+			}
+		} catch (SocketTimeoutException e) {
+			if(numAceptadas == 0) {
+				throw new IOException("No se ha conectado ninguna isla en " + msEsperaConexiones + " ms");
+			}
+		}
+		conexiones = new Conexion[numAceptadas];
+		System.arraycopy(aceptadas, 0, conexiones, 0, numAceptadas);
+	}
+
+	/**
+	 * Lee los mensajes de una isla hasta que se cierra su conexin
+	 */
+	private void atenderIsla(Conexion conexion) {
+		try {
+			while(true) {
+				byte tipo = conexion.entrada.readByte();
+				if(tipo == ProtocoloIslas.MIGRANTES) {
+					reenviar(conexion.id, ProtocoloIslas.leerGenomas(conexion.entrada, conexion.configuracion));
+				} else if(tipo == ProtocoloIslas.OBJETIVO || tipo == ProtocoloIslas.TERMINADA) {
+					registrarFinal(conexion, tipo == ProtocoloIslas.OBJETIVO, conexion.entrada.readInt(),
+							conexion.entrada.readInt());
+				} else {
+					throw new IOException("Mensaje desconocido de la isla " + conexion.id + ": " + tipo);
+				}
+			}
+		} catch (IOException e) {
+			//La isla se ha cerrado o ha dejado de responder, as que se sigue sin ella
+			cambiarEstado(conexion, CAIDA);
+		}
+	}
+
+	/**
+	 * Enva los genomas de una isla a las de destino que sigan activas
+	 */
+	private void reenviar(int origen, float[][] genomas) {
+		for(int destino : topologia.escogerDestinos(origen, conexiones.length, ThreadLocalRandom.current())) {
+			//En el anillo, los genomas de una isla que ya no est pasan a la siguiente para no cortarlo
+			if(topologia == TopologiaMigracion.ANILLO) {
+				destino = buscarActiva(destino, origen);
+			}
+			if(destino < 0 || !isActiva(conexiones[destino])) {
+				continue;
+			}
+			Conexion conexion = conexiones[destino];
+			try {
+				synchronized(conexion.salida) {
+					conexion.salida.writeByte(ProtocoloIslas.MIGRANTES);
+					ProtocoloIslas.escribirGenomas(conexion.salida, genomas);
+					conexion.salida.flush();
+				}
+				synchronized(this) {
+					numMigrantesReenviados += genomas.length;
+				}
+			} catch (IOException e) {
+				cambiarEstado(conexion, CAIDA);
+			}
+		}
+	}
+
+	/**
+	 * @return la primera isla activa a partir del destino siguiendo el anillo, o -1 si no queda
+	 * ninguna aparte del origen
+	 */
+	private synchronized int buscarActiva(int destino, int origen) {
+		for(int i=0; i < conexiones.length; i++) {
+			int candidata = (destino + i) % conexiones.length;
+			if(candidata != origen && conexiones[candidata].estado == ACTIVA) {
+				return candidata;
+			}
+		}
+		return -1;
+	}
+
+	private synchronized boolean isActiva(Conexion conexion) {
+		return conexion.estado == ACTIVA;
+	}
+
+	/**
+	 * Guarda los datos con los que ha terminado una isla. La primera que cumple el objetivo
+	 * es la ganadora y termina la ejecucin
+	 */
+	private synchronized void registrarFinal(Conexion conexion, boolean objetivoCumplido, int numGeneraciones,
+			int mejorTiempo) {
+		conexion.numGeneraciones = numGeneraciones;
+		conexion.mejorTiempo = mejorTiempo;
+		if(objetivoCumplido && islaGanadora < 0) {
+			islaGanadora = conexion.id;
+			nanosObjetivo = System.nanoTime() - inicio;
+			fin.countDown();
+		}
+		cambiarEstado(conexion, TERMINADA);
+	}
+
+	/**
+	 * Cambia la situacin de una isla activa y termina la ejecucin si ya no queda ninguna.
+	 * Una vez terminada no se cambia nada ms, para no contar como cadas las islas que
+	 * cierran la conexin al recibir el aviso de fin
+	 */
+	private synchronized void cambiarEstado(Conexion conexion, int estado) {
+		if(conexion.estado != ACTIVA || fin.getCount() == 0) {
+			return;
+		}
+		conexion.estado = estado;
+		for(Conexion otra : conexiones) {
+			if(otra.estado == ACTIVA) {
+				return;
+			}
+		}
+		fin.countDown();
+	}
+
+	/**
+	 * Avisa a las islas que siguen conectadas de que deben dejar de evolucionar
+	 */
+	private void avisarFin() {
+		for(Conexion conexion : conexiones) {
+			if(!isActiva(conexion)) {
+				continue;
+			}
+			try {
+				synchronized(conexion.salida) {
+					conexion.salida.writeByte(ProtocoloIslas.FIN);
+					conexion.salida.flush();
+				}
+			} catch (IOException e) {
+				//Si ya no est, no hace falta avisarla
+			}
+		}
+	}
+
+	/**
+	 * Si ninguna isla ha cumplido el objetivo, la ganadora es la que ha obtenido el mejor tiempo
+	 * entre las que han llegado a terminar
+	 */
+	private synchronized ResultadoArchipielago crearResultado(long nanos) {
+		boolean objetivoCumplido = islaGanadora >= 0;
+		int ganadora = islaGanadora;
+		if(!objetivoCumplido) {
+			for(Conexion conexion : conexiones) {
+				if(conexion.estado == TERMINADA
+						&& (ganadora < 0 || conexion.mejorTiempo < conexiones[ganadora].mejorTiempo)) {
+					ganadora = conexion.id;
+				}
+			}
+		}
+		if(ganadora < 0) {
+			return new ResultadoArchipielago(false, -1, 0, tiempoVida, nanos, numMigrantesReenviados);
+		}
+		//Las islas que no han llegado a informar de su mejor tiempo lo tienen al mximo
+		int mejorTiempo = Integer.MAX_VALUE;
+		for(Conexion conexion : conexiones) {
+			mejorTiempo = Math.min(mejorTiempo, conexion.mejorTiempo);
+		}
+		return new ResultadoArchipielago(objetivoCumplido, ganadora, conexiones[ganadora].numGeneraciones,
+				mejorTiempo, objetivoCumplido ? nanosObjetivo : nanos, numMigrantesReenviados);
+	}
+
+	/**
+	 * @return cuntas de las islas conectadas se han cado antes de terminar
+	 */
+	public synchronized int getNumIslasCaidas() {
+		int numCaidas = 0;
+		for(Conexion conexion : conexiones) {
+			if(conexion.estado == CAIDA) {
+				numCaidas++;
+			}
+		}
+		return numCaidas;
+	}
+
+	/**
+	 * @return cuntas islas se conectaron al empezar
+	 */
+	public int getNumIslasConectadas() {
+		return conexiones == null ? 0 : conexiones.length;
+	}
+
+	private void cerrar() throws IOException {
+		servidor.close();
+		if(conexiones == null) {
+			return;
+		}
+		for(Conexion conexion : conexiones) {
+			conexion.socket.close();
+		}
+	}
+
+}
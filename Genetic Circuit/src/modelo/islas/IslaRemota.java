@@ -0,0 +1,141 @@
+package modelo.islas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import modelo.Simulacion;
+import modelo.entidades.Poblacion;
+
+/**
+ * Isla que se ejecuta en su propio proceso y se comunica con el coordinador por TCP. Recibe
+ * de l su configuracin, le enva sus mejores genomas cada cierto nmero de generaciones y
+ * le avisa de cundo cumple el objetivo o agota sus generaciones. Los genomas que le llegan
+ * se reciben en otro hilo y se dejan en un buzn, as que la evolucin nunca espera a la red
+ * @author Alberto
+ */
+public class IslaRemota {
+
+	private final String host;
+	private final int puerto;
+	private final BuzonMigrantes buzon = new BuzonMigrantes();
+	/**
+	 * Se activa cuando el coordinador da por terminada la ejecucin o se pierde la conexin
+	 */
+	private volatile boolean fin;
+	private ConfiguracionIsla configuracion;
+	private int numGeneraciones;
+	private int mejorTiempo;
+
+	/**
+	 * @param host: direccin del coordinador
+	 * @param puerto: puerto en el que escucha el coordinador
+	 */
+	public IslaRemota(String host, int puerto) {
+		this.host = host;
+		this.puerto = puerto;
+	}
+
+	/**
+	 * Se conecta al coordinador y evoluciona la isla hasta que cumple el objetivo, agota sus
+	 * generaciones o el coordinador la detiene
+	 * @return si la isla ha cumplido el objetivo
+	 * @throws IOException si no se puede conectar con el coordinador o recibir la configuracin
+	 */
+	public boolean ejecutar() throws IOException {
+		try(Socket socket = new Socket(host, puerto)) {
+			socket.setTcpNoDelay(true);
+			DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			if(entrada.readByte() != ProtocoloIslas.CONFIGURACION) {
+				throw new IOException("El coordinador no ha enviado la configuracin de la isla");
+			}
+			configuracion = ConfiguracionIsla.leer(entrada);
+			Simulacion simulacion = new Simulacion(configuracion.getNombreCircuito(), configuracion.crearParametros());
+			simulacion.setNumHilos(configuracion.getNumHilos());
+			Poblacion poblacion = simulacion.getPoblacion();
+			Thread receptor = new Thread(() -> recibir(entrada), "receptor-isla-" + configuracion.getIdIsla());
+			receptor.setDaemon(true);
+			receptor.start();
+			try {
+				return evolucionar(simulacion, poblacion, salida);
+			} catch (IOException e) {
+				//Sin coordinador no tiene a quin avisar ni de quin recibir, as que termina
+				return simulacion.isObjetivoCumplido();
+			}
+		}
+	}
+
+	private boolean evolucionar(Simulacion simulacion, Poblacion poblacion, DataOutputStream salida)
+			throws IOException {
+		while(numGeneraciones < configuracion.getMaxGeneraciones() && !fin) {
+			simulacion.ejecutarGeneracion();
+			numGeneraciones++;
+			mejorTiempo = poblacion.getMejorTiempo();
+			if(simulacion.isObjetivoCumplido()) {
+				enviarFinal(salida, ProtocoloIslas.OBJETIVO);
+				return true;
+			}
+			if(numGeneraciones % configuracion.getIntervaloMigracion() == 0 && configuracion.getNumMigrantes() > 0) {
+				salida.writeByte(ProtocoloIslas.MIGRANTES);
+				ProtocoloIslas.escribirGenomas(salida, poblacion.copiarMejoresGenomas(configuracion.getNumMigrantes()));
+				salida.flush();
+			}
+			float[][] inmigrantes = buzon.recogerTodos();
+			if(inmigrantes != null) {
+				poblacion.introducirInmigrantes(inmigrantes, inmigrantes.length);
+			}
+		}
+		//Si ha parado por el coordinador no hace falta avisarle
+		if(!fin) {
+			enviarFinal(salida, ProtocoloIslas.TERMINADA);
+		}
+		return false;
+	}
+
+	private void enviarFinal(DataOutputStream salida, byte tipo) throws IOException {
+		salida.writeByte(tipo);
+		salida.writeInt(numGeneraciones);
+		salida.writeInt(mejorTiempo);
+		salida.flush();
+	}
+
+	/**
+	 * Hilo que recibe los mensajes del coordinador mientras la isla evoluciona
+	 */
+	private void recibir(DataInputStream entrada) {
+		try {
+			while(!fin) {
+				byte tipo = entrada.readByte();
+				if(tipo == ProtocoloIslas.MIGRANTES) {
+					buzon.enviar(ProtocoloIslas.leerGenomas(entrada, configuracion));
+				} else if(tipo == ProtocoloIslas.FIN) {
+					fin = true;
+				} else {
+					throw new IOException("Mensaje desconocido del coordinador: " + tipo);
+				}
+			}
+		} catch (IOException e) {
+			fin = true;
+		}
+	}
+
+	public int getNumGeneraciones() {
+		return numGeneraciones;
+	}
+
+	public int getMejorTiempo() {
+		return mejorTiempo;
+	}
+
+	/**
+	 * @return el identificador que le ha asignado el coordinador, o -1 si an no se ha conectado
+	 */
+	public int getIdIsla() {
+		return configuracion == null ? -1 : configuracion.getIdIsla();
+	}
+
+}
@@ -0,0 +1,89 @@
+package modelo.islas;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Mensajes que intercambian el coordinador y las islas que se ejecutan en otros procesos.
+ * Cada mensaje empieza por un byte con su tipo seguido de sus datos en binario. Los genomas
+ * se envan con los bits exactos de cada componente, 4 bytes por componente ms la longitud
+ * de cada genoma, de forma que la isla que los recibe obtiene exactamente los mismos genes
+ * @author Alberto
+ */
+public final class ProtocoloIslas {
+
+	/**
+	 * Parmetros de la isla, del coordinador a la isla nada ms conectarse
+	 */
+	public static final byte CONFIGURACION = 1;
+	/**
+	 * Genomas que emigran, de la isla al coordinador y del coordinador a las islas de destino
+	 */
+	public static final byte MIGRANTES = 2;
+	/**
+	 * La isla ha cumplido el objetivo, con la generacin y el mejor tiempo
+	 */
+	public static final byte OBJETIVO = 3;
+	/**
+	 * La isla ha agotado sus generaciones sin cumplir el objetivo, con las mismas cifras
+	 */
+	public static final byte TERMINADA = 4;
+	/**
+	 * Del coordinador a las islas para que dejen de evolucionar
+	 */
+	public static final byte FIN = 5;
+
+	private ProtocoloIslas() {
+	}
+
+	/**
+	 * Escribe un grupo de genomas sin el byte de tipo
+	 * @param salida: flujo en el que se escriben
+	 * @param genomas: genes de cada genoma, con las componentes intercaladas
+	 */
+	public static void escribirGenomas(DataOutputStream salida, float[][] genomas) throws IOException {
+		salida.writeInt(genomas.length);
+		for(float[] genes : genomas) {
+			salida.writeInt(genes.length);
+			//Se vuelcan todas las componentes a la vez en vez de escribirlas una a una
+			ByteBuffer bytes = ByteBuffer.allocate(genes.length * Float.BYTES);
+			bytes.asFloatBuffer().put(genes);
+			salida.write(bytes.array());
+		}
+	}
+
+	/**
+	 * Lee un grupo de genomas escrito con escribirGenomas(). Comprueba el nmero de genomas y
+	 * la longitud de cada uno antes de reservar sus arrays, para que un mensaje corrupto o de
+	 * otra versin no provoque una reserva de memoria desmesurada
+	 * @param entrada: flujo del que se leen
+	 * @param configuracion: parmetros de la isla, de los que salen el mximo de genomas por
+	 * migracin y la longitud de cada genoma
+	 * @return los genes de cada genoma
+	 * @throws IOException si no se pueden leer o no cuadran con la configuracin
+	 */
+	public static float[][] leerGenomas(DataInputStream entrada, ConfiguracionIsla configuracion)
+			throws IOException {
+		int numGenomas = entrada.readInt();
+		if(numGenomas < 0 || numGenomas > configuracion.getMaxMigrantes()) {
+			throw new IOException("Nmero de genomas incorrecto: " + numGenomas + " (mximo "
+					+ configuracion.getMaxMigrantes() + ")");
+		}
+		float[][] genomas = new float[numGenomas][];
+		for(int i=0; i < numGenomas; i++) {
+			int longitud = entrada.readInt();
+			if(longitud != configuracion.getLongitudGenoma()) {
+				throw new IOException("Longitud de genoma incorrecta: " + longitud + " (se esperaba "
+						+ configuracion.getLongitudGenoma() + ")");
+			}
+			byte[] bytes = new byte[longitud * Float.BYTES];
+			entrada.readFully(bytes);
+			genomas[i] = new float[bytes.length / Float.BYTES];
+			ByteBuffer.wrap(bytes).asFloatBuffer().get(genomas[i]);
+		}
+		return genomas;
+	}
+
+}
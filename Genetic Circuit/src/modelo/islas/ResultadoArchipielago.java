@@ -0,0 +1,69 @@
+package modelo.islas;
+
+/**
+ * Resumen de una ejecucin del modelo de islas
+ * @author Alberto
+ */
+public class ResultadoArchipielago {
+
+	/**
+	 * Si alguna isla ha cumplido el objetivo antes de agotar las generaciones
+	 */
+	private final boolean objetivoCumplido;
+	/**
+	 * Isla que ha cumplido el objetivo, o la del mejor tiempo si no lo ha cumplido ninguna
+	 */
+	private final int islaGanadora;
+	/**
+	 * Generaciones que ha necesitado la isla ganadora
+	 */
+	private final int numGeneraciones;
+	/**
+	 * Mejor tiempo obtenido entre todas las islas, que puede ser de una distinta a la ganadora
+	 */
+	private final int mejorTiempo;
+	/**
+	 * Nanosegundos desde que empezaron las islas hasta que se cumpli el objetivo o
+	 * terminaron todas
+	 */
+	private final long nanos;
+	/**
+	 * Genomas que se han enviado de unas islas a otras en total
+	 */
+	private final long numMigrantes;
+
+	public ResultadoArchipielago(boolean objetivoCumplido, int islaGanadora, int numGeneraciones,
+			int mejorTiempo, long nanos, long numMigrantes) {
+		this.objetivoCumplido = objetivoCumplido;
+		this.islaGanadora = islaGanadora;
+		this.numGeneraciones = numGeneraciones;
+		this.mejorTiempo = mejorTiempo;
+		this.nanos = nanos;
+		this.numMigrantes = numMigrantes;
+	}
+
+	public boolean isObjetivoCumplido() {
+		return objetivoCumplido;
+	}
+
+	public int getIslaGanadora() {
+		return islaGanadora;
+	}
+
+	public int getNumGeneraciones() {
+		return numGeneraciones;
+	}
+
+	public int getMejorTiempo() {
+		return mejorTiempo;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public long getNumMigrantes() {
+		return numMigrantes;
+	}
+
+}
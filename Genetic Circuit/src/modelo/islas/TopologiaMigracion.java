@@ -0,0 +1,49 @@
+package modelo.islas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Formas de decidir a qu islas enva cada isla sus mejores genomas al migrar
+ * @author Alberto
+ */
+public enum TopologiaMigracion {
+	/**
+	 * Cada isla enva slo a la siguiente, y la ltima a la primera. Los genomas tardan
+	 * varias migraciones en recorrer todas las islas, as que se conserva ms diversidad
+	 */
+	ANILLO,
+	/**
+	 * Cada isla enva a todas las dems, por lo que los buenos genomas se extienden enseguida
+	 */
+	TODAS,
+	/**
+	 * Cada isla enva a otra escogida al azar en cada migracin
+	 */
+	ALEATORIA;
+
+	/**
+	 * @param isla: ndice de la isla que enva los genomas
+	 * @param numIslas: total de islas del archipilago
+	 * @param random: generador de nmeros aleatorios de la isla que enva
+	 * @return los ndices de las islas que los reciben
+	 */
+	public int[] escogerDestinos(int isla, int numIslas, RandomGenerator random) {
+		if(numIslas < 2) {
+			return new int[0];
+		}
+		switch(this) {
+		case ANILLO:
+			return new int[]{(isla + 1) % numIslas};
+		case TODAS:
+			int[] destinos = new int[numIslas - 1];
+			for(int i=0; i < destinos.length; i++) {
+				destinos[i] = i < isla ? i : i + 1;
+			}
+			return destinos;
+		default:
+			//Escoge entre las dems islas saltndose a s misma
+			int destino = random.nextInt(numIslas - 1);
+			return new int[]{destino < isla ? destino : destino + 1};
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package modelo.medicion;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de Flight Recorder con el tiempo y la memoria que ha dedicado una generacin a una
+ * de sus fases. Se emite al terminar cada generacin, una vez por fase, y sin la pila de
+ * llamadas, que siempre sera la misma
+ * @author Alberto
+ */
+@Name("circuitogenetico.Fase")
+@Label("Fase de la generacin")
+@Category("Circuito Gentico")
+@StackTrace(false)
+@Description("Tiempo y memoria reservada en una fase de una generacin")
+class EventoFase extends Event {
+
+	@Label("Generacin")
+	int generacion;
+
+	@Label("Fase")
+	String fase;
+
+	@Label("Tiempo")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanos;
+
+	@Label("Memoria reservada")
+	@Description("Bytes reservados por el hilo de la simulacin durante la fase")
+	@DataAmount
+	long bytesReservados;
+
+}
@@ -0,0 +1,37 @@
+package modelo.medicion;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de Flight Recorder con el tiempo y la memoria que ha dedicado la ventana grfica a
+ * dibujar un frame. Se emite desde el hilo de la ventana en cada frame, independientemente de
+ * las generaciones, ya que la simulacin avanza en su propio hilo
+ * @author Alberto
+ */
+@Name("circuitogenetico.Frame")
+@Label("Frame de la ventana")
+@Category("Circuito Gentico")
+@StackTrace(false)
+@Description("Tiempo y memoria reservada al dibujar un frame de la ventana grfica")
+class EventoFrame extends Event {
+
+	@Label("Frame")
+	int frame;
+
+	@Label("Tiempo de dibujo")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanos;
+
+	@Label("Memoria reservada")
+	@Description("Bytes reservados por el hilo de la ventana durante el dibujo")
+	@DataAmount
+	long bytesReservados;
+
+}
@@ -0,0 +1,43 @@
+package modelo.medicion;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de Flight Recorder que se emite al terminar cada generacin con su duracin total,
+ * incluido el tiempo fuera de las fases medidas, como la espera entre frames de la ventana
+ * @author Alberto
+ */
+@Name("circuitogenetico.Generacion")
+@Label("Generacin")
+@Category("Circuito Gentico")
+@StackTrace(false)
+@Description("Duracin total de una generacin y tiempo dedicado a sus fases")
+class EventoGeneracion extends Event {
+
+	@Label("Generacin")
+	int generacion;
+
+	@Label("Entidades")
+	int numEntidades;
+
+	@Label("Duracin")
+	@Description("Tiempo desde que termin la generacin anterior")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanos;
+
+	@Label("Tiempo en fases")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanosFases;
+
+	@Label("Memoria reservada")
+	@DataAmount
+	long bytesReservados;
+
+}
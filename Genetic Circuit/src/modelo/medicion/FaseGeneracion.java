@@ -0,0 +1,44 @@
+package modelo.medicion;
+
+/**
+ * Partes en las que se reparte el tiempo de cada generacin
+ * @author Alberto
+ */
+public enum FaseGeneracion {
+	/**
+	 * Frames del ciclo de vida en los que las entidades se desplazan y comprueban sus colisiones
+	 */
+	SIMULACION("simulacion"),
+	/**
+	 * Clculo de la aptitud de todas las entidades al terminar su ciclo de vida
+	 */
+	EVALUACION("evaluacion"),
+	/**
+	 * Preparacin de la estrategia de seleccin y eleccin de los parientes de cada hijo
+	 */
+	SELECCION("seleccion"),
+	/**
+	 * Cruce y mutacin de los genotipos hijos y reinicio de las entidades
+	 */
+	REPRODUCCION("reproduccion"),
+	/**
+	 * Copia de las entidades en la instantnea que dibuja la ventana grfica. El dibujo en s
+	 * se hace en el hilo de la ventana, que lo mide por separado en cada frame
+	 */
+	INSTANTANEA("instantanea"),
+	/**
+	 * Actualizacin de los datos del panel de control
+	 */
+	INTERFAZ("interfaz");
+
+	private final String nombre;
+
+	private FaseGeneracion(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+}
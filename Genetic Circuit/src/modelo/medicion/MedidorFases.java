@@ -0,0 +1,192 @@
+package modelo.medicion;
+
+import java.lang.management.ManagementFactory;
+
+import jdk.jfr.EventType;
+
+/**
+ * Mide el tiempo y la memoria que dedica cada generacin a cada una de sus fases. El hilo de
+ * la simulacin indica en qu fase entra y el medidor atribuye a la fase anterior lo que ha
+ * transcurrido desde el ltimo cambio, as que las fases no se solapan: si la evaluacin
+ * actualiza el panel de control, ese tiempo cuenta como interfaz y no como evaluacin.
+ * Al terminar cada generacin se emiten sus datos como eventos de Flight Recorder, para poder
+ * analizar cualquier ejecucin con JMC sin conectarle un perfilador, y se acumulan para el resumen.
+ * La memoria es la que reserva el hilo que cambia de fase, as que no incluye la que reserven
+ * los hilos del pool cuando la poblacin reparte su trabajo entre ellos
+ * @author Alberto
+ */
+public class MedidorFases {
+
+	/**
+	 * Acceso a la memoria reservada por cada hilo, o null si la mquina virtual no lo permite
+	 */
+	private static final com.sun.management.ThreadMXBean HILOS = iniciarMedidaMemoria();
+
+	private static final FaseGeneracion[] FASES = FaseGeneracion.values();
+
+	/**
+	 * Tipos de los eventos, para comprobar si Flight Recorder los est grabando antes de
+	 * crearlos. Crear el evento para preguntrselo reservara memoria en cada generacin,
+	 * ya que este cdigo se ejecuta demasiado poco como para que el JIT elimine la reserva
+	 */
+	private static final EventType TIPO_FASE = EventType.getEventType(EventoFase.class);
+	private static final EventType TIPO_GENERACION = EventType.getEventType(EventoGeneracion.class);
+
+	/**
+	 * Tiempo y memoria de cada fase en la generacin en curso, en la ltima terminada y en total
+	 */
+	private final long[] nanosGeneracion = new long[FASES.length], bytesGeneracion = new long[FASES.length];
+	private final long[] nanosUltima = new long[FASES.length], bytesUltima = new long[FASES.length];
+	private final long[] nanosTotales = new long[FASES.length], bytesTotales = new long[FASES.length];
+	/**
+	 * Fase en la que se encuentra la simulacin, o null si no est en ninguna
+	 */
+	private FaseGeneracion faseActual;
+	private long inicioFase, bytesInicioFase;
+	private Thread hiloFase;
+	private long finGeneracionAnterior = System.nanoTime();
+	private int numGeneraciones;
+
+	private static com.sun.management.ThreadMXBean iniciarMedidaMemoria() {
+		if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if(hilos.isThreadAllocatedMemorySupported() && hilos.isThreadAllocatedMemoryEnabled()) {
+				return hilos;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return los bytes que ha reservado el hilo actual desde que empez, o 0 si la mquina
+	 * virtual no permite medirlos
+	 */
+	static long getBytesReservadosHilo() {
+		return HILOS != null ? HILOS.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	/**
+	 * Pasa a otra fase, atribuyendo a la anterior el tiempo y la memoria desde el ltimo cambio
+	 * @param fase: fase en la que entra, o null si sale de todas
+	 * @return la fase en la que estaba, para poder volver a ella al terminar
+	 */
+	public FaseGeneracion cambiarFase(FaseGeneracion fase) {
+		long ahora = System.nanoTime();
+		Thread hilo = Thread.currentThread();
+		long bytes = getBytesReservadosHilo();
+		FaseGeneracion anterior = faseActual;
+		if(anterior != null) {
+			nanosGeneracion[anterior.ordinal()] += ahora - inicioFase;
+			//La memoria es por hilo, as que slo puede restarse si la fase empez en este mismo
+			if(hilo == hiloFase) {
+				bytesGeneracion[anterior.ordinal()] += bytes - bytesInicioFase;
+			}
+		}
+		faseActual = fase;
+		inicioFase = ahora;
+		bytesInicioFase = bytes;
+		hiloFase = hilo;
+		return anterior;
+	}
+
+	/**
+	 * Cierra la generacin: emite sus eventos, la suma a los totales y empieza a medir la siguiente
+	 * @param generacion: nmero de la generacin que termina
+	 * @param numEntidades: entidades que la formaban
+	 */
+	public void terminarGeneracion(int generacion, int numEntidades) {
+		//Atribuye lo que lleve la fase actual sin salir de ella
+		cambiarFase(faseActual);
+		long ahora = System.nanoTime();
+		long nanosFases = 0, bytesReservados = 0;
+		for(int i=0; i < FASES.length; i++) {
+			emitirEventoFase(generacion, FASES[i], nanosGeneracion[i], bytesGeneracion[i]);
+			nanosFases += nanosGeneracion[i];
+			bytesReservados += bytesGeneracion[i];
+			nanosTotales[i] += nanosGeneracion[i];
+			bytesTotales[i] += bytesGeneracion[i];
+			nanosUltima[i] = nanosGeneracion[i];
+			bytesUltima[i] = bytesGeneracion[i];
+			nanosGeneracion[i] = bytesGeneracion[i] = 0;
+		}
+		if(TIPO_GENERACION.isEnabled()) {
+			EventoGeneracion evento = new EventoGeneracion();
+			evento.generacion = generacion;
+			evento.numEntidades = numEntidades;
+			evento.nanos = ahora - finGeneracionAnterior;
+			evento.nanosFases = nanosFases;
+			evento.bytesReservados = bytesReservados;
+			evento.commit();
+		}
+		finGeneracionAnterior = ahora;
+		numGeneraciones++;
+	}
+
+	/**
+	 * Slo se crea el evento si Flight Recorder est grabando, as que si no lo est no
+	 * reserva memoria
+	 */
+	private static void emitirEventoFase(int generacion, FaseGeneracion fase, long nanos, long bytes) {
+		if(TIPO_FASE.isEnabled()) {
+			EventoFase evento = new EventoFase();
+			evento.generacion = generacion;
+			evento.fase = fase.getNombre();
+			evento.nanos = nanos;
+			evento.bytesReservados = bytes;
+			evento.commit();
+		}
+	}
+
+	/**
+	 * @return los nanosegundos que dedic a la fase la ltima generacin terminada
+	 */
+	public long getNanosUltimaGeneracion(FaseGeneracion fase) {
+		return nanosUltima[fase.ordinal()];
+	}
+
+	/**
+	 * @return los bytes que reserv durante la fase la ltima generacin terminada
+	 */
+	public long getBytesUltimaGeneracion(FaseGeneracion fase) {
+		return bytesUltima[fase.ordinal()];
+	}
+
+	/**
+	 * @return los nanosegundos dedicados a la fase en todas las generaciones terminadas
+	 */
+	public long getNanosTotales(FaseGeneracion fase) {
+		return nanosTotales[fase.ordinal()];
+	}
+
+	/**
+	 * @return los bytes reservados durante la fase en todas las generaciones terminadas
+	 */
+	public long getBytesTotales(FaseGeneracion fase) {
+		return bytesTotales[fase.ordinal()];
+	}
+
+	public int getNumGeneraciones() {
+		return numGeneraciones;
+	}
+
+	/**
+	 * @return una lnea por fase separada por ";" con su tiempo y memoria totales y por
+	 * generacin, y el porcentaje del tiempo medido que representa
+	 */
+	public String getResumen() {
+		long nanosMedidos = 0;
+		for(long nanos : nanosTotales) {
+			nanosMedidos += nanos;
+		}
+		int generaciones = Math.max(numGeneraciones, 1);
+		StringBuilder resumen = new StringBuilder();
+		for(int i=0; i < FASES.length; i++) {
+			resumen.append(String.format("fase;%s;ms=%.3f;ms/generacion=%.3f;porcentaje=%.1f;KB=%d;KB/generacion=%d%n",
+					FASES[i].getNombre(), nanosTotales[i] / 1e6, nanosTotales[i] / 1e6 / generaciones,
+					nanosMedidos == 0 ? 0 : 100.0 * nanosTotales[i] / nanosMedidos, bytesTotales[i] / 1024,
+					bytesTotales[i] / 1024 / generaciones));
+		}
+		return resumen.toString();
+	}
+
+}
@@ -0,0 +1,43 @@
+package modelo.medicion;
+
+import jdk.jfr.EventType;
+
+/**
+ * Mide el tiempo y la memoria que dedica la ventana grfica a dibujar cada frame y lo emite
+ * como evento de Flight Recorder. Complementa al medidor de fases de la poblacin, que slo
+ * mide lo que hace el hilo de la simulacin, del que el dibujo ya no forma parte
+ * @author Alberto
+ */
+public class MedidorFrames {
+
+	/**
+	 * Tipo del evento, para no crear uno en cada frame slo para saber si se est grabando
+	 */
+	private static final EventType TIPO_FRAME = EventType.getEventType(EventoFrame.class);
+
+	private long inicioFrame, bytesInicioFrame;
+
+	/**
+	 * Empieza a medir un frame. Se debe llamar desde el hilo de la ventana al empezar a dibujar
+	 */
+	public void empezarFrame() {
+		bytesInicioFrame = MedidorFases.getBytesReservadosHilo();
+		inicioFrame = System.nanoTime();
+	}
+
+	/**
+	 * Termina de medir el frame empezado y emite su evento, si Flight Recorder est grabando
+	 * @param frame: nmero del frame que se ha dibujado
+	 */
+	public void terminarFrame(int frame) {
+		long nanos = System.nanoTime() - inicioFrame;
+		if(TIPO_FRAME.isEnabled()) {
+			EventoFrame evento = new EventoFrame();
+			evento.frame = frame;
+			evento.nanos = nanos;
+			evento.bytesReservados = MedidorFases.getBytesReservadosHilo() - bytesInicioFrame;
+			evento.commit();
+		}
+	}
+
+}
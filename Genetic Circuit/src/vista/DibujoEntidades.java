@@ -0,0 +1,163 @@
+package vista;
+
+import processing.core.PApplet;
+import processing.core.PConstants;
+
+/**
+ * Dibuja todas las entidades de una vez en la ventana grfica. En vez de dibujar la forma de
+ * cada entidad por separado (desplazando y rotando el sistema de coordenadas y volviendo a
+ * procesar la forma para cambiarle el color del borde), calcula directamente los vrtices de
+ * todas las entidades ya girados y desplazados, y los enva al motor grfico en slo dos
+ * tandas por frame: una con los tringulos del relleno y otra con las lneas de los bordes y
+ * las extremidades, donde cada vrtice lleva su propio color para resaltar la monitorizada.
+ * La figura es la misma humanoide de siempre: un cuerpo triangular, una cabeza redonda en la
+ * posicin de la entidad y cuatro extremidades, mirando en la direccin de su velocidad
+ * @author Alberto
+ */
+public class DibujoEntidades {
+
+	/**
+	 * Vrtices del cuerpo, un tringulo issceles cuyo vrtice ms "alto" est en la posicin
+	 * de la entidad, de forma que al girarlo apunta en la direccin en la que se mueve
+	 */
+	private static final float[] CUERPO_X = {-25, 0, -25}, CUERPO_Y = {-10, 0, 10};
+	/**
+	 * Nmero de lados del polgono con el que se aproxima la cabeza, que es muy pequea y
+	 * con ms lados no se notara la diferencia
+	 */
+	private static final int LADOS_CABEZA = 8;
+	private static final float RADIO_CABEZA = 5;
+	/**
+	 * Extremos de las cuatro extremidades: los dos brazos levantados y las dos piernas
+	 */
+	private static final float[] EXTREMIDADES_X = {-10, 5, -10, 5, -25, -40, -25, -40};
+	private static final float[] EXTREMIDADES_Y = {-5, -10, 5, 10, -5, -5, 5, 5};
+
+	private final PApplet ventana;
+	/**
+	 * Vrtices de la cabeza centrada en el origen, calculados una sola vez
+	 */
+	private final float[] cabezaX = new float[LADOS_CABEZA + 1], cabezaY = new float[LADOS_CABEZA + 1];
+	private final int colorRelleno, colorBorde, colorMonitorizada, colorFlecha;
+
+	/**
+	 * @param ventana: ventana en la que se dibujan las entidades, que debe usar un motor
+	 * OpenGL (P2D) para que cada tanda se enve de una sola vez
+	 */
+	public DibujoEntidades(PApplet ventana) {
+		this.ventana = ventana;
+		for(int k=0; k <= LADOS_CABEZA; k++) {
+			float angulo = PConstants.TWO_PI * k / LADOS_CABEZA;
+			cabezaX[k] = PApplet.cos(angulo) * RADIO_CABEZA;
+			cabezaY[k] = PApplet.sin(angulo) * RADIO_CABEZA;
+		}
+		colorRelleno = ventana.color(0, 0, 255);
+		colorBorde = ventana.color(0);
+		colorMonitorizada = ventana.color(204, 0, 255);
+		colorFlecha = ventana.color(255, 0, 0);
+	}
+
+	/**
+	 * Dibuja las primeras entidades de los arrays, cada una en su posicin y orientada segn
+	 * su velocidad. Las entidades que se solapan pueden verse con el borde de una por encima
+	 * del relleno de otra, ya que todos los bordes se dibujan despus de todos los rellenos
+	 * @param posX: coordenada horizontal de cada entidad
+	 * @param posY: coordenada vertical de cada entidad
+	 * @param velX: componente horizontal de la velocidad de cada entidad
+	 * @param velY: componente vertical de la velocidad de cada entidad
+	 * @param numEntidades: cuntas entidades de los arrays se deben dibujar
+	 * @param monitorizada: posicin en los arrays de la entidad que se resalta con un borde
+	 * de otro color, o -1 si ninguna
+	 * @param flechas: si se dibuja adems sobre cada entidad una flecha que representa su velocidad
+	 */
+	public void dibujar(float[] posX, float[] posY, float[] velX, float[] velY, int numEntidades,
+			int monitorizada, boolean flechas) {
+		if(numEntidades == 0) {
+			return;
+		}
+		ventana.pushStyle();
+		dibujarRellenos(posX, posY, velX, velY, numEntidades);
+		dibujarLineas(posX, posY, velX, velY, numEntidades, monitorizada, flechas);
+		ventana.popStyle();
+	}
+
+	/**
+	 * Enva en una nica tanda de tringulos el cuerpo y la cabeza de todas las entidades
+	 */
+	private void dibujarRellenos(float[] posX, float[] posY, float[] velX, float[] velY, int numEntidades) {
+		ventana.noStroke();
+		ventana.fill(colorRelleno);
+		ventana.beginShape(PConstants.TRIANGLES);
+		for(int i=0; i < numEntidades; i++) {
+			float x = posX[i], y = posY[i];
+			//Coseno y seno del ngulo de la velocidad, sin tener que calcular el ngulo en s
+			float modulo = PApplet.sqrt(velX[i] * velX[i] + velY[i] * velY[i]);
+			float cos = modulo > 0 ? velX[i] / modulo : 1, sin = modulo > 0 ? velY[i] / modulo : 0;
+			for(int v=0; v < 3; v++) {
+				ventana.vertex(x + CUERPO_X[v] * cos - CUERPO_Y[v] * sin, y + CUERPO_X[v] * sin + CUERPO_Y[v] * cos);
+			}
+			//La cabeza es redonda as que no hace falta girarla
+			for(int k=0; k < LADOS_CABEZA; k++) {
+				ventana.vertex(x, y);
+				ventana.vertex(x + cabezaX[k], y + cabezaY[k]);
+				ventana.vertex(x + cabezaX[k + 1], y + cabezaY[k + 1]);
+			}
+		}
+		ventana.endShape();
+	}
+
+	/**
+	 * Enva en una nica tanda de lneas los bordes del cuerpo y la cabeza, las extremidades
+	 * y, si se piden, las flechas de direccin de todas las entidades. El color y el grosor
+	 * se guardan con cada vrtice, as que pueden cambiar dentro de la misma tanda
+	 */
+	private void dibujarLineas(float[] posX, float[] posY, float[] velX, float[] velY, int numEntidades,
+			int monitorizada, boolean flechas) {
+		ventana.noFill();
+		ventana.beginShape(PConstants.LINES);
+		for(int i=0; i < numEntidades; i++) {
+			float x = posX[i], y = posY[i];
+			float modulo = PApplet.sqrt(velX[i] * velX[i] + velY[i] * velY[i]);
+			float cos = modulo > 0 ? velX[i] / modulo : 1, sin = modulo > 0 ? velY[i] / modulo : 0;
+			ventana.stroke(i == monitorizada ? colorMonitorizada : colorBorde);
+			ventana.strokeWeight(2);
+			for(int v=0; v < 3; v++) {
+				int w = (v + 1) % 3;
+				ventana.vertex(x + CUERPO_X[v] * cos - CUERPO_Y[v] * sin, y + CUERPO_X[v] * sin + CUERPO_Y[v] * cos);
+				ventana.vertex(x + CUERPO_X[w] * cos - CUERPO_Y[w] * sin, y + CUERPO_X[w] * sin + CUERPO_Y[w] * cos);
+			}
+			for(int k=0; k < LADOS_CABEZA; k++) {
+				ventana.vertex(x + cabezaX[k], y + cabezaY[k]);
+				ventana.vertex(x + cabezaX[k + 1], y + cabezaY[k + 1]);
+			}
+			ventana.strokeWeight(1);
+			for(int v=0; v < EXTREMIDADES_X.length; v++) {
+				ventana.vertex(x + EXTREMIDADES_X[v] * cos - EXTREMIDADES_Y[v] * sin,
+						y + EXTREMIDADES_X[v] * sin + EXTREMIDADES_Y[v] * cos);
+			}
+			if(flechas) {
+				anadirFlecha(x, y, cos, sin, modulo);
+			}
+		}
+		ventana.endShape();
+	}
+
+	/**
+	 * Aade las tres lneas de una flecha roja cuya longitud es proporcional a la magnitud de
+	 * la velocidad, multiplicada para que se distinga a simple vista cmo de rpido se mueve
+	 */
+	private void anadirFlecha(float x, float y, float cos, float sin, float modulo) {
+		float longitud = modulo * 5;
+		ventana.stroke(colorFlecha);
+		float puntaX = x + longitud * cos, puntaY = y + longitud * sin;
+		ventana.vertex(x, y);
+		ventana.vertex(puntaX, puntaY);
+		//Las lneas de la punta van desde el extremo hacia atrs, 5 pxeles a cada lado
+		float atrasX = x + (longitud - 5) * cos, atrasY = y + (longitud - 5) * sin;
+		ventana.vertex(puntaX, puntaY);
+		ventana.vertex(atrasX + 5 * sin, atrasY - 5 * cos);
+		ventana.vertex(puntaX, puntaY);
+		ventana.vertex(atrasX - 5 * sin, atrasY + 5 * cos);
+	}
+
+}
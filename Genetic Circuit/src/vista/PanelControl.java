@@ -46,6 +46,7 @@ public class PanelControl extends JFrame {
 	 * desde el controlador, para poder actualizar y manipularla */
 	private JLabel lblGeneracion;
 	private JCheckBox cbModoAutomatico;
+	private JCheckBox cbModoTurbo;
 	private JButton btnProceder;
 	private JButton btnReiniciar;
 	private JButton btnPausar;
@@ -80,6 +81,10 @@ public class PanelControl extends JFrame {
 	 * Cada label tiene su identificador que establecemos con setName() y que
 	 * utilizamos como clave textual de su entrada del mapa. */
 	private HashMap<String, JLabel> mapaLabels;
+	/**
+	 * Texto fijo de cada label del mapa anterior (su descripcin hasta los dos puntos), que se
+	 * guarda la primera vez que se actualiza para no tener que separarlo de su valor cada vez */
+	private HashMap<String, String> prefijosLabels;
 	
 	/**
 	 * El controlador con el que se comunica con el resto de clases del programa
@@ -96,6 +101,7 @@ public class PanelControl extends JFrame {
 		this.controlador = controlador;
 		
 		mapaLabels = new HashMap<String, JLabel>();
+		prefijosLabels = new HashMap<String, String>();
 		
 		//Inicia los atributos del frame del panel de control
         this.setLocation(new Point(0, 0));
@@ -265,6 +271,21 @@ public class PanelControl extends JFrame {
 		cbModoAutomatico.setToolTipText("");
 		cbModoAutomatico.setFocusable(false);
 		panelModoAutomatico.add(cbModoAutomatico);
+		
+		//Checkbox que activa o desactiva el modo turbo, en la misma fila que el automtico
+		
+		cbModoTurbo = new JCheckBox("Turbo");
+		cbModoTurbo.setOpaque(false);
+		cbModoTurbo.setVerticalTextPosition(SwingConstants.BOTTOM);
+		cbModoTurbo.setPreferredSize(new Dimension(80, 21));
+		cbModoTurbo.setHorizontalAlignment(SwingConstants.TRAILING);
+		cbModoTurbo.setHorizontalTextPosition(SwingConstants.LEADING);
+		cbModoTurbo.setForeground(new Color(255, 255, 255));
+		cbModoTurbo.setFont(new Font("Lato", Font.BOLD, 14));
+		cbModoTurbo.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		cbModoTurbo.setToolTipText("Realiza varios ciclos por frame y s\u00F3lo dibuja el \u00FAltimo");
+		cbModoTurbo.setFocusable(false);
+		panelModoAutomatico.add(cbModoTurbo);
 
 		JPanel panelProceder = new JPanel();
 		panelProceder.setMinimumSize(new Dimension(10, 35));
@@ -883,6 +904,7 @@ public class PanelControl extends JFrame {
         btnReiniciar.addActionListener((e) -> controladorEventos.reiniciar());
         btnSalir.addActionListener((e) -> controladorEventos.salir());
         cbModoAutomatico.addActionListener((e) -> controladorEventos.cambiarModo(e));
+        cbModoTurbo.addActionListener((e) -> controladorEventos.cambiarModoTurbo(e));
         cBoxCircuito.addItemListener((e) -> controladorEventos.elegirCircuito(e));
         spPoblacion.addChangeListener((e) -> controladorEventos.modificarParametro(e));
         spMutacion.addChangeListener((e) -> controladorEventos.modificarParametro(e));
@@ -891,7 +913,8 @@ public class PanelControl extends JFrame {
 	}
 	
 	/**
-	 * Actualiza el label que busca por el nombre pasado por parmetro con el valor indicado
+	 * Actualiza el label que busca por el nombre pasado por parmetro con el valor indicado.
+	 * Como modifica un componente de Swing, debe llamarse desde el hilo de eventos
 	 * @param <T> tipo (generalmente numrico) de valor
 	 * @param label: el nombre del label que debe actualizar
 	 * @param valor: el valor que se le aadir al label
@@ -902,9 +925,15 @@ public class PanelControl extends JFrame {
 		if(lbl == null) {
 			return;
 		}
-		//Edita el texto del label con el nuevo valor parseado
-		String txt = lbl.getText();
-		lbl.setText(txt.split(":\\s*")[0] + ": " + String.valueOf(valor));
+		//Edita el texto del label con el nuevo valor tras su descripcin
+		String prefijo = prefijosLabels.get(label);
+		if(prefijo == null) {
+			String txt = lbl.getText();
+			int separador = txt.indexOf(':');
+			prefijo = (separador >= 0 ? txt.substring(0, separador) : txt) + ": ";
+			prefijosLabels.put(label, prefijo);
+		}
+		lbl.setText(prefijo + String.valueOf(valor));
 	}
 	
 	/**
@@ -977,6 +1006,10 @@ public class PanelControl extends JFrame {
 		return cbModoAutomatico;
 	}
 
+	public JCheckBox getCbModoTurbo() {
+		return cbModoTurbo;
+	}
+
 	public JButton getBtnProceder() {
 		return btnProceder;
 	}
@@ -6,17 +6,17 @@ import controlador.Estado;
 import modelo.Modelo;
 import modelo.circuito.Meta;
 import modelo.circuito.Obstaculo;
+import modelo.medicion.MedidorFrames;
 import processing.core.PApplet;
-import processing.core.PShape;
 import processing.core.PVector;
 import processing.opengl.PJOGL;
 
 /**
  * Muestra en pantalla un entorno grfico basado en Processing. En ella se dibujan todos los
- * elementos del modelo de datos con sus respectivas representaciones grficas. Adems, si no
- * se le indica lo contrario, dicta el flujo del programa haciendo llamadas al controlador
- * desde su funcin principal "draw()", por lo que cada frame desencadena un curso de accin
- * en el proceso evolutivo de las entidades, cuyo tiempo de vida se mide en fotogramas.
+ * elementos del modelo de datos con sus respectivas representaciones grficas. El proceso
+ * evolutivo avanza en su propio hilo, as que en cada frame la ventana se limita a dibujar
+ * la ltima instantnea de las entidades que haya publicado, sin tener que esperar a que
+ * termine un ciclo ni retrasarlo mientras dibuja.
  * @author Alberto
  */
 public class Ventana extends PApplet {
@@ -39,15 +39,19 @@ public class Ventana extends PApplet {
 	 */
 	private Controlador controlador;
 	/**
-	 * Nmero de frames que han pasado desde que ha empezado a actuar una nueva generacin hasta
-	 * termina su ciclo de vida. Se reinicia cada vez que se reproducen las entidades
+	 * Se encarga de dibujar todas las entidades de una vez con su forma humanoide
 	 */
-	private int numFramesGen;
+	private DibujoEntidades dibujoEntidades;
 	/**
-	 * Representacin grfica de las entidades, que ser una forma pre-procesada al inicio del
-	 * programa para mejorar el rendimiento cuando se dibuje
+	 * Mide lo que tarda en dibujarse cada frame y lo emite como evento de Flight Recorder
 	 */
-	private PShape humanoide;
+	private final MedidorFrames medidorFrames = new MedidorFrames();
+	/**
+	 * Arrays de una sola posicin con los que se dibuja una entidad suelta con el mismo dibujo
+	 * que el resto, reservados una vez para no crearlos en cada frame
+	 */
+	private final float[] posXEntidad = new float[1], posYEntidad = new float[1];
+	private final float[] velXEntidad = new float[1], velYEntidad = new float[1];
 	/**
 	 * Flag que indica si debe dibujar las flechas de direccin sobre todas las entidades
 	 */
@@ -101,15 +105,9 @@ public class Ventana extends PApplet {
 		frameRate(60); //Establece el nmero de frames por segundo a 60 
 		stroke(0);
 		background(255);
-		/* Deja procesada en la cach interna del motor de grficos la forma de las entidades
-		 * para que solo tenga que generarla una vez y cuando haga falta dibujarla llamar al 
-		 * mtodo shape(humanoide) sin que tenga que crearla desde cero
-		 */
-		humanoide = crearFormaEntidad();
-		/* Inicializa el contador de frames a 0 para que lo pueda incrementar la poblacin
-		 * en cada generacin que sucede 
-		 */
-		numFramesGen = 0;
+		/* Prepara de antemano los vrtices de la forma de las entidades, que en cada frame
+		 * slo hay que girar y desplazar a la posicin de cada una */
+		dibujoEntidades = new DibujoEntidades(this);
 		modoDebug = false; //Inactivo por defecto
 	}
 	
@@ -118,28 +116,30 @@ public class Ventana extends PApplet {
 	 * en pantalla de acuerdo a los fotogramas por segundo que hemos establecido antes.
 	 * Aqu se actualizar constantemente la pantalla y por tanto se dibujarn todos los
 	 * elementos que deban estar presentes para que que siempre permanezcan visibles.
-	 * Adems, en caso de que se le indique desde el controlador que el proceso evolutivo
-	 * no est parado, llama a este para que haga avanzar el flujo del programa y no pase a
-	 * dibujar el siguiente frame hasta que los datos del modelo se actualicen
+	 * Las entidades se dibujan a partir de lo ltimo que haya publicado la simulacin,
+	 * que va a su propio ritmo en otro hilo
 	 */
 	public void draw() {
+		medidorFrames.empezarFrame();
 		//Pinta siempre el fondo para que no queden restos de lo dibujado en el anterior frame
 		background(255); 
 		stroke(0);
-		drawFramerate(); //Muestra a cuntos frames por segundo va
-		drawEstado(controlador.getEstado()); //Muestra el estado en el que se encuentra el proceso
+		drawFramerate(); //Muestra a cuntos frames y ciclos de simulacin por segundo va
+		Estado estado = controlador.getEstado();
+		drawEstado(estado); //Muestra el estado en el que se encuentra el proceso
 		//Dibuja todos los elementos del circuito que tengamos seleccionado (meta y obstculo)
 		drawCircuito(); 
-		/* Si el controlador no se encuentra parado, ejecuta un ciclo en el proceso evolutivo
-		 * para que este pueda avanzar y realizar toda su lgica interna 
-		 */
-		if(!controlador.isParado()) {
-			controlador.manipularPoblacion();
-		} else if (controlador.getEstado() == Estado.PAUSADO) {
-			/* Si el proceso se encuentra pausado, debe continuar mostrando las entidades que no
-			 * hayan chocado aunque no estn en movimiento, para que no desaparezcan en pantalla */
+		//Al cumplir el objetivo, en vez de las entidades se muestra la ruta ptima alcanzada
+		if(estado == Estado.FINALIZADO) {
+			controlador.getVisualizador().mostrarRutaOptima(controlador.getModelo().getPoblacion());
+		} 
+		/* Mientras el proceso evolutivo no est parado, muestra las entidades que no hayan 
+		 * chocado. Si se encuentra pausado, tambin debe continuar mostrndolas aunque no
+		 * estn en movimiento, para que no desaparezcan en pantalla */
+		else if(!controlador.isParado() || estado == Estado.PAUSADO) {
 			controlador.getVisualizador().mostrarEntidadesActivas();
 		}
+		medidorFrames.terminarFrame(frameCount);
 	}
 
 	/**
@@ -171,6 +171,11 @@ public class Ventana extends PApplet {
 			controlador.getControladorEventos().cambiarModo();
 			return;
 		}
+		if(key == 't' || key == 'T') {
+			//Activa o desactiva el modo turbo
+			controlador.getControladorEventos().cambiarModoTurbo();
+			return;
+		}
 		if(key == 'r' || key == 'R') {
 			//Reinicia el proceso al estado inicial
 			controlador.getControladorEventos().reiniciar();
@@ -263,67 +268,36 @@ public class Ventana extends PApplet {
 	}
 	
 	/**
-	 * Dibuja una entidad con la forma pre-procesada que hemos definido al inicio,
-	 * en la posicin en la que se encuentra y mirando en la direccin que indique
-	 * su vector de velocidad. 
-	 * @param posicion en la que se encuentra la entidad
-	 * @param velocidad con la que se desplaza la entidad
-	 * @param monitorizada: si la entidad debe resaltarse con un contorno distinto para
-	 * destacarla sobre el resto.
+	 * Dibuja todas las entidades indicadas en una sola tanda, cada una en la posicin en la
+	 * que se encuentra y mirando en la direccin que indique su vector de velocidad. Si el
+	 * modo debug est activado, dibuja tambin sus flechas de direccin
+	 * @param posX: coordenada horizontal en la que se encuentra cada entidad
+	 * @param posY: coordenada vertical en la que se encuentra cada entidad
+	 * @param velX: componente horizontal de la velocidad con la que se desplaza cada entidad
+	 * @param velY: componente vertical de la velocidad con la que se desplaza cada entidad
+	 * @param numEntidades: cuntas entidades de los arrays se deben dibujar
+	 * @param monitorizada: posicin en los arrays de la entidad que debe resaltarse con un
+	 * contorno distinto para destacarla sobre el resto, o -1 si ninguna
 	 */
-	public void drawEntidad(PVector posicion, PVector velocidad, boolean monitorizada) {
-		pushMatrix();
-		//Desplazamos el origen de coordenadas a la posicin de la entidad
-		translate(posicion.x, posicion.y);
-		/* Rotamos el sistema de coordenadas en el ngulo determinado por su velocidad, 
-		 * para que se visualice a la entidad orientada en la direccin en la que se est
-		 * moviendo actualmente. El ngulo se obtiene a partir de obtener el arcotangente
-		 * de la componente x e y del vector velocidad, que trigonomtricamente equivale
-		 * al ngulo entre el lado adyacente y opuesto del tringulo formado por las
-		 * coordenadas del vector, dando como resultado la direccin y sentido de movimiento
-		 */
-		rotate(atan2(velocidad.y, velocidad.x));
-		//Si est monitorizada resalta el borde de la figura con un color, si no lo deja en negro
-		int colorStroke = monitorizada ? color(204, 0, 255) : color(0, 0, 0);
-		humanoide.setStroke(colorStroke); //le asigna el color del borde 
-		/* Dibuja la figura humanoide que hemos definido en la configuracin inicial de la ventana
-		 * que al estar pre-procesada no tendr que programar de nuevo todas sus propiedades y 
-		 * solo habr que preocuparse de que represente la figura en la posicin y rotacin 
-		 * que le corresponde a la entidad en ese momento, ya que todas tienen la misma apariencia
-		 */
-		shape(humanoide);
-		/* Si el modo debug est activado, dibujar adems una flecha de direccin que representa
-		 * el movimiento que est realizando a partir de su vector de velocidad. Esto puede 
-		 * ralentizar severamente el programa */
-		if(modoDebug == true) {
-			drawFlechaDireccion(velocidad);
-		}
-		popMatrix();
+	public void drawEntidades(float[] posX, float[] posY, float[] velX, float[] velY, int numEntidades, int monitorizada) {
+		dibujoEntidades.dibujar(posX, posY, velX, velY, numEntidades, monitorizada, modoDebug);
 	}
 	
 	/**
-	 * Dibuja una flecha de direccin que representa lo rpido que se est desplazando
-	 * una entidad y en qu direccin y sentido lo est haciendo, a partir de su velocidad
-	 * @param velocidad que determina el desplazamiento de la entidad
+	 * Dibuja una nica entidad, como la que ha logrado el objetivo junto a su ruta ptima
+	 * @param x: coordenada horizontal en la que se encuentra la entidad
+	 * @param y: coordenada vertical en la que se encuentra la entidad
+	 * @param velX: componente horizontal de la velocidad con la que se desplaza la entidad
+	 * @param velY: componente vertical de la velocidad con la que se desplaza la entidad
+	 * @param monitorizada: si la entidad debe resaltarse con un contorno distinto para
+	 * destacarla sobre el resto.
 	 */
-	private void drawFlechaDireccion(PVector velocidad) {
-		/* La rapidez con la que se mueve la entidad viene determinada por la magnitud del vector
-		 * de la velocidad, de forma que cuanto ms alto sea su valor, ms posiciones se desplaza
-		 * en una direccin y viceversa. Como la velocidad tiene valores demasiado pequeos para 
-		 * ser visualizados, se multiplica su magnitud por un valor arbitrario para que la magnitud
-		 * se represente de manera ms clara, sin perder fidelidad a la hora de distinguir cmo de
-		 * rpido se mueve una entidad en comparacin con otra. */
-		float magnitudVelocidad = velocidad.mag() * 5;
-		/* Se dibuja una forma de flecha a partir de lneas de color rojo. La longitud de esa flecha,
-		 * es decir, la posicin del punto final de la lnea respecto al origen de coordenadas de la 
-		 * entidad, viene determinada por la magnitud, siendo directamente proporcional a su valor.
-		 */
-		stroke(255,0,0);
-		line(0, 0, magnitudVelocidad, 0);
-		// Las lineas que forman la punta de la flecha parten del mismo punto final que la anterior
-		line(magnitudVelocidad, 0, magnitudVelocidad - 5, -5);
-		line(magnitudVelocidad, 0, magnitudVelocidad - 5, 5);
-		stroke(0);
+	public void drawEntidad(float x, float y, float velX, float velY, boolean monitorizada) {
+		posXEntidad[0] = x;
+		posYEntidad[0] = y;
+		velXEntidad[0] = velX;
+		velYEntidad[0] = velY;
+		drawEntidades(posXEntidad, posYEntidad, velXEntidad, velYEntidad, 1, monitorizada ? 0 : -1);
 	}
 	
 	/**
@@ -332,11 +306,12 @@ public class Ventana extends PApplet {
 	 * coleccin de vectores que equivalen a todas las fuerzas que se le han aplicado para poder
 	 * llegar en el nmero de frames indicado. Con esos genes podr trazar las lneas a partir de
 	 * simular los movimientos que ha ido realizando en cada frame
-	 * @param ruta: todos los vectores de fuerzas que se han aplicado
+	 * @param ruta: todos los vectores de fuerzas que se han aplicado, con sus componentes
+	 * intercaladas tal y como las almacena el ADN
 	 * @param tiempoObtenido: el tiempo en frames que ha necesitado la entidad para llegar
 	 * a la meta
 	 */
-	public void drawRutaOptima(PVector[] ruta, int tiempoObtenido) {
+	public void drawRutaOptima(float[] ruta, int tiempoObtenido) {
 		//Se pone el "pincel" a rojo para pintar la linea de la ruta
 		stroke(255,0,0);
 		strokeWeight(3);
@@ -355,7 +330,7 @@ public class Ventana extends PApplet {
 		 * desplazamiento */
 		for(int i = 0; i < tiempoObtenido - 1; i++) {
 			//Se le pasa como argumento todos los vectores de movimiento para que pueda trazar
-			drawLineaRuta(ruta[i], posicion, velocidad, aceleracion);
+			drawLineaRuta(ruta[i * 2], ruta[i * 2 + 1], posicion, velocidad, aceleracion);
 		}
 		strokeWeight(1);
 	}
@@ -364,17 +339,18 @@ public class Ventana extends PApplet {
 	 * Dibuja una lnea desde un punto de origen a un punto final que simula el desplazamiento
 	 * que ha realizado una entidad en un frame tras aplicarle la fuerza de un gen para 
 	 * provocar su movimiento, que debemos simular para poder calcular el trazado 
-	 * @param fuerza aplicada por el gen
+	 * @param fuerzaX: componente horizontal de la fuerza aplicada por el gen
+	 * @param fuerzaY: componente vertical de la fuerza aplicada por el gen
 	 * @param posicion antes de realizar el movimiento
 	 * @param velocidad a la que se estaba moviendo antes de aplicarle la fuerza
 	 * @param aceleracion a la que se le aplicar la fuerza
 	 */
-	private void drawLineaRuta(PVector fuerza, PVector posicion, PVector velocidad, PVector aceleracion) {
+	private void drawLineaRuta(float fuerzaX, float fuerzaY, PVector posicion, PVector velocidad, PVector aceleracion) {
 		/* Almacena una copia de la posicin antes de simular el siguiente movimiento para
 		 * poder trazar la lnea entre la posicin de origen y la posicin final */
 		PVector posicionPrevia = posicion.copy();
 		//Realiza el mismo movimiento que la entidad en un frame modificando sus vectores 
-		simularMovimiento(fuerza, posicion, velocidad, aceleracion);
+		simularMovimiento(fuerzaX, fuerzaY, posicion, velocidad, aceleracion);
 		//Traza la lnea entre la posicin antes del movimiento y despus del movimiento
 		line(posicionPrevia.x, posicionPrevia.y, posicion.x, posicion.y);
 		pushMatrix();
@@ -391,13 +367,14 @@ public class Ventana extends PApplet {
 	/**
 	 * Realiza el mismo movimiento que una entidad en un determinado frame a partir de la
 	 * fuerza contenida en el gen correspondiente en ese momento. 
-	 * @param fuerza aplicada por el gen
+	 * @param fuerzaX: componente horizontal de la fuerza aplicada por el gen
+	 * @param fuerzaY: componente vertical de la fuerza aplicada por el gen
 	 * @param posicion antes de realizar el movimiento
 	 * @param velocidad a la que se estaba moviendo antes de aplicarle la fuerza
 	 * @param aceleracion a la que se le aplicar la fuerza
 	 */
-	private void simularMovimiento(PVector fuerza, PVector posicion, PVector velocidad, PVector aceleracion) {
-		aceleracion.add(fuerza);
+	private void simularMovimiento(float fuerzaX, float fuerzaY, PVector posicion, PVector velocidad, PVector aceleracion) {
+		aceleracion.add(fuerzaX, fuerzaY);
 		velocidad.add(aceleracion);
 		posicion.add(velocidad);
 	}
@@ -422,64 +399,11 @@ public class Ventana extends PApplet {
 		line(magnitudVelocidad, 0, magnitudVelocidad - 5, 5);
 	}
 	
-	/**
-	 * Crea un objeto PShape que representa una forma humanoide para las entidades. El proceso de
-	 * crear la forma consistir en crear componentes individuales con sus caractersticas propias
-	 * y aadirlos a la forma que hace de contenedor como si fuera una agrupacin de formas, para
-	 * conseguir el aspecto que deseamos que se muestre
-	 * @return el objeto que almacena la forma que tendrn todas las entidades
-	 */
-	private PShape crearFormaEntidad() {
-		//Iniciamos una plantilla base para crear una forma y le indicamos que ser una agrupacin de formas
-		PShape humanoide = createShape(GROUP);
-		/* Creamos el "cuerpo" de la forma, que ser un tringulo issceles cuyo vrtice ms "alto" se
-		 * encontrar en el origen de coordenadas de la entidad y el resto de vrtices "bajos" se dibujarn 
-		 * en el eje negativo horizontal. De esta forma, ese vrtice alto coincide con la posicin de 
-		 * la entidad en el eje de coordenadas de la ventana, y por tanto, cada vez que rotemos la figura
-		 * de la entidad, el tringulo apuntar en la direccin en la que se mueve esta en todo momento. */
-		PShape cuerpo = createShape(TRIANGLE, -25, -10, 0, 0, -25, 10);
-		//Podemos personalizar las propiedades individuales de este componente
-		cuerpo.setFill(color(0, 0, 255)); 
-	    cuerpo.setStroke(color(0));
-	    cuerpo.setStrokeWeight(2);
-		humanoide.addChild(cuerpo); //Aadimos la forma a la forma contenedor para que forme parte de ella
-		/* Crea la "cabeza" de la forma, que ser una elipse cuyo centro estar en el origen de coordenadas
-		 * de la entidad y por tanto coincide con la posicin de la entidad en ese instante. */
-	    PShape cabeza = createShape(ELLIPSE, 0, 0, 10, 10);
-	    cabeza.setFill(color(0, 0, 255)); 
-	    cabeza.setStroke(color(0));
-	    cabeza.setStrokeWeight(2);
-	    humanoide.addChild(cabeza);
-	    /* Crea las cuatro "extremidades" de la forma, cuyas formas son un conjunto de lineas delimitadas
-	     * por unos vrtices conectados entre s. Las posiciones de esos vrtices tienen una colocacin
-	     * deliberada sobre el eje de coordenadas de la entidad, para que parezca que estn conectadas
-	     * al "cuerpo" de la figura y tenga el diseo de una especie de humanoide con piernas y con los
-	     * brazos levantados */
-	    PShape extremidades = createShape();
-	    extremidades.beginShape(LINES);
-	    extremidades.stroke(0,0,255);
-	    extremidades.vertex(-10, -5);
-	    extremidades.vertex(5, -10);
-	    extremidades.vertex(-10, 5);
-	    extremidades.vertex(5, 10);
-	    extremidades.vertex(-25, -5);
-	    extremidades.vertex(-40, -5);
-	    extremidades.vertex(-25, 5);
-	    extremidades.vertex(-40, 5);
-	    extremidades.endShape();
-	    humanoide.addChild(extremidades);
-		/* Una vez tenemos todos los componentes creados y aadidos a la base, podemos devolver la forma
-		 * entera funcionando como una sola figura que podremos llamar en cualquier momento y cuyas 
-		 * propiedades ya estarn creadas y solo deber cargarlas desde la cach del motor grfico ahorrando
-		 * tiempo de ejecucin. Como las figuras funcionan como una unidad, si cambiamos las propiedades de
-		 * esta o realizamos alguna transformacin, se aplica al conjunto.
-		 */
-	    return humanoide;
-	}
-	
 	/**
 	 * Dibuja un texto que actualiza los fotogramas por segundo a los que se actualiza la ventana
-	 * a partir de la variable que nos devuelve su valor en cada frame
+	 * a partir de la variable que nos devuelve su valor en cada frame, y al lado los ciclos por
+	 * segundo que realiza la simulacin, que se miden por separado al ir en otro hilo. En el
+	 * modo turbo muestra tambin cuntos ciclos realiza por cada frame
 	 */
 	private void drawFramerate() {
 		fill(80);
@@ -488,6 +412,11 @@ public class Ventana extends PApplet {
 		textAlign(LEFT, CENTER);
 		//Le asignamos la cadena que debe mostrar y en que posicin
 		text("Framerate: " + round(frameRate), 10, 15); //Redondeamos el valor ya que es decimal
+		String simulacion = "Simulacin: " + round(controlador.getCiclosPorSegundo()) + " ciclos/s";
+		if(controlador.isModoTurbo()) {
+			simulacion += " (turbo: " + controlador.getCiclosPorFrame() + " ciclos/frame)";
+		}
+		text(simulacion, 150, 15);
 	}
 	
 	/**
@@ -547,12 +476,4 @@ public class Ventana extends PApplet {
         surface.setLocation(posicionVentanaX, posicionVentanaY);
 	}
 	
-	public int getNumFramesGen() {
-		return numFramesGen;
-	}
-
-	public void setNumFramesGen(int numFramesGen) {
-		this.numFramesGen = numFramesGen;
-	}
-	
 }